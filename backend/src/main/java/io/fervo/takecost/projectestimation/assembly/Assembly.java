@@ -0,0 +1,41 @@
+package io.fervo.takecost.projectestimation.assembly;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A reusable set of material and labor lines, e.g. "Interior partition wall, per 10 m", that is
+ * expanded into projects with a quantity multiplier.
+ */
+@Entity
+@Table(name = "assemblies")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Assembly {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
+    private Long id;
+
+    @Column(nullable = false, length = 255)
+    private String name;
+
+    @Column(length = 500)
+    private String description;
+
+    @OneToMany(mappedBy = "assembly", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OrderBy("id")
+    @Builder.Default
+    private List<AssemblyMaterial> materials = new ArrayList<>();
+
+    @OneToMany(mappedBy = "assembly", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OrderBy("id")
+    @Builder.Default
+    private List<AssemblyLabor> labor = new ArrayList<>();
+}
@@ -0,0 +1,106 @@
+package io.fervo.takecost.projectestimation.assembly;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+@Slf4j
+@Validated
+@RestController
+@RequestMapping("/api/v1/assemblies")
+@RequiredArgsConstructor
+@Tag(name = "Assemblies", description = "Reusable sets of material and labor lines that can be expanded into projects")
+public class AssemblyController {
+    private final AssemblyService service;
+    private final AssemblyMapper assemblyMapper;
+
+    @GetMapping
+    @Operation(summary = "List all assemblies", description = "Fetch all assemblies with their lines, with optional pagination")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved list of assemblies")
+    })
+    @PreAuthorize("isFullyAuthenticated()")
+    public ResponseEntity<Page<AssemblyDTO>> getAllAssemblies(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "asc") String order) {
+        var pageable = PageRequest.of(page, size, Sort.by(order.equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC, "name"));
+        return ResponseEntity.ok(service.getAll(pageable).map(assemblyMapper::toDTO));
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Get assembly by ID", description = "Retrieve an assembly and its lines by its unique ID")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Assembly retrieved successfully"),
+            @ApiResponse(responseCode = "404", description = "Assembly not found")
+    })
+    @PreAuthorize("isFullyAuthenticated()")
+    public ResponseEntity<AssemblyDTO> getAssembly(@PathVariable Long id) {
+        return ResponseEntity.ok(assemblyMapper.toDTO(service.getById(id)));
+    }
+
+    @PostMapping
+    @Operation(summary = "Create a new assembly", description = "Add a new assembly with its material and labor lines")
+    @ApiResponses({
+            @ApiResponse(responseCode = "201", description = "Assembly created successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid input data or unknown material or labor category")
+    })
+    @PreAuthorize("hasRole('ADMIN') or hasRole('PROJECT_MANAGER')")
+    public ResponseEntity<AssemblyDTO> createAssembly(@Valid @RequestBody AssemblyDTO assemblyDTO) {
+        var assembly = assemblyMapper.toEntity(assemblyDTO);
+        assembly.setId(null);
+        var savedAssembly = service.save(assembly);
+        return ResponseEntity.status(HttpStatus.CREATED).body(assemblyMapper.toDTO(savedAssembly));
+    }
+
+    @PutMapping("/{id}")
+    @Operation(summary = "Update an existing assembly", description = "Replace an assembly and all of its lines")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Assembly updated successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid input data or unknown material or labor category"),
+            @ApiResponse(responseCode = "404", description = "Assembly not found")
+    })
+    @PreAuthorize("hasRole('ADMIN') or hasRole('PROJECT_MANAGER')")
+    public ResponseEntity<AssemblyDTO> updateAssembly(@PathVariable Long id, @Valid @RequestBody AssemblyDTO assemblyDTO) {
+        var assembly = assemblyMapper.toEntity(assemblyDTO);
+        assembly.setId(id);
+        var updatedAssembly = service.save(assembly);
+        return ResponseEntity.ok(assemblyMapper.toDTO(updatedAssembly));
+    }
+
+    @DeleteMapping("/{id}")
+    @Operation(summary = "Delete an assembly", description = "Remove an assembly; projects it was expanded into keep their lines")
+    @ApiResponses({
+            @ApiResponse(responseCode = "204", description = "Assembly deleted successfully")
+    })
+    @PreAuthorize("hasRole('ADMIN') or hasRole('PROJECT_MANAGER')")
+    public ResponseEntity<Void> deleteAssembly(@PathVariable Long id) {
+        service.delete(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/{id}/expand")
+    @Operation(summary = "Expand an assembly into a project", description = "Add the assembly's lines to a project, quantities and hours scaled by the multiplier")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Assembly expanded successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid multiplier"),
+            @ApiResponse(responseCode = "404", description = "Assembly or project not found")
+    })
+    @PreAuthorize("hasRole('ADMIN') or hasRole('PROJECT_MANAGER')")
+    public ResponseEntity<AssemblyExpansionResult> expandAssembly(@PathVariable Long id, @Valid @RequestBody AssemblyExpansionRequest request) {
+        var result = service.expand(id, request.projectId(), request.multiplier());
+        return ResponseEntity.ok(result);
+    }
+}
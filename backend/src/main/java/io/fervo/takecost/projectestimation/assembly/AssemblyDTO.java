@@ -0,0 +1,35 @@
+package io.fervo.takecost.projectestimation.assembly;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record AssemblyDTO(
+        @Schema(description = "Unique identifier for the assembly", example = "1")
+        Long id,
+
+        @Schema(description = "Name of the assembly", example = "Interior partition wall, per 10 m")
+        @NotBlank(message = "Assembly name cannot be blank")
+        @Size(max = 255, message = "Assembly name cannot exceed 255 characters")
+        String name,
+
+        @Schema(description = "Description of the assembly", example = "Steel studs, two layers of gypsum board, taped and finished")
+        @Size(max = 500, message = "Description cannot exceed 500 characters")
+        String description,
+
+        @Schema(description = "Material lines per unit of the assembly")
+        @NotNull(message = "Materials cannot be null")
+        @Size(max = AssemblyDTO.MAX_LINES, message = "An assembly cannot have more than 10000 material lines")
+        List<@Valid @NotNull AssemblyMaterialDTO> materials,
+
+        @Schema(description = "Labor lines per unit of the assembly")
+        @NotNull(message = "Labor cannot be null")
+        @Size(max = AssemblyDTO.MAX_LINES, message = "An assembly cannot have more than 10000 labor lines")
+        List<@Valid @NotNull AssemblyLaborDTO> labor
+) {
+    public static final int MAX_LINES = 10_000;
+}
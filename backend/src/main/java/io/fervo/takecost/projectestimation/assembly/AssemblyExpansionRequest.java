@@ -0,0 +1,19 @@
+package io.fervo.takecost.projectestimation.assembly;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+import java.math.BigDecimal;
+
+public record AssemblyExpansionRequest(
+        @Schema(description = "Project the assembly lines are added to", example = "1")
+        @NotNull(message = "Project ID cannot be null")
+        Long projectId,
+
+        @Schema(description = "Units of the assembly; scales every material quantity and labor hour estimate", example = "4.5")
+        @NotNull(message = "Multiplier cannot be null")
+        @Positive(message = "Multiplier must be positive")
+        BigDecimal multiplier
+) {
+}
@@ -0,0 +1,18 @@
+package io.fervo.takecost.projectestimation.assembly;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+public record AssemblyExpansionResult(
+        @Schema(description = "Assembly that was expanded", example = "1")
+        Long assemblyId,
+
+        @Schema(description = "Project the lines were added to", example = "1")
+        Long projectId,
+
+        @Schema(description = "Material lines added to the project", example = "12")
+        int materialLines,
+
+        @Schema(description = "Labor lines added to the project", example = "3")
+        int laborLines
+) {
+}
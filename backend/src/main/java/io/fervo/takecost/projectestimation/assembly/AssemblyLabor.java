@@ -0,0 +1,36 @@
+package io.fervo.takecost.projectestimation.assembly;
+
+import io.fervo.takecost.projectestimation.laborcategory.LaborCategory;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+
+@Entity
+@Table(name = "assembly_labor", indexes = @Index(name = "idx_assembly_labor_assembly_id_id", columnList = "assembly_id, id"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AssemblyLabor {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "assembly_id")
+    private Assembly assembly;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "labor_category_id")
+    private LaborCategory laborCategory;
+
+    @Column(nullable = false)
+    private BigDecimal hourlyRate;
+
+    // Per unit of the assembly.
+    @Column(nullable = false)
+    private BigDecimal estimatedHours;
+}
@@ -0,0 +1,28 @@
+package io.fervo.takecost.projectestimation.assembly;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+
+import java.math.BigDecimal;
+
+public record AssemblyLaborDTO(
+        @Schema(description = "Unique identifier for the assembly line; ignored on input", example = "1")
+        Long id,
+
+        @Schema(description = "Associated labor category ID", example = "3")
+        @NotNull(message = "Labor category ID cannot be null")
+        Long laborCategoryId,
+
+        @Schema(description = "Hourly rate", example = "85.00")
+        @NotNull(message = "Hourly rate cannot be null")
+        @PositiveOrZero(message = "Hourly rate cannot be negative")
+        BigDecimal hourlyRate,
+
+        @Schema(description = "Estimated hours per unit of the assembly", example = "6.5")
+        @NotNull(message = "Estimated hours cannot be null")
+        @Positive(message = "Estimated hours must be positive")
+        BigDecimal estimatedHours
+) {
+}
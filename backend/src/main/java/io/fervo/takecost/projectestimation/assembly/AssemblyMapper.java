@@ -0,0 +1,30 @@
+package io.fervo.takecost.projectestimation.assembly;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.factory.Mappers;
+
+@Mapper(componentModel = "spring")
+public interface AssemblyMapper {
+    AssemblyMapper INSTANCE = Mappers.getMapper(AssemblyMapper.class);
+
+    AssemblyDTO toDTO(Assembly assembly);
+
+    @Mapping(source = "materialCatalog.id", target = "materialId")
+    AssemblyMaterialDTO toDTO(AssemblyMaterial line);
+
+    @Mapping(source = "laborCategory.id", target = "laborCategoryId")
+    AssemblyLaborDTO toDTO(AssemblyLabor line);
+
+    Assembly toEntity(AssemblyDTO assemblyDTO);
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "assembly", ignore = true)
+    @Mapping(source = "materialId", target = "materialCatalog.id")
+    AssemblyMaterial toEntity(AssemblyMaterialDTO line);
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "assembly", ignore = true)
+    @Mapping(source = "laborCategoryId", target = "laborCategory.id")
+    AssemblyLabor toEntity(AssemblyLaborDTO line);
+}
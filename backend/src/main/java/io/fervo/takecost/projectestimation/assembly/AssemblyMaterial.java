@@ -0,0 +1,34 @@
+package io.fervo.takecost.projectestimation.assembly;
+
+import io.fervo.takecost.projectestimation.material.MaterialCatalog;
+import jakarta.persistence.*;
+import lombok.*;
+
+@Entity
+@Table(name = "assembly_materials", indexes = @Index(name = "idx_assembly_materials_assembly_id_id", columnList = "assembly_id, id"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AssemblyMaterial {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "assembly_id")
+    private Assembly assembly;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "material_catalog_id")
+    private MaterialCatalog materialCatalog;
+
+    // Per unit of the assembly; priced at the catalog price when expanded.
+    @Column(nullable = false)
+    private Double quantity;
+
+    @Column(length = 500)
+    private String notes;
+}
@@ -0,0 +1,25 @@
+package io.fervo.takecost.projectestimation.assembly;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+
+public record AssemblyMaterialDTO(
+        @Schema(description = "Unique identifier for the assembly line; ignored on input", example = "1")
+        Long id,
+
+        @Schema(description = "Associated material ID", example = "202")
+        @NotNull(message = "Material ID cannot be null")
+        Long materialId,
+
+        @Schema(description = "Quantity per unit of the assembly; priced at the catalog price when expanded", example = "12.5")
+        @NotNull(message = "Quantity cannot be null")
+        @Positive(message = "Quantity must be positive")
+        Double quantity,
+
+        @Schema(description = "Notes copied to the project line", example = "Studs at 400 mm centres")
+        @Size(max = 500, message = "Notes cannot exceed 500 characters")
+        String notes
+) {
+}
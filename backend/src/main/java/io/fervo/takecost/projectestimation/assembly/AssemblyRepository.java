@@ -0,0 +1,6 @@
+package io.fervo.takecost.projectestimation.assembly;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface AssemblyRepository extends JpaRepository<Assembly, Long> {
+}
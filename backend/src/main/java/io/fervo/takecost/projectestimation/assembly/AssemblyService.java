@@ -0,0 +1,110 @@
+package io.fervo.takecost.projectestimation.assembly;
+
+import io.fervo.takecost.projectestimation.laborcategory.LaborCategoryRepository;
+import io.fervo.takecost.projectestimation.material.MaterialCatalogRepository;
+import io.fervo.takecost.projectestimation.project.ProjectRepository;
+import io.fervo.takecost.projectestimation.projectlabor.ProjectLaborService;
+import io.fervo.takecost.projectestimation.projectmaterial.ProjectMaterialService;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Timed(value = "service.invocations", histogram = true)
+@Service
+@RequiredArgsConstructor
+public class AssemblyService {
+    private final AssemblyRepository repository;
+    private final MaterialCatalogRepository materialCatalogRepository;
+    private final LaborCategoryRepository laborCategoryRepository;
+    private final ProjectRepository projectRepository;
+    private final ProjectMaterialService projectMaterialService;
+    private final ProjectLaborService projectLaborService;
+
+    /**
+     * Creates an assembly, or replaces an existing one together with all of its lines. Referenced
+     * catalog entries and labor categories are each checked with one set query.
+     */
+    @Transactional
+    public Assembly save(Assembly assembly) {
+        checkReferences(assembly.getMaterials(), assembly.getLabor());
+        var target = assembly.getId() == null ? Assembly.builder().build() : getById(assembly.getId());
+        target.setName(assembly.getName());
+        target.setDescription(assembly.getDescription());
+        target.getMaterials().clear();
+        target.getLabor().clear();
+        for (var line : assembly.getMaterials()) {
+            line.setAssembly(target);
+            line.setMaterialCatalog(materialCatalogRepository.getReferenceById(line.getMaterialCatalog().getId()));
+            target.getMaterials().add(line);
+        }
+        for (var line : assembly.getLabor()) {
+            line.setAssembly(target);
+            line.setLaborCategory(laborCategoryRepository.getReferenceById(line.getLaborCategory().getId()));
+            target.getLabor().add(line);
+        }
+        return repository.save(target);
+    }
+
+    public Assembly getById(Long id) {
+        return repository.findById(id).orElseThrow(() -> new EntityNotFoundException("Assembly not found with ID: " + id));
+    }
+
+    public Page<Assembly> getAll(Pageable pageable) {
+        return repository.findAll(pageable);
+    }
+
+    @Transactional
+    public void delete(Long id) {
+        repository.deleteById(id);
+    }
+
+    /**
+     * Adds the assembly's lines to a project, every material quantity and labor hour estimate
+     * multiplied by {@code multiplier}. Each table is written by one {@code INSERT ... SELECT}, and
+     * the project's cost rollup is adjusted by the summed cost of the inserted lines.
+     */
+    @Transactional
+    public AssemblyExpansionResult expand(Long assemblyId, Long projectId, BigDecimal multiplier) {
+        if (!repository.existsById(assemblyId)) {
+            throw new EntityNotFoundException("Assembly not found with ID: " + assemblyId);
+        }
+        if (!projectRepository.existsById(projectId)) {
+            throw new EntityNotFoundException("Project not found with ID: " + projectId);
+        }
+        var materialLines = projectMaterialService.addAssemblyLines(assemblyId, projectId, multiplier);
+        var laborLines = projectLaborService.addAssemblyLines(assemblyId, projectId, multiplier);
+        log.info("Expanded assembly {} x{} into project {}: {} material and {} labor lines",
+                assemblyId, multiplier, projectId, materialLines, laborLines);
+        return new AssemblyExpansionResult(assemblyId, projectId, materialLines, laborLines);
+    }
+
+    private void checkReferences(List<AssemblyMaterial> materials, List<AssemblyLabor> labor) {
+        var catalogIds = materials.stream().map(line -> line.getMaterialCatalog().getId()).collect(Collectors.toSet());
+        if (!catalogIds.isEmpty()) {
+            var missing = new HashSet<>(catalogIds);
+            missing.removeAll(materialCatalogRepository.findExistingIds(catalogIds));
+            if (!missing.isEmpty()) {
+                throw new IllegalArgumentException("MaterialCatalog not found with ID: " + missing.iterator().next());
+            }
+        }
+        var categoryIds = labor.stream().map(line -> line.getLaborCategory().getId()).collect(Collectors.toSet());
+        if (!categoryIds.isEmpty()) {
+            var missing = new HashSet<>(categoryIds);
+            missing.removeAll(laborCategoryRepository.findExistingIds(categoryIds));
+            if (!missing.isEmpty()) {
+                throw new IllegalArgumentException("Labor Category not found with ID: " + missing.iterator().next());
+            }
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package io.fervo.takecost.projectestimation.auth;
 
 import io.fervo.takecost.projectestimation.config.JwtUtils;
+import io.fervo.takecost.projectestimation.config.TokenRevocationService;
+import io.fervo.takecost.projectestimation.config.VerifiedTokenCache;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -9,13 +11,18 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.userdetails.User;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ResponseStatusException;
@@ -32,6 +39,8 @@ public class AuthController {
 
     private final AuthenticationManager authenticationManager;
     private final JwtUtils jwtUtils;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final TokenRevocationService tokenRevocationService;
 
     @Operation(summary = "Login", description = "Authenticate user and return a JWT token")
     @ApiResponses(value = {
@@ -61,4 +70,34 @@ public class AuthController {
             );
         }
     }
+
+    @Operation(summary = "Logout", description = "Revoke the JWT token sent in the Authorization header")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Token revoked", content = @Content),
+            @ApiResponse(responseCode = "401", description = "Missing or invalid token", content = @Content),
+    })
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestHeader(name = HttpHeaders.AUTHORIZATION, required = false) String authHeader) {
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Missing bearer token");
+        }
+        try {
+            var token = verifiedTokenCache.verify(authHeader.substring(7));
+            tokenRevocationService.revoke(token);
+            return ResponseEntity.noContent().build();
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid token");
+        }
+    }
+
+    @Operation(summary = "Revoke user tokens", description = "Revoke every token issued to a user so far")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Tokens revoked", content = @Content),
+    })
+    @PostMapping("/users/{username}/revoke-tokens")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Void> revokeTokens(@PathVariable String username) {
+        tokenRevocationService.revokeAll(username);
+        return ResponseEntity.noContent().build();
+    }
 }
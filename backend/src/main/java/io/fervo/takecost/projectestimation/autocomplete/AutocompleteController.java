@@ -0,0 +1,42 @@
+package io.fervo.takecost.projectestimation.autocomplete;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@Validated
+@RestController
+@RequestMapping("/api/v1/autocomplete")
+@RequiredArgsConstructor
+@Tag(name = "Autocomplete", description = "Name suggestions for the material, vendor and labor category pickers")
+public class AutocompleteController {
+    private static final int MAX_SUGGESTIONS = 50;
+
+    private final AutocompleteIndex index;
+
+    @GetMapping
+    @Operation(summary = "Suggest names", description = "Items whose name, or a word in it, starts with the given prefix; whole-name matches first")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Suggestions retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid type, prefix or limit")
+    })
+    @PreAuthorize("isFullyAuthenticated()")
+    public ResponseEntity<List<AutocompleteSuggestion>> suggest(
+            @RequestParam AutocompleteType type,
+            @RequestParam @NotBlank(message = "Prefix cannot be blank") @Size(max = 100, message = "Prefix cannot exceed 100 characters") String prefix,
+            @RequestParam(defaultValue = "10") @Min(1) @Max(MAX_SUGGESTIONS) int limit) {
+        return ResponseEntity.ok(index.suggest(type, prefix, limit));
+    }
+}
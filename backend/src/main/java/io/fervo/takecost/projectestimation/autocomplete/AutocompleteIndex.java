@@ -0,0 +1,118 @@
+package io.fervo.takecost.projectestimation.autocomplete;
+
+import io.fervo.takecost.projectestimation.laborcategory.LaborCategoryRepository;
+import io.fervo.takecost.projectestimation.material.MaterialCatalogRepository;
+import io.fervo.takecost.projectestimation.vendor.VendorChangedEvent;
+import io.fervo.takecost.projectestimation.vendor.VendorRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * In-memory name prefix indexes for the material, vendor and labor category pickers. Loaded once
+ * on startup and updated by the services that write those names.
+ */
+@Slf4j
+@Component
+public class AutocompleteIndex {
+    private static final int LOAD_BATCH_SIZE = 10_000;
+
+    private final Map<AutocompleteType, PrefixIndex> indexes = new EnumMap<>(AutocompleteType.class);
+    private final Map<AutocompleteType, Timer> timers = new EnumMap<>(AutocompleteType.class);
+
+    private final MaterialCatalogRepository materialRepository;
+    private final VendorRepository vendorRepository;
+    private final LaborCategoryRepository laborCategoryRepository;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public AutocompleteIndex(MaterialCatalogRepository materialRepository,
+                             VendorRepository vendorRepository,
+                             LaborCategoryRepository laborCategoryRepository,
+                             PlatformTransactionManager transactionManager,
+                             MeterRegistry meterRegistry) {
+        this.materialRepository = materialRepository;
+        this.vendorRepository = vendorRepository;
+        this.laborCategoryRepository = laborCategoryRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        for (var type : AutocompleteType.values()) {
+            indexes.put(type, new PrefixIndex());
+            timers.put(type, Timer.builder("autocomplete.suggest")
+                    .description("Latency of autocomplete lookups")
+                    .tag("type", type.name().toLowerCase())
+                    .publishPercentiles(0.5, 0.99)
+                    .register(meterRegistry));
+        }
+    }
+
+    public List<AutocompleteSuggestion> suggest(AutocompleteType type, String prefix, int limit) {
+        return timers.get(type).record(() -> indexes.get(type).suggest(prefix, limit));
+    }
+
+    public void put(AutocompleteType type, Long id, String name) {
+        indexes.get(type).put(id, name);
+    }
+
+    public void remove(AutocompleteType type, Long id) {
+        indexes.get(type).remove(id);
+    }
+
+    public int size(AutocompleteType type) {
+        return indexes.get(type).size();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onVendorChanged(VendorChangedEvent event) {
+        if (event.name() == null) {
+            remove(AutocompleteType.VENDOR, event.vendorId());
+        } else {
+            put(AutocompleteType.VENDOR, event.vendorId(), event.name());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        var start = System.nanoTime();
+        load(AutocompleteType.MATERIAL, materialRepository::streamAutocompleteSuggestions);
+        load(AutocompleteType.VENDOR, vendorRepository::streamAutocompleteSuggestions);
+        load(AutocompleteType.LABOR_CATEGORY, laborCategoryRepository::streamAutocompleteSuggestions);
+        log.info("Loaded autocomplete indexes ({} materials, {} vendors, {} labor categories) in {} ms",
+                size(AutocompleteType.MATERIAL), size(AutocompleteType.VENDOR), size(AutocompleteType.LABOR_CATEGORY),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void load(AutocompleteType type, Supplier<Stream<AutocompleteSuggestion>> rows) {
+        var index = indexes.get(type);
+        index.beginLoad();
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (var stream = rows.get()) {
+                    var batch = new ArrayList<AutocompleteSuggestion>(LOAD_BATCH_SIZE);
+                    stream.forEach(row -> {
+                        batch.add(row);
+                        if (batch.size() == LOAD_BATCH_SIZE) {
+                            index.load(batch);
+                            batch.clear();
+                        }
+                    });
+                    index.load(batch);
+                }
+            });
+        } finally {
+            index.endLoad();
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package io.fervo.takecost.projectestimation.autocomplete;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+public record AutocompleteSuggestion(
+        @Schema(description = "Unique identifier of the suggested item", example = "1")
+        Long id,
+
+        @Schema(description = "Name of the suggested item", example = "Concrete Blocks")
+        String name
+) {
+}
@@ -0,0 +1,7 @@
+package io.fervo.takecost.projectestimation.autocomplete;
+
+public enum AutocompleteType {
+    MATERIAL,
+    VENDOR,
+    LABOR_CATEGORY
+}
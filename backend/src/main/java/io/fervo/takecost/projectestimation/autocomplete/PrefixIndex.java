@@ -0,0 +1,119 @@
+package io.fervo.takecost.projectestimation.autocomplete;
+
+import io.fervo.takecost.projectestimation.material.SearchText;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Sorted prefix index over the names of one kind of item. Every name is stored under its full
+ * normalized form and under each later word ("copper pipe" is also found by "pipe"); a lookup is a
+ * range scan over the sorted keys. Reads are lock-free, writes are serialized.
+ */
+final class PrefixIndex {
+    // Separates the normalized text from the id, and sorts before any character a name can hold.
+    private static final char KEY_SEPARATOR = '\u0000';
+
+    private final NavigableMap<String, AutocompleteSuggestion> names = new ConcurrentSkipListMap<>();
+    private final NavigableMap<String, AutocompleteSuggestion> words = new ConcurrentSkipListMap<>();
+    private final Map<Long, List<String>> keysById = new HashMap<>();
+    // Ids written while the initial load runs; the load must not overwrite them with older rows.
+    private Set<Long> changedWhileLoading;
+
+    /**
+     * Up to {@code limit} items whose name or one of its words starts with {@code prefix}. Names
+     * starting with the prefix come first, each group in alphabetical order.
+     */
+    List<AutocompleteSuggestion> suggest(String prefix, int limit) {
+        var normalized = SearchText.normalize(prefix);
+        if (normalized.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        var suggestions = new LinkedHashMap<Long, AutocompleteSuggestion>();
+        collect(names, normalized, limit, suggestions);
+        collect(words, normalized, limit, suggestions);
+        return List.copyOf(suggestions.values());
+    }
+
+    synchronized void put(Long id, String name) {
+        if (changedWhileLoading != null) {
+            changedWhileLoading.add(id);
+        }
+        removeKeys(id);
+        addKeys(id, name);
+    }
+
+    synchronized void remove(Long id) {
+        if (changedWhileLoading != null) {
+            changedWhileLoading.add(id);
+        }
+        removeKeys(id);
+    }
+
+    synchronized void beginLoad() {
+        changedWhileLoading = new HashSet<>();
+    }
+
+    /**
+     * Adds rows read by the initial load, skipping the ones written since it started.
+     */
+    synchronized void load(List<AutocompleteSuggestion> rows) {
+        for (var row : rows) {
+            if (changedWhileLoading == null || !changedWhileLoading.contains(row.id())) {
+                removeKeys(row.id());
+                addKeys(row.id(), row.name());
+            }
+        }
+    }
+
+    synchronized void endLoad() {
+        changedWhileLoading = null;
+    }
+
+    synchronized int size() {
+        return keysById.size();
+    }
+
+    private static void collect(NavigableMap<String, AutocompleteSuggestion> keys, String prefix, int limit,
+                                Map<Long, AutocompleteSuggestion> suggestions) {
+        for (var entry : keys.tailMap(prefix, true).entrySet()) {
+            if (suggestions.size() >= limit || !entry.getKey().startsWith(prefix)) {
+                return;
+            }
+            suggestions.putIfAbsent(entry.getValue().id(), entry.getValue());
+        }
+    }
+
+    private void addKeys(Long id, String name) {
+        var normalized = SearchText.normalize(name);
+        if (normalized.isEmpty()) {
+            return;
+        }
+        var suggestion = new AutocompleteSuggestion(id, name);
+        var keys = new ArrayList<String>();
+        var nameKey = normalized + KEY_SEPARATOR + id;
+        names.put(nameKey, suggestion);
+        keys.add(nameKey);
+        for (int i = normalized.indexOf(' '); i >= 0; i = normalized.indexOf(' ', i + 1)) {
+            var wordKey = normalized.substring(i + 1) + KEY_SEPARATOR + id;
+            words.put(wordKey, suggestion);
+            keys.add(wordKey);
+        }
+        keysById.put(id, keys);
+    }
+
+    private void removeKeys(Long id) {
+        var keys = keysById.remove(id);
+        if (keys != null) {
+            names.remove(keys.get(0));
+            keys.subList(1, keys.size()).forEach(words::remove);
+        }
+    }
+}
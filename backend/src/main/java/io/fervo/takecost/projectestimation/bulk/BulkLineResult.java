@@ -0,0 +1,29 @@
+package io.fervo.takecost.projectestimation.bulk;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+public record BulkLineResult(
+        @Schema(description = "Section of the request the line came from", example = "CREATE")
+        BulkOperation operation,
+
+        @Schema(description = "Position of the line within its section", example = "0")
+        int index,
+
+        @Schema(description = "ID of the line item; assigned for created lines, null if the line was rejected", example = "1")
+        Long id,
+
+        @Schema(description = "Why the line was rejected, null if it was accepted", example = "Material not found with ID: 202")
+        String error
+) {
+    public static BulkLineResult ok(BulkOperation operation, int index, Long id) {
+        return new BulkLineResult(operation, index, id, null);
+    }
+
+    public static BulkLineResult rejected(BulkOperation operation, int index, Long id, String error) {
+        return new BulkLineResult(operation, index, id, error);
+    }
+
+    public boolean isRejected() {
+        return error != null;
+    }
+}
@@ -0,0 +1,7 @@
+package io.fervo.takecost.projectestimation.bulk;
+
+public enum BulkOperation {
+    CREATE,
+    UPDATE,
+    DELETE
+}
@@ -0,0 +1,38 @@
+package io.fervo.takecost.projectestimation.bulk;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk line-item write. Bulk writes are all-or-nothing: if any line is rejected,
+ * nothing is written and {@link #lines()} tells which lines to fix.
+ */
+public record BulkWriteResult(
+        @Schema(description = "Whether the changes were written; false if any line was rejected", example = "true")
+        boolean applied,
+
+        @Schema(description = "Number of lines created", example = "250")
+        int created,
+
+        @Schema(description = "Number of lines updated", example = "3")
+        int updated,
+
+        @Schema(description = "Number of lines deleted", example = "1")
+        int deleted,
+
+        @Schema(description = "Result of every line, in request order")
+        List<BulkLineResult> lines
+) {
+    public static BulkWriteResult of(List<BulkLineResult> lines) {
+        if (lines.stream().anyMatch(BulkLineResult::isRejected)) {
+            return new BulkWriteResult(false, 0, 0, 0, lines);
+        }
+        return new BulkWriteResult(true, count(lines, BulkOperation.CREATE), count(lines, BulkOperation.UPDATE),
+                count(lines, BulkOperation.DELETE), lines);
+    }
+
+    private static int count(List<BulkLineResult> lines, BulkOperation operation) {
+        return (int) lines.stream().filter(line -> line.operation() == operation).count();
+    }
+}
@@ -0,0 +1,10 @@
+package io.fervo.takecost.projectestimation.bulk;
+
+import java.math.BigDecimal;
+
+/**
+ * Number and summed cost of the line items written by one set-based insert, for adjusting the
+ * project's cost rollup by exactly what was added.
+ */
+public record InsertedLines(Long lines, BigDecimal cost) {
+}
@@ -0,0 +1,51 @@
+package io.fervo.takecost.projectestimation.conditional;
+
+import org.springframework.http.ETag;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.StringJoiner;
+
+/**
+ * Strong entity tags built from row versions. A resource that embeds another row, e.g. a project
+ * line and its catalog entry, is tagged with both versions so that a change to either is seen.
+ */
+public final class ETags {
+
+    private ETags() {
+    }
+
+    public static String of(long... versions) {
+        var tag = new StringJoiner("-", "\"", "\"");
+        for (var version : versions) {
+            tag.add(Long.toString(version));
+        }
+        return tag.toString();
+    }
+
+    /**
+     * Whether a GET carrying this {@code If-None-Match} header can be answered with 304. Uses weak
+     * comparison, as RFC 9110 requires for {@code If-None-Match}.
+     */
+    public static boolean isNotModified(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        var current = ETag.create(etag);
+        return ETag.parse(ifNoneMatch).stream().anyMatch(tag -> tag.isWildcard() || tag.compare(current, false));
+    }
+
+    /**
+     * @throws ResponseStatusException with 412 if an {@code If-Match} header was sent and none of
+     *                                 its tags strongly matches {@code etag}
+     */
+    public static void checkIfMatch(String ifMatch, String etag) {
+        if (ifMatch == null) {
+            return;
+        }
+        var current = ETag.create(etag);
+        if (ETag.parse(ifMatch).stream().noneMatch(tag -> tag.isWildcard() || tag.compare(current, true))) {
+            throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "Resource was changed since it was read");
+        }
+    }
+}
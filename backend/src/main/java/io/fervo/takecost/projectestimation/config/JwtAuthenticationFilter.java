@@ -1,13 +1,18 @@
 package io.fervo.takecost.projectestimation.config;
 
+import io.fervo.takecost.projectestimation.timing.RequestTimings;
+import io.fervo.takecost.projectestimation.timing.TimingPhase;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
@@ -16,12 +21,34 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 
+/**
+ * Authenticates requests carrying a bearer JWT.
+ * <p>
+ * With {@code security.jwt.stateless} enabled the principal is built from the token's subject and
+ * {@code roles} claim alone; otherwise the user is reloaded from the {@link UserDetailsService} on
+ * every request. Revoked tokens are rejected in both modes.
+ */
+@Slf4j
 @Component
-@RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtils jwtUtils;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final TokenRevocationService tokenRevocationService;
     private final UserDetailsService userDetailsService;
+    private final boolean stateless;
+
+    public JwtAuthenticationFilter(JwtUtils jwtUtils,
+                                   VerifiedTokenCache verifiedTokenCache,
+                                   TokenRevocationService tokenRevocationService,
+                                   UserDetailsService userDetailsService,
+                                   @Value("${security.jwt.stateless}") boolean stateless) {
+        this.jwtUtils = jwtUtils;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.tokenRevocationService = tokenRevocationService;
+        this.userDetailsService = userDetailsService;
+        this.stateless = stateless;
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -36,15 +63,35 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         final String jwt = extractJwt(authHeader);
-        final String username = jwtUtils.extractUsername(jwt);
-
-        if (shouldValidate(username)) {
-            authenticateUser(username, jwt, request);
+        RequestTimings.start(TimingPhase.AUTH);
+        try {
+            authenticate(jwt, request);
+        } finally {
+            RequestTimings.stop(TimingPhase.AUTH);
         }
 
         filterChain.doFilter(request, response);
     }
 
+    private void authenticate(String jwt, HttpServletRequest request) {
+        final VerifiedToken token;
+        try {
+            token = verifiedTokenCache.verify(jwt);
+        } catch (IllegalArgumentException e) {
+            log.debug("Rejected bearer token: {}", e.getMessage());
+            return;
+        }
+
+        if (tokenRevocationService.isRevoked(token)) {
+            log.debug("Rejected revoked token {} of user {}", token.tokenId(), token.subject());
+            return;
+        }
+
+        if (shouldValidate(token.subject())) {
+            authenticateUser(token, request);
+        }
+    }
+
     private boolean isAuthHeaderMissingOrInvalid(String authHeader) {
         return authHeader == null || !authHeader.startsWith("Bearer ");
     }
@@ -57,14 +104,26 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         return username != null && SecurityContextHolder.getContext().getAuthentication() == null;
     }
 
-    private void authenticateUser(String username, String jwt, HttpServletRequest request) {
-        UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-        if (jwtUtils.validateToken(jwt, userDetails)) {
+    private void authenticateUser(VerifiedToken token, HttpServletRequest request) {
+        UserDetails userDetails = stateless ? toUserDetails(token) : userDetailsService.loadUserByUsername(token.subject());
+        if (jwtUtils.validateToken(token, userDetails)) {
             UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                     userDetails, null, userDetails.getAuthorities());
             authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
             SecurityContextHolder.getContext().setAuthentication(authToken);
         }
     }
-}
 
+    /**
+     * Rebuilds the principal from the claims written by {@link JwtUtils#generateToken}, which stores
+     * roles without the {@code ROLE_} prefix.
+     */
+    private UserDetails toUserDetails(VerifiedToken token) {
+        return User.withUsername(token.subject())
+                .password("")
+                .authorities(token.roles().stream()
+                        .map(role -> new SimpleGrantedAuthority("ROLE_" + role))
+                        .toList())
+                .build();
+    }
+}
@@ -11,6 +11,8 @@ import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.security.Key;
+import java.time.Instant;
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 import java.util.UUID;
@@ -83,12 +85,35 @@ public class JwtUtils {
 
 
     public boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        return validateToken(verify(token), userDetails);
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractClaim(token, Claims::getExpiration).before(new Date());
+    public boolean validateToken(VerifiedToken token, UserDetails userDetails) {
+        return token.subject().equals(userDetails.getUsername()) && !token.isExpired(Instant.now());
+    }
+
+    /**
+     * Parses and verifies the token once, returning every claim the application needs.
+     */
+    public VerifiedToken verify(String token) {
+        final Claims claims = extractAllClaims(token);
+        return new VerifiedToken(
+                claims.getSubject(),
+                toRoles(claims.get("roles")),
+                claims.getId(),
+                toInstant(claims.getIssuedAt()),
+                toInstant(claims.getExpiration()));
+    }
+
+    private static List<String> toRoles(Object roles) {
+        if (roles instanceof Collection<?> values) {
+            return values.stream().map(String::valueOf).toList();
+        }
+        return List.of();
+    }
+
+    private static Instant toInstant(Date date) {
+        return date == null ? null : date.toInstant();
     }
 
     private Claims extractAllClaims(String token) {
@@ -102,6 +127,8 @@ public class JwtUtils {
             throw new IllegalArgumentException("JWT signature validation failed.", e);
         } catch (IOException | IllegalArgumentException e) {
             throw new IllegalArgumentException("Invalid JWT token.", e);
+        } catch (JwtException e) {
+            throw new IllegalArgumentException("JWT token was rejected.", e);
         }
     }
 
@@ -0,0 +1,19 @@
+package io.fervo.takecost.projectestimation.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Records {@code @Timed} classes and methods, e.g. the {@code service.invocations} timers of the
+     * services. Repository calls are timed by Spring Boot as {@code spring.data.repository.invocations}.
+     */
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+}
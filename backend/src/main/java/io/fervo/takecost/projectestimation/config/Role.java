@@ -3,5 +3,6 @@ package io.fervo.takecost.projectestimation.config;
 public enum Role {
     ADMIN,
     PROJECT_MANAGER,
-    TEAM_MEMBER
+    TEAM_MEMBER,
+    METRICS_SCRAPER // Only the actuator metrics endpoints, never the API
 }
\ No newline at end of file
@@ -0,0 +1,90 @@
+package io.fervo.takecost.projectestimation.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.fervo.takecost.projectestimation.dataset.DatasetGeneratedEvent;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Caffeine-backed JCache regions for Hibernate's second-level cache: the reference data entities
+ * (vendors, catalog entries, labor categories) and the query results that read them. Hibernate
+ * keeps the regions in step with its own writes; rows written behind its back (COPY, plain JDBC)
+ * must be followed by an eviction.
+ */
+@Slf4j
+@Configuration
+public class SecondLevelCacheConfig {
+    public static final String VENDORS = "reference.vendors";
+    public static final String MATERIAL_CATALOGS = "reference.material-catalogs";
+    public static final String LABOR_CATEGORIES = "reference.labor-categories";
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public SecondLevelCacheConfig(@Lazy EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    /**
+     * One cache manager per application context, so test contexts in the same JVM never share
+     * cached rows. Entries are held by reference; Hibernate already stores disassembled state.
+     */
+    @Bean
+    public CacheManager secondLevelCacheManager(@Value("${second-level-cache.max-entries}") long maxEntries,
+                                                @Value("${second-level-cache.time-to-live}") Duration timeToLive) {
+        var provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        var cacheManager = provider.getCacheManager(URI.create("second-level-cache:" + UUID.randomUUID()),
+                provider.getDefaultClassLoader());
+
+        for (var region : new String[]{VENDORS, MATERIAL_CATALOGS, LABOR_CATEGORIES,
+                RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME}) {
+            var configuration = new CaffeineConfiguration<Object, Object>();
+            configuration.setStoreByValue(false);
+            configuration.setStatisticsEnabled(true);
+            configuration.setMaximumSize(OptionalLong.of(maxEntries));
+            configuration.setExpireAfterWrite(OptionalLong.of(timeToLive.toNanos()));
+            cacheManager.createCache(region, configuration);
+        }
+        // Update timestamps must outlive every cached query result, so this region never evicts.
+        var timestamps = new CaffeineConfiguration<Object, Object>();
+        timestamps.setStoreByValue(false);
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, timestamps);
+
+        log.info("Second-level cache regions: up to {} entries each, {} time to live", maxEntries, timeToLive);
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager secondLevelCacheManager) {
+        return properties -> {
+            properties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+            // Every region is created above; a missing one is a mapping mistake.
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    /**
+     * The generator loads rows with COPY, which Hibernate never sees, so cached listings and counts
+     * would keep serving the old totals.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDatasetGenerated(DatasetGeneratedEvent event) {
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+    }
+}
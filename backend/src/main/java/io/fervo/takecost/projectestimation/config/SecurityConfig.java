@@ -1,20 +1,32 @@
 package io.fervo.takecost.projectestimation.config;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.info.InfoEndpoint;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.core.env.Environment;
+import org.springframework.core.annotation.Order;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 
 import java.util.Arrays;
+import java.util.List;
 
 @Configuration
 @EnableWebSecurity
@@ -23,11 +35,49 @@ import java.util.Arrays;
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
-    private final Environment environment;
 
+    /**
+     * Actuator endpoints get their own chain: health and info stay open for probes, everything else
+     * (metrics, Prometheus scrape) needs HTTP Basic as the scraper user, which exists only in this
+     * chain and cannot call the API. With no scraper password configured, those endpoints are closed.
+     */
     @Bean
+    @Order(1)
+    public SecurityFilterChain actuatorSecurityFilterChain(HttpSecurity http,
+                                                           PasswordEncoder passwordEncoder,
+                                                           @Value("${security.metrics.username}") String username,
+                                                           @Value("${security.metrics.password}") String password)
+            throws Exception {
+        http
+                .securityMatcher(EndpointRequest.toAnyEndpoint())
+                .csrf(AbstractHttpConfigurer::disable)
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS));
+
+        if (password.isBlank()) {
+            http.authorizeHttpRequests(auth -> auth
+                    .requestMatchers(EndpointRequest.to(HealthEndpoint.class, InfoEndpoint.class)).permitAll()
+                    .anyRequest().denyAll());
+        } else {
+            var scraper = User.withUsername(username)
+                    .password(passwordEncoder.encode(password))
+                    .roles(Role.METRICS_SCRAPER.name())
+                    .build();
+            var provider = new DaoAuthenticationProvider(passwordEncoder);
+            provider.setUserDetailsService(new InMemoryUserDetailsManager(scraper));
+            http
+                    .authorizeHttpRequests(auth -> auth
+                            .requestMatchers(EndpointRequest.to(HealthEndpoint.class, InfoEndpoint.class)).permitAll()
+                            .anyRequest().hasRole(Role.METRICS_SCRAPER.name()))
+                    .authenticationManager(new ProviderManager(provider))
+                    .httpBasic(Customizer.withDefaults());
+        }
+
+        return http.build();
+    }
+
+    @Bean
+    @Order(2)
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
-        var isProd = isProdProfile();
         http
                 .csrf(AbstractHttpConfigurer::disable)
 //                .cors(AbstractHttpConfigurer::disable)
@@ -36,14 +86,15 @@ public class SecurityConfig {
                             CorsConfiguration config = new CorsConfiguration();
                             config.setAllowCredentials(true); // Allow cookies or authentication headers
                             config.setAllowedOrigins(Arrays.asList("http://localhost:3000")); // Trusted frontend origins
-                            config.setAllowedHeaders(Arrays.asList("Origin", "Content-Type", "Accept", "Authorization")); // Allowed headers
+                            config.setAllowedHeaders(Arrays.asList("Origin", "Content-Type", "Accept", "Authorization",
+                                    "If-Match", "If-None-Match")); // Allowed headers, including the conditional request ones
+                            config.setExposedHeaders(List.of("ETag")); // Readable by the frontend for If-Match on updates
                             config.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS")); // Allowed HTTP methods
                             return config;
                         })
                 )
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/").permitAll()
-                        .requestMatchers("/actuator/**").permitAll()
                         .requestMatchers("/api/v1/auth/**").permitAll()
                         // OpenAPI / Swagger
                         .requestMatchers("/api-docs/**").permitAll()
@@ -54,12 +105,6 @@ public class SecurityConfig {
                 )
                 .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
 
-        if (isProd) {
-            http.authorizeHttpRequests(auth -> auth
-                    // leave only health and info open, we may implement a more detailed security here later
-                    .requestMatchers("/actuator/metrics").denyAll());
-        }
-
         return http.build();
     }
 
@@ -68,14 +113,4 @@ public class SecurityConfig {
             throws Exception {
         return authenticationConfiguration.getAuthenticationManager();
     }
-
-    private boolean isProdProfile() {
-        String[] activeProfiles = environment.getActiveProfiles();
-        for (var profile : activeProfiles) {
-            if ("prod".equalsIgnoreCase(profile)) {
-                return true;
-            }
-        }
-        return false;
-    }
 }
@@ -0,0 +1,55 @@
+package io.fervo.takecost.projectestimation.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * In-memory revocation list checked on every authenticated request. Single tokens are revoked by
+ * their {@code jti}; revoking a user rejects every token issued to them up to that moment. Both
+ * are remembered for one token lifetime, after which every token they cover has expired anyway.
+ * <p>
+ * The state lives in this node only; a multi-node deployment needs a shared store behind the same methods.
+ */
+@Slf4j
+@Component
+public class TokenRevocationService {
+    private final Cache<String, Boolean> revokedTokenIds;
+    private final Cache<String, Instant> revokedUsers;
+
+    public TokenRevocationService(@Value("${security.jwt.token-expiration}") long tokenValidity) {
+        this.revokedTokenIds = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(tokenValidity))
+                .build();
+        this.revokedUsers = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(tokenValidity))
+                .build();
+    }
+
+    public void revoke(VerifiedToken token) {
+        if (token.tokenId() != null) {
+            revokedTokenIds.put(token.tokenId(), Boolean.TRUE);
+            log.info("Revoked token {} of user {}", token.tokenId(), token.subject());
+        }
+    }
+
+    public void revokeAll(String username) {
+        // iat has second precision, so tokens issued within the current second are revoked as well.
+        revokedUsers.put(username, Instant.now().truncatedTo(ChronoUnit.SECONDS));
+        log.info("Revoked all tokens of user {}", username);
+    }
+
+    public boolean isRevoked(VerifiedToken token) {
+        if (token.tokenId() != null && revokedTokenIds.getIfPresent(token.tokenId()) != null) {
+            return true;
+        }
+        var revokedAt = revokedUsers.getIfPresent(token.subject());
+        return revokedAt != null && (token.issuedAt() == null || !token.issuedAt().isAfter(revokedAt));
+    }
+}
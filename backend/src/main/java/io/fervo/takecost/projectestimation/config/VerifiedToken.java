@@ -0,0 +1,19 @@
+package io.fervo.takecost.projectestimation.config;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * The claims of a JWT whose signature, issuer and audience have already been checked.
+ */
+public record VerifiedToken(
+        String subject,
+        List<String> roles,
+        String tokenId,
+        Instant issuedAt,
+        Instant expiresAt
+) {
+    public boolean isExpired(Instant now) {
+        return expiresAt != null && !now.isBefore(expiresAt);
+    }
+}
@@ -0,0 +1,103 @@
+package io.fervo.takecost.projectestimation.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+
+/**
+ * Remembers tokens that already passed {@link JwtUtils#verify(String)}, keyed by the SHA-256 of
+ * the raw token so the cache never holds bearer credentials. Each entry expires together with its
+ * token, so a repeat request costs a hash and a lookup instead of a signature check.
+ */
+@Component
+public class VerifiedTokenCache {
+    private static final String CACHE_NAME = "jwt.verified-tokens";
+
+    private final JwtUtils jwtUtils;
+    private final Cache<String, VerifiedToken> cache;
+    private final Timer lookupTimer;
+    private final Timer verifyTimer;
+
+    public VerifiedTokenCache(JwtUtils jwtUtils,
+                              MeterRegistry meterRegistry,
+                              @Value("${security.jwt.cache.max-size}") long maxSize) {
+        this.jwtUtils = jwtUtils;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new ExpireWithToken())
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        Gauge.builder(CACHE_NAME + ".hit.ratio", cache, c -> c.stats().hitRate())
+                .description("Share of bearer tokens served from the verified-token cache")
+                .register(meterRegistry);
+        this.lookupTimer = Timer.builder("security.jwt.lookup")
+                .description("Hash and cache lookup of a bearer token, including verification on a miss")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.verifyTimer = Timer.builder("security.jwt.verify")
+                .description("Parse and signature check of a bearer token that was not cached")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the verified claims of the token, verifying it only if it is not cached yet.
+     *
+     * @throws IllegalArgumentException if the token is invalid or expired
+     */
+    public VerifiedToken verify(String token) {
+        var verified = lookupTimer.record(() -> cache.get(hash(token), key -> verifyTimer.record(() -> jwtUtils.verify(token))));
+        if (verified.isExpired(Instant.now())) {
+            throw new IllegalArgumentException("JWT token is expired.");
+        }
+        return verified;
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    private static String hash(String token) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static class ExpireWithToken implements Expiry<String, VerifiedToken> {
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken token, long currentTime) {
+            if (token.expiresAt() == null) {
+                return 0;
+            }
+            return Math.max(0, Duration.between(Instant.now(), token.expiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken token, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, token, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken token, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package io.fervo.takecost.projectestimation.dataset;
+
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.time.LocalDate;
+
+/**
+ * Writes rows to a {@code COPY ... FROM STDIN} in PostgreSQL's text format, buffering them into
+ * chunks of about 1 MB. Values are appended field by field; text fields are generated by us and
+ * never contain tabs, newlines or backslashes, so they are written without escaping.
+ */
+final class CopyWriter implements AutoCloseable {
+    private static final int FLUSH_THRESHOLD = 1 << 20;
+
+    private final CopyIn copyIn;
+    private final StringBuilder buffer = new StringBuilder(FLUSH_THRESHOLD + 4096);
+    private boolean firstField = true;
+    private long rows;
+
+    CopyWriter(CopyManager copyManager, String table, String columns) throws SQLException {
+        this.copyIn = copyManager.copyIn("COPY " + table + " (" + columns + ") FROM STDIN");
+    }
+
+    CopyWriter field(long value) {
+        separator().append(value);
+        return this;
+    }
+
+    CopyWriter field(double value) {
+        separator().append(value);
+        return this;
+    }
+
+    CopyWriter field(BigDecimal value) {
+        separator().append(value.toPlainString());
+        return this;
+    }
+
+    CopyWriter field(LocalDate value) {
+        separator().append(value);
+        return this;
+    }
+
+    CopyWriter field(String value) {
+        if (value == null) {
+            separator().append("\\N");
+        } else {
+            separator().append(value);
+        }
+        return this;
+    }
+
+    void endRow() throws SQLException {
+        buffer.append('\n');
+        firstField = true;
+        rows++;
+        if (buffer.length() >= FLUSH_THRESHOLD) {
+            flush();
+        }
+    }
+
+    long rows() {
+        return rows;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        try {
+            flush();
+            copyIn.endCopy();
+        } finally {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+    }
+
+    private StringBuilder separator() {
+        if (!firstField) {
+            buffer.append('\t');
+        }
+        firstField = false;
+        return buffer;
+    }
+
+    private void flush() throws SQLException {
+        if (!buffer.isEmpty()) {
+            var bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+            copyIn.writeToCopy(bytes, 0, bytes.length);
+            buffer.setLength(0);
+        }
+    }
+}
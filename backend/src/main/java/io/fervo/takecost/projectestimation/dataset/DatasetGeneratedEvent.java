@@ -0,0 +1,8 @@
+package io.fervo.takecost.projectestimation.dataset;
+
+/**
+ * Published by {@link SyntheticDatasetGenerator} once its rows are written. They bypassed
+ * Hibernate, so anything caching these tables has to drop its entries.
+ */
+public record DatasetGeneratedEvent(GeneratedDataset dataset) {
+}
@@ -0,0 +1,37 @@
+package io.fervo.takecost.projectestimation.dataset;
+
+/**
+ * Size and seed of a synthetic dataset. Line counts are averages; the generator draws each
+ * project's counts from a skewed distribution around them.
+ */
+public record DatasetSpec(
+        long seed,
+        int vendors,
+        int materials,
+        int laborCategories,
+        int projects,
+        int materialLinesPerProject,
+        int laborLinesPerProject
+) {
+
+    public DatasetSpec {
+        if (vendors < 1 || materials < 1 || laborCategories < 1 || projects < 0
+                || materialLinesPerProject < 0 || laborLinesPerProject < 0) {
+            throw new IllegalArgumentException("Dataset needs at least one vendor, material and labor category, and no negative counts");
+        }
+    }
+
+    /**
+     * A portfolio of the given number of projects with a catalog, vendor list and trade list scaled
+     * to match, e.g. 100,000 projects give about 5.5 million line items.
+     */
+    public static DatasetSpec ofProjects(int projects, long seed) {
+        return new DatasetSpec(seed,
+                Math.max(10, projects / 200),
+                Math.max(100, projects / 4),
+                Math.min(200, Math.max(20, projects / 1000)),
+                projects,
+                40,
+                15);
+    }
+}
@@ -0,0 +1,32 @@
+package io.fervo.takecost.projectestimation.dataset;
+
+/**
+ * Id ranges written by one {@link SyntheticDatasetGenerator} run. Ids within a range are
+ * contiguous, so tests can address generated rows without querying for them.
+ */
+public record GeneratedDataset(
+        IdRange vendors,
+        IdRange materials,
+        IdRange laborCategories,
+        IdRange projects,
+        IdRange materialLines,
+        IdRange laborLines,
+        long elapsedMillis
+) {
+
+    public long rows() {
+        return vendors.count() + materials.count() + laborCategories.count() + projects.count()
+                + materialLines.count() + laborLines.count();
+    }
+
+    public record IdRange(long first, long count) {
+
+        public long last() {
+            return first + count - 1;
+        }
+
+        public long get(long index) {
+            return first + index;
+        }
+    }
+}
@@ -0,0 +1,309 @@
+package io.fervo.takecost.projectestimation.dataset;
+
+import io.fervo.takecost.projectestimation.dataset.GeneratedDataset.IdRange;
+import io.fervo.takecost.projectestimation.project.ProjectCostRollupRepository;
+import io.fervo.takecost.projectestimation.project.ProjectStatus;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.SplittableRandom;
+
+/**
+ * Generates a synthetic portfolio (vendors, catalog, labor categories, projects and their line
+ * items) and loads it with {@code COPY}, which is what makes millions of rows practical. The same
+ * {@link DatasetSpec} always produces the same rows: every table draws from its own stream split
+ * off the seed, and only the id offset depends on what is already in the database.
+ * <p>
+ * Ids are reserved past both the current maximum and the Hibernate sequence of each table, and the
+ * sequence is moved past the generated range, so entities created through the API afterwards do
+ * not collide. Cost rollups of the new projects are computed in the same transaction. A
+ * {@link DatasetGeneratedEvent} follows, since Hibernate's second-level cache never saw the rows.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SyntheticDatasetGenerator {
+    private static final ProjectStatus[] STATUSES = {ProjectStatus.PLANNED, ProjectStatus.IN_PROGRESS, ProjectStatus.COMPLETED, ProjectStatus.CANCELED};
+    private static final int[] STATUS_WEIGHTS = {30, 40, 25, 5};
+    private static final LocalDate FIRST_START_DATE = LocalDate.of(2022, 1, 1);
+    private static final String[] LOCATIONS = {"Toronto, ON", "Ottawa, ON", "Montreal, QC", "Calgary, AB", "Edmonton, AB",
+            "Vancouver, BC", "Winnipeg, MB", "Halifax, NS", "Regina, SK", "Quebec City, QC"};
+    private static final String[] PROJECT_KINDS = {"Tower", "Warehouse", "School", "Clinic", "Residence", "Office", "Plaza",
+            "Parking Garage", "Community Centre", "Bridge Rehab"};
+    private static final String[] VENDOR_PREFIXES = {"Northern", "Summit", "Atlas", "Keystone", "Granite", "Maple",
+            "Lakeshore", "Pioneer", "Cornerstone", "Frontier"};
+    private static final String[] VENDOR_SUFFIXES = {"Supply", "Building Materials", "Industrial", "Distributors", "Trade Co."};
+    private static final String[] TRADES = {"Carpenter", "Electrician", "Plumber", "Ironworker", "Mason", "Drywaller",
+            "Roofer", "Painter", "Glazier", "Pipefitter", "Equipment Operator", "General Labourer", "HVAC Technician",
+            "Concrete Finisher", "Welder", "Insulator", "Tile Setter", "Surveyor", "Site Supervisor", "Millwright"};
+    private static final Category[] CATEGORIES = {
+            new Category("Concrete", "m3", 90_00, "Ready-mix", "Precast", "Block", "Grout"),
+            new Category("Steel", "kg", 2_50, "Rebar", "Structural", "Mesh", "Decking"),
+            new Category("Lumber", "m", 8_00, "Framing", "Plywood", "Engineered", "Treated"),
+            new Category("Drywall", "sheet", 18_00, "Gypsum board", "Cement board", "Compound", "Corner bead"),
+            new Category("Electrical", "piece", 25_00, "Wire", "Conduit", "Panel", "Fixture"),
+            new Category("Plumbing", "piece", 30_00, "Pipe", "Fitting", "Valve", "Fixture"),
+            new Category("Roofing", "m2", 35_00, "Membrane", "Shingle", "Flashing", "Underlayment"),
+            new Category("Insulation", "m2", 12_00, "Batt", "Rigid board", "Spray foam", "Vapour barrier"),
+            new Category("Finishes", "m2", 45_00, "Tile", "Paint", "Flooring", "Ceiling")
+    };
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final ProjectCostRollupRepository rollupRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional
+    public GeneratedDataset generate(DatasetSpec spec) {
+        var start = System.nanoTime();
+        var random = new SplittableRandom(spec.seed());
+        var connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            var copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+
+            var vendors = reserve("vendors", "vendor_seq", spec.vendors());
+            copyVendors(copyManager, vendors, random.split());
+
+            var materials = reserve("material_catalogs", "material_catalog_seq", spec.materials());
+            var materialPrices = copyMaterials(copyManager, materials, vendors, random.split());
+
+            var laborCategories = reserve("labor_categories", "labor_category_seq", spec.laborCategories());
+            var hourlyRates = copyLaborCategories(copyManager, laborCategories, random.split());
+
+            var projects = reserve("projects", "project_seq", spec.projects());
+            copyProjects(copyManager, projects, random.split());
+
+            var materialLines = copyMaterialLines(copyManager, spec, projects, materials, materialPrices, random.split());
+            var laborLines = copyLaborLines(copyManager, spec, projects, laborCategories, hourlyRates, random.split());
+            rollupRepository.insertMissing();
+
+            for (var table : new String[]{"vendors", "material_catalogs", "labor_categories", "projects",
+                    "project_materials", "project_labor", "project_cost_rollups"}) {
+                jdbcTemplate.execute("ANALYZE " + table);
+            }
+
+            var dataset = new GeneratedDataset(vendors, materials, laborCategories, projects, materialLines, laborLines,
+                    (System.nanoTime() - start) / 1_000_000);
+            log.info("Generated {} rows in {} ms: {} projects, {} catalog entries, {} material lines, {} labor lines",
+                    dataset.rows(), dataset.elapsedMillis(), projects.count(), materials.count(),
+                    materialLines.count(), laborLines.count());
+            eventPublisher.publishEvent(new DatasetGeneratedEvent(dataset));
+            return dataset;
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not load synthetic dataset", e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    private void copyVendors(CopyManager copyManager, IdRange ids, SplittableRandom random) throws SQLException {
+        try (var copy = new CopyWriter(copyManager, "vendors", "id, name, email, phone, address")) {
+            for (long i = 0; i < ids.count(); i++) {
+                var id = ids.get(i);
+                copy.field(id)
+                        .field(pick(VENDOR_PREFIXES, random) + " " + pick(VENDOR_SUFFIXES, random) + " " + id)
+                        .field("orders" + id + "@example.com")
+                        .field(String.format("%03d-%03d-%04d", 200 + random.nextInt(800), random.nextInt(1000), random.nextInt(10_000)))
+                        .field((1 + random.nextInt(999)) + " Industrial Rd, " + pick(LOCATIONS, random))
+                        .endRow();
+            }
+        }
+    }
+
+    /**
+     * @return unit price in cents of each catalog entry, by index in the range
+     */
+    private long[] copyMaterials(CopyManager copyManager, IdRange ids, IdRange vendors, SplittableRandom random) throws SQLException {
+        var prices = new long[(int) ids.count()];
+        try (var copy = new CopyWriter(copyManager, "material_catalogs",
+                "id, name, description, category, sub_category, unit_type, unit_price, in_stock, lead_time_days, vendor_id")) {
+            for (int i = 0; i < prices.length; i++) {
+                var id = ids.get(i);
+                var category = pick(CATEGORIES, random);
+                var subCategory = pick(category.subCategories(), random);
+                prices[i] = Math.max(1, Math.round(category.typicalPriceCents() * logNormal(random, 1.0, 0.6)));
+                copy.field(id)
+                        .field(subCategory + " " + category.name().toLowerCase() + " grade " + (char) ('A' + random.nextInt(4)) + "-" + id)
+                        .field(random.nextInt(4) == 0 ? null : subCategory + " for " + category.name().toLowerCase() + " work")
+                        .field(category.name())
+                        .field(subCategory)
+                        .field(category.unitType())
+                        .field(BigDecimal.valueOf(prices[i], 2))
+                        .field(random.nextInt(5) == 0 ? 0 : random.nextInt(5_000))
+                        .field(random.nextInt(45))
+                        .field(vendors.get(skewedIndex(random, vendors.count())))
+                        .endRow();
+            }
+        }
+        return prices;
+    }
+
+    /**
+     * @return base hourly rate in cents of each labor category, by index in the range
+     */
+    private long[] copyLaborCategories(CopyManager copyManager, IdRange ids, SplittableRandom random) throws SQLException {
+        var rates = new long[(int) ids.count()];
+        try (var copy = new CopyWriter(copyManager, "labor_categories", "id, name, description")) {
+            for (int i = 0; i < rates.length; i++) {
+                var id = ids.get(i);
+                var trade = TRADES[i % TRADES.length];
+                rates[i] = 35_00 + random.nextInt(85_00);
+                copy.field(id)
+                        .field(i < TRADES.length ? trade : trade + " " + (i / TRADES.length + 1))
+                        .field("Synthetic " + trade.toLowerCase() + " rate")
+                        .endRow();
+            }
+        }
+        return rates;
+    }
+
+    private void copyProjects(CopyManager copyManager, IdRange ids, SplittableRandom random) throws SQLException {
+        try (var copy = new CopyWriter(copyManager, "projects", "id, name, description, location, start_date, end_date, status")) {
+            for (long i = 0; i < ids.count(); i++) {
+                var id = ids.get(i);
+                var location = pick(LOCATIONS, random);
+                var startDate = FIRST_START_DATE.plusDays(random.nextInt(1_500));
+                copy.field(id)
+                        .field(location.substring(0, location.indexOf(',')) + " " + pick(PROJECT_KINDS, random) + " " + id)
+                        .field(random.nextInt(3) == 0 ? null : "Synthetic project " + id)
+                        .field(location)
+                        .field(startDate)
+                        .field(startDate.plusDays(90 + random.nextInt(810)))
+                        .field(weightedStatus(random).name())
+                        .endRow();
+            }
+        }
+    }
+
+    private IdRange copyMaterialLines(CopyManager copyManager, DatasetSpec spec, IdRange projects, IdRange materials,
+                                      long[] prices, SplittableRandom random) throws SQLException {
+        var counts = lineCounts(random, projects.count(), spec.materialLinesPerProject());
+        var ids = reserve("project_materials", "project_material_seq", sum(counts));
+        long next = 0;
+        try (var copy = new CopyWriter(copyManager, "project_materials",
+                "id, project_id, material_catalog_id, quantity, unit_price, notes")) {
+            for (int project = 0; project < counts.length; project++) {
+                for (int line = 0; line < counts[project]; line++) {
+                    var material = skewedIndex(random, materials.count());
+                    // Quoted prices drift up to 15% either way from the catalog price.
+                    var priceCents = Math.max(1, Math.round(prices[material] * (0.85 + random.nextDouble() * 0.3)));
+                    copy.field(ids.get(next++))
+                            .field(projects.get(project))
+                            .field(materials.get(material))
+                            .field(Math.max(0.1, Math.round(logNormal(random, 50, 1.2) * 10) / 10.0))
+                            .field(BigDecimal.valueOf(priceCents, 2))
+                            .field(random.nextInt(8) == 0 ? "Phase " + (1 + random.nextInt(4)) : null)
+                            .endRow();
+                }
+            }
+        }
+        return ids;
+    }
+
+    private IdRange copyLaborLines(CopyManager copyManager, DatasetSpec spec, IdRange projects, IdRange categories,
+                                   long[] rates, SplittableRandom random) throws SQLException {
+        var counts = lineCounts(random, projects.count(), spec.laborLinesPerProject());
+        var ids = reserve("project_labor", "project_labor_seq", sum(counts));
+        long next = 0;
+        try (var copy = new CopyWriter(copyManager, "project_labor",
+                "id, project_id, labor_category_id, hourly_rate, estimated_hours")) {
+            for (int project = 0; project < counts.length; project++) {
+                for (int line = 0; line < counts[project]; line++) {
+                    var category = random.nextInt((int) categories.count());
+                    var rateCents = Math.round(rates[category] * (0.9 + random.nextDouble() * 0.3));
+                    // Estimated hours in half-hour steps.
+                    var hours = BigDecimal.valueOf(Math.max(1, Math.round(logNormal(random, 120, 1.0) * 2)) * 5, 1);
+                    copy.field(ids.get(next++))
+                            .field(projects.get(project))
+                            .field(categories.get(category))
+                            .field(BigDecimal.valueOf(rateCents, 2))
+                            .field(hours)
+                            .endRow();
+                }
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Reserves {@code count} ids above everything in the table and everything the sequence may
+     * already have handed out, then moves the sequence to the end of the reservation.
+     */
+    private IdRange reserve(String table, String sequence, long count) {
+        var first = jdbcTemplate.queryForObject(
+                "SELECT GREATEST((SELECT COALESCE(MAX(id), 0) FROM " + table + "), (SELECT last_value FROM " + sequence + ")) + 1",
+                Long.class);
+        var range = new IdRange(first, count);
+        if (count > 0) {
+            jdbcTemplate.queryForObject("SELECT setval(?, ?)", Long.class, sequence, range.last());
+        }
+        return range;
+    }
+
+    /**
+     * Lines per project follow a log-normal distribution around the average: most projects are
+     * small, a few have bills of materials many times the average.
+     */
+    private static int[] lineCounts(SplittableRandom random, long projects, int average) {
+        var counts = new int[(int) projects];
+        if (average == 0) {
+            return counts;
+        }
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = (int) Math.min(20L * average, Math.round(logNormal(random, average, 0.9)));
+        }
+        return counts;
+    }
+
+    private static long sum(int[] values) {
+        long total = 0;
+        for (var value : values) {
+            total += value;
+        }
+        return total;
+    }
+
+    /**
+     * Log-normal sample with the given mean.
+     */
+    private static double logNormal(SplittableRandom random, double mean, double sigma) {
+        return Math.exp(Math.log(mean) - sigma * sigma / 2 + sigma * random.nextGaussian());
+    }
+
+    /**
+     * Index biased towards the start of the range, so a minority of catalog entries and vendors
+     * account for most references.
+     */
+    private static int skewedIndex(SplittableRandom random, long size) {
+        return (int) Math.min(size - 1, (long) (size * Math.pow(random.nextDouble(), 2.5)));
+    }
+
+    private static ProjectStatus weightedStatus(SplittableRandom random) {
+        var draw = random.nextInt(100);
+        for (int i = 0; i < STATUSES.length; i++) {
+            draw -= STATUS_WEIGHTS[i];
+            if (draw < 0) {
+                return STATUSES[i];
+            }
+        }
+        return ProjectStatus.PLANNED;
+    }
+
+    private static <T> T pick(T[] values, SplittableRandom random) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private record Category(String name, String unitType, long typicalPriceCents, String... subCategories) {
+    }
+}
@@ -0,0 +1,45 @@
+package io.fervo.takecost.projectestimation.dataset;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fills the database with a synthetic portfolio on startup when the {@code dataset} profile is
+ * active, e.g. {@code ACTIVE_PROFILES=dev,dataset DATASET_PROJECTS=100000 ./gradlew :backend:bootRun}.
+ * Runs before the in-memory indexes load, so search and autocomplete include the generated rows.
+ * Does nothing if the database already holds at least as many projects as requested.
+ */
+@Slf4j
+@Component
+@Profile("dataset")
+public class SyntheticDatasetRunner implements ApplicationRunner {
+    private final SyntheticDatasetGenerator generator;
+    private final JdbcTemplate jdbcTemplate;
+    private final int projects;
+    private final long seed;
+
+    public SyntheticDatasetRunner(SyntheticDatasetGenerator generator,
+                                  JdbcTemplate jdbcTemplate,
+                                  @Value("${dataset.projects}") int projects,
+                                  @Value("${dataset.seed}") long seed) {
+        this.generator = generator;
+        this.jdbcTemplate = jdbcTemplate;
+        this.projects = projects;
+        this.seed = seed;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        var existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM projects", Long.class);
+        if (existing != null && existing >= projects) {
+            log.info("Skipping synthetic dataset: {} projects already present", existing);
+            return;
+        }
+        generator.generate(DatasetSpec.ofProjects(projects, seed));
+    }
+}
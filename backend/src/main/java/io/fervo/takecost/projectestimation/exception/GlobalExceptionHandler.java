@@ -5,6 +5,7 @@ import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.dao.InvalidDataAccessResourceUsageException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -25,6 +26,7 @@ public class GlobalExceptionHandler {
     private static final String NOT_FOUND = "Not Found";
     private static final String VALIDATION_ERROR = "Validation Error";
     private static final String ACCESS_DENIED = "Access Denied";
+    private static final String CONFLICT = "Conflict";
     private static final String INTERNAL_SERVER_ERROR = "Internal Server Error";
 
     private ResponseEntity<ErrorResponse> buildResponse(HttpStatus status, String error, String message, Map<String, String> details) {
@@ -42,6 +44,12 @@ public class GlobalExceptionHandler {
         return buildResponse(HttpStatus.NOT_FOUND, NOT_FOUND, ex.getMessage(), null);
     }
 
+    // Two writers updated the same row; the second one lost and should re-read before retrying.
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLockingFailureException(OptimisticLockingFailureException ex) {
+        return buildResponse(HttpStatus.CONFLICT, CONFLICT, ex.getMessage(), null);
+    }
+
     @ExceptionHandler(DataIntegrityViolationException.class)
     public ResponseEntity<ErrorResponse> handleDataIntegrityViolationException(DataIntegrityViolationException ex) {
         return buildResponse(HttpStatus.BAD_REQUEST, BAD_REQUEST, ex.getMessage(), null);
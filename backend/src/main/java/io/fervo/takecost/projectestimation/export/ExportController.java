@@ -0,0 +1,71 @@
+package io.fervo.takecost.projectestimation.export;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@Slf4j
+@Validated
+@RestController
+@RequestMapping("/api/v1/exports")
+@RequiredArgsConstructor
+@Tag(name = "Exports", description = "Stream bills of materials and labor sheets")
+public class ExportController {
+    private final LineItemExportService service;
+
+    @GetMapping("/materials")
+    @Operation(summary = "Export bill of materials", description = "Stream the material lines of one project, or of every project when no project ID is given, as CSV or NDJSON")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Export streamed successfully"),
+            @ApiResponse(responseCode = "400", description = "Unsupported export format"),
+            @ApiResponse(responseCode = "404", description = "Project not found")
+    })
+    @PreAuthorize("isFullyAuthenticated()")
+    public ResponseEntity<StreamingResponseBody> exportMaterials(
+            @RequestParam(required = false) Long projectId,
+            @RequestParam(defaultValue = "csv") String format) {
+        var exportFormat = ExportFormat.of(format);
+        log.info("Exporting materials of project id {} as {}", projectId, exportFormat);
+        var body = service.exportMaterials(projectId, exportFormat);
+        return attachment("materials", projectId, exportFormat, body);
+    }
+
+    @GetMapping("/labor")
+    @Operation(summary = "Export labor sheet", description = "Stream the labor lines of one project, or of every project when no project ID is given, as CSV or NDJSON")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Export streamed successfully"),
+            @ApiResponse(responseCode = "400", description = "Unsupported export format"),
+            @ApiResponse(responseCode = "404", description = "Project not found")
+    })
+    @PreAuthorize("isFullyAuthenticated()")
+    public ResponseEntity<StreamingResponseBody> exportLabor(
+            @RequestParam(required = false) Long projectId,
+            @RequestParam(defaultValue = "csv") String format) {
+        var exportFormat = ExportFormat.of(format);
+        log.info("Exporting labor of project id {} as {}", projectId, exportFormat);
+        var body = service.exportLabor(projectId, exportFormat);
+        return attachment("labor", projectId, exportFormat, body);
+    }
+
+    private static ResponseEntity<StreamingResponseBody> attachment(String kind, Long projectId, ExportFormat format,
+                                                                    StreamingResponseBody body) {
+        var filename = kind + "-" + (projectId == null ? "all-projects" : "project-" + projectId) + "." + format.extension();
+        return ResponseEntity.ok()
+                .contentType(format.mediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+}
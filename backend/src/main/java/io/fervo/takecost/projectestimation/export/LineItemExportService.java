@@ -0,0 +1,117 @@
+package io.fervo.takecost.projectestimation.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import io.fervo.takecost.projectestimation.project.ProjectRepository;
+import io.fervo.takecost.projectestimation.projectlabor.LaborExportRow;
+import io.fervo.takecost.projectestimation.projectlabor.ProjectLaborRepository;
+import io.fervo.takecost.projectestimation.projectmaterial.MaterialExportRow;
+import io.fervo.takecost.projectestimation.projectmaterial.ProjectMaterialRepository;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Streams bills of materials and labor sheets from a database cursor straight to the response.
+ * Rows are DTO projections, so nothing accumulates in the persistence context and heap use does
+ * not depend on the size of the export.
+ */
+@Slf4j
+@Service
+public class LineItemExportService {
+    private final ProjectRepository projectRepository;
+    private final ProjectMaterialRepository materialRepository;
+    private final ProjectLaborRepository laborRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final CsvMapper csvMapper = new CsvMapper();
+    private final ObjectMapper objectMapper;
+
+    public LineItemExportService(ProjectRepository projectRepository,
+                                 ProjectMaterialRepository materialRepository,
+                                 ProjectLaborRepository laborRepository,
+                                 PlatformTransactionManager transactionManager,
+                                 ObjectMapper objectMapper) {
+        this.projectRepository = projectRepository;
+        this.materialRepository = materialRepository;
+        this.laborRepository = laborRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * @param projectId project to export, or null for every project
+     */
+    public StreamingResponseBody exportMaterials(Long projectId, ExportFormat format) {
+        checkProjectExists(projectId);
+        return body(MaterialExportRow.class, format, projectId == null
+                ? materialRepository::streamAllExportRows
+                : () -> materialRepository.streamExportRows(projectId));
+    }
+
+    /**
+     * @param projectId project to export, or null for every project
+     */
+    public StreamingResponseBody exportLabor(Long projectId, ExportFormat format) {
+        checkProjectExists(projectId);
+        return body(LaborExportRow.class, format, projectId == null
+                ? laborRepository::streamAllExportRows
+                : () -> laborRepository.streamExportRows(projectId));
+    }
+
+    private void checkProjectExists(Long projectId) {
+        // Checked up front: once streaming starts the response status can no longer change.
+        if (projectId != null && !projectRepository.existsById(projectId)) {
+            throw new EntityNotFoundException("Project not found with ID: " + projectId);
+        }
+    }
+
+    private <T> StreamingResponseBody body(Class<T> type, ExportFormat format, Supplier<Stream<T>> query) {
+        return out -> readOnlyTransaction.executeWithoutResult(status -> {
+            var start = System.nanoTime();
+            try (var rows = query.get()) {
+                var count = write(rows, writerFor(type, format), format, out);
+                log.info("Exported {} {} rows as {} in {} ms", count, type.getSimpleName(), format,
+                        (System.nanoTime() - start) / 1_000_000);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private ObjectWriter writerFor(Class<?> type, ExportFormat format) {
+        var writer = format == ExportFormat.CSV
+                ? csvMapper.writer(csvMapper.schemaFor(type).withHeader())
+                : objectMapper.writerFor(type).withRootValueSeparator("\n");
+        // Let the response buffer decide when to flush, and leave closing the socket stream to the container.
+        return writer
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    private static <T> long write(Stream<T> rows, ObjectWriter writer, ExportFormat format, OutputStream out) throws IOException {
+        long count = 0;
+        try (var sequence = writer.writeValues(out)) {
+            for (var iterator = rows.iterator(); iterator.hasNext(); count++) {
+                sequence.write(iterator.next());
+            }
+        }
+        if (format == ExportFormat.NDJSON && count > 0) {
+            out.write('\n');
+        }
+        out.flush();
+        return count;
+    }
+}
@@ -1,10 +1,16 @@
 package io.fervo.takecost.projectestimation.laborcategory;
 
+import io.fervo.takecost.projectestimation.config.SecondLevelCacheConfig;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 
 @Entity
 @Table(name = "labor_categories")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.LABOR_CATEGORIES)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -21,4 +27,9 @@ public class LaborCategory {
 
     @Column
     private String description;
+
+    @Version
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private long version;
 }
@@ -1,15 +1,21 @@
 package io.fervo.takecost.projectestimation.laborcategory;
 
+import io.fervo.takecost.projectestimation.conditional.ETags;
+import io.fervo.takecost.projectestimation.pagination.PageSchema;
+import io.fervo.takecost.projectestimation.responsecache.ReferenceListing;
+import io.fervo.takecost.projectestimation.responsecache.ReferenceListingCache;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -25,32 +31,37 @@ import org.springframework.web.bind.annotation.*;
 public class LaborCategoryController {
     private final LaborCategoryService service;
     private final LaborCategoryMapper laborCategoryMapper;
+    private final ReferenceListingCache listingCache;
 
     @GetMapping
     @Operation(summary = "List all labor categories", description = "Fetch all labor categories with optional pagination")
     @ApiResponses({
-            @ApiResponse(responseCode = "200", description = "Successfully retrieved list of labor categories")
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved list of labor categories",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = LaborCategoryPage.class))),
+            @ApiResponse(responseCode = "304", description = "Labor categories unchanged since the ETag in If-None-Match")
     })
     @PreAuthorize("isFullyAuthenticated()")
-    public ResponseEntity<Page<LaborCategoryDTO>> getAllLaborCategories(
+    public ResponseEntity<byte[]> getAllLaborCategories(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
-            @RequestParam(defaultValue = "asc") String order) {
+            @RequestParam(defaultValue = "asc") String order,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
         var pageable = PageRequest.of(page, size, Sort.by(order.equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC, "name"));
-        var laborCategories = service.getAll(pageable).map(laborCategoryMapper::toDTO);
-        return ResponseEntity.ok(laborCategories);
+        return listingCache.get(ReferenceListing.LABOR_CATEGORIES, pageable, acceptEncoding,
+                () -> service.getAll(pageable).map(laborCategoryMapper::toDTO));
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Get labor category by ID", description = "Retrieve a labor category by its unique ID")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Labor category retrieved successfully"),
+            @ApiResponse(responseCode = "304", description = "Labor category unchanged since the ETag in If-None-Match"),
             @ApiResponse(responseCode = "404", description = "Labor category not found")
     })
     @PreAuthorize("isFullyAuthenticated()")
     public ResponseEntity<LaborCategoryDTO> getLaborCategory(@PathVariable Long id) {
         var laborCategory = laborCategoryMapper.toDTO(service.getById(id));
-        return ResponseEntity.ok(laborCategory);
+        return ResponseEntity.ok().eTag(ETags.of(laborCategory.version())).body(laborCategory);
     }
 
     @PostMapping
@@ -91,4 +102,7 @@ public class LaborCategoryController {
         service.delete(id);
         return ResponseEntity.noContent().build();
     }
+
+    static final class LaborCategoryPage extends PageSchema<LaborCategoryDTO> {
+    }
 }
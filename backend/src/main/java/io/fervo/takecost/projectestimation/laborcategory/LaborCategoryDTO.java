@@ -15,6 +15,9 @@ public record LaborCategoryDTO(
 
         @Schema(description = "Description of the labor category", example = "Handles electrical work in projects")
         @Size(max = 500, message = "Description cannot exceed 500 characters")
-        String description
+        String description,
+
+        @Schema(description = "Version of the labor category, changed by every update; ignored on input", example = "0")
+        Long version
 ) {
 }
@@ -1,6 +1,7 @@
 package io.fervo.takecost.projectestimation.laborcategory;
 
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.factory.Mappers;
 
 @Mapper(componentModel = "spring")
@@ -9,5 +10,6 @@ public interface LaborCategoryMapper {
 
     LaborCategoryDTO toDTO(LaborCategory laborCategory);
 
+    @Mapping(target = "version", ignore = true)
     LaborCategory toEntity(LaborCategoryDTO laborCategoryDTO);
 }
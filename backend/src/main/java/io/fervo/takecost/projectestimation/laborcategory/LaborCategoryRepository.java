@@ -1,6 +1,35 @@
 package io.fervo.takecost.projectestimation.laborcategory;
-
+import io.fervo.takecost.projectestimation.autocomplete.AutocompleteSuggestion;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.stream.Stream;
 
 public interface LaborCategoryRepository extends JpaRepository<LaborCategory, Long> {
+
+    /**
+     * Pages (and their counts) come from the query cache until a labor category is written through Hibernate.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Override
+    Page<LaborCategory> findAll(Pageable pageable);
+
+    @Query("SELECT c.id FROM LaborCategory c WHERE c.id IN :ids")
+    Set<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Every labor category id and name, for loading the autocomplete index. Must be consumed inside a
+     * transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new io.fervo.takecost.projectestimation.autocomplete.AutocompleteSuggestion(c.id, c.name) FROM LaborCategory c")
+    Stream<AutocompleteSuggestion> streamAutocompleteSuggestions();
 }
@@ -1,17 +1,33 @@
 package io.fervo.takecost.projectestimation.laborcategory;
 
+import io.fervo.takecost.projectestimation.autocomplete.AutocompleteIndex;
+import io.fervo.takecost.projectestimation.autocomplete.AutocompleteType;
+import io.fervo.takecost.projectestimation.responsecache.ReferenceDataChangedEvent;
+import io.fervo.takecost.projectestimation.responsecache.ReferenceListing;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+@Timed(value = "service.invocations", histogram = true)
 @Service
 @RequiredArgsConstructor
 public class LaborCategoryService {
     private final LaborCategoryRepository repository;
+    private final AutocompleteIndex autocompleteIndex;
+    private final ApplicationEventPublisher eventPublisher;
 
     public LaborCategory save(LaborCategory laborCategory) {
-        return repository.save(laborCategory);
+        if (laborCategory.getId() != null) {
+            // A PUT replaces the category as it is now; the client's copy carries no version to check.
+            laborCategory.setVersion(getById(laborCategory.getId()).getVersion());
+        }
+        var saved = repository.save(laborCategory);
+        autocompleteIndex.put(AutocompleteType.LABOR_CATEGORY, saved.getId(), saved.getName());
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(ReferenceListing.LABOR_CATEGORIES));
+        return saved;
     }
 
     public LaborCategory getById(Long id) {
@@ -21,6 +37,8 @@ public class LaborCategoryService {
     public void delete(Long id) {
         // TODO: Do not allow if already in use.
         repository.deleteById(id);
+        autocompleteIndex.remove(AutocompleteType.LABOR_CATEGORY, id);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(ReferenceListing.LABOR_CATEGORIES));
     }
 
     public Page<LaborCategory> getAll(Pageable pageable) {
@@ -1,17 +1,23 @@
 package io.fervo.takecost.projectestimation.material;
 
+import io.fervo.takecost.projectestimation.config.SecondLevelCacheConfig;
 import io.fervo.takecost.projectestimation.vendor.Vendor;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "material_catalogs")
+@Table(name = "material_catalogs", indexes = @Index(name = "idx_material_catalogs_vendor_id_name", columnList = "vendor_id, name"))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.MATERIAL_CATALOGS)
 @Data
 @Builder
 @AllArgsConstructor
@@ -57,4 +63,9 @@ public class MaterialCatalog {
 
     @Column(name = "updated_at", columnDefinition = "TIMESTAMP DEFAULT CURRENT_TIMESTAMP")
     private LocalDateTime updatedAt;
+
+    @Version
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private long version;
 }
@@ -1,21 +1,35 @@
 package io.fervo.takecost.projectestimation.material;
 
+import io.fervo.takecost.projectestimation.conditional.ETags;
+import io.fervo.takecost.projectestimation.pagination.PageSchema;
+import io.fervo.takecost.projectestimation.responsecache.ReferenceListing;
+import io.fervo.takecost.projectestimation.responsecache.ReferenceListingCache;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
 @Slf4j
 @Validated
 @RestController
@@ -25,32 +39,53 @@ import org.springframework.web.bind.annotation.*;
 public class MaterialCatalogController {
     private final MaterialCatalogService service;
     private final MaterialCatalogMapper materialCatalogMapper;
+    private final MaterialPriceListImporter priceListImporter;
+    private final ReferenceListingCache listingCache;
 
     @GetMapping
     @Operation(summary = "List all materials", description = "Fetch all materials with optional pagination")
     @ApiResponses({
-            @ApiResponse(responseCode = "200", description = "Successfully retrieved list of materials")
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved list of materials",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = MaterialCatalogPage.class))),
+            @ApiResponse(responseCode = "304", description = "Materials unchanged since the ETag in If-None-Match")
     })
     @PreAuthorize("isFullyAuthenticated()")
-    public ResponseEntity<Page<MaterialCatalogDTO>> getAllMaterials(
+    public ResponseEntity<byte[]> getAllMaterials(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
-            @RequestParam(defaultValue = "asc") String order) {
+            @RequestParam(defaultValue = "asc") String order,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
         var pageable = PageRequest.of(page, size, Sort.by(order.equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC, "name"));
-        var materials = service.getAll(pageable).map(materialCatalogMapper::toDTO);
-        return ResponseEntity.ok(materials);
+        return listingCache.get(ReferenceListing.MATERIALS, pageable, acceptEncoding, () -> service.getAll(pageable));
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Search materials", description = "Typo-tolerant search over material name, description, category, sub-category and vendor, best matches first")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Search completed successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid query or limit")
+    })
+    @PreAuthorize("isFullyAuthenticated()")
+    public ResponseEntity<List<MaterialSearchHit>> searchMaterials(
+            @RequestParam @NotBlank(message = "Query cannot be blank") @Size(max = 200, message = "Query cannot exceed 200 characters") String q,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) Long vendorId,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int limit) {
+        var hits = service.searchMaterials(q, category, vendorId, limit);
+        return ResponseEntity.ok(hits);
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Get material by ID", description = "Retrieve a material by its unique ID")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Material retrieved successfully"),
+            @ApiResponse(responseCode = "304", description = "Material unchanged since the ETag in If-None-Match"),
             @ApiResponse(responseCode = "404", description = "Material not found")
     })
     @PreAuthorize("isFullyAuthenticated()")
     public ResponseEntity<MaterialCatalogDTO> getMaterial(@PathVariable Long id) {
-        var material = materialCatalogMapper.toDTO(service.getById(id));
-        return ResponseEntity.ok(material);
+        var material = service.getById(id);
+        return ResponseEntity.ok().eTag(ETags.of(material.version())).body(material);
     }
 
     @PostMapping
@@ -66,6 +101,34 @@ public class MaterialCatalogController {
         return ResponseEntity.status(HttpStatus.CREATED).body(materialCatalogMapper.toDTO(savedMaterial));
     }
 
+    @PostMapping(value = "/import", consumes = "text/csv")
+    @Operation(summary = "Import a CSV price list", description = "Stream a vendor price list with a header row into the catalog, upserting by vendor and material name; invalid rows are skipped and reported")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Price list imported; see the report for rejected rows")
+    })
+    @PreAuthorize("hasRole('ADMIN') or hasRole('PROJECT_MANAGER')")
+    public ResponseEntity<PriceListImportReport> importCsvPriceList(
+            @RequestParam(required = false) Long vendorId,
+            InputStream body) throws IOException {
+        log.info("Importing CSV price list for vendor id {}", vendorId);
+        var report = priceListImporter.importPriceList(body, PriceListFormat.CSV, vendorId);
+        return ResponseEntity.ok(report);
+    }
+
+    @PostMapping(value = "/import", consumes = "application/x-ndjson")
+    @Operation(summary = "Import an NDJSON price list", description = "Stream a vendor price list with one JSON object per line into the catalog, upserting by vendor and material name; invalid rows are skipped and reported")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Price list imported; see the report for rejected rows")
+    })
+    @PreAuthorize("hasRole('ADMIN') or hasRole('PROJECT_MANAGER')")
+    public ResponseEntity<PriceListImportReport> importNdjsonPriceList(
+            @RequestParam(required = false) Long vendorId,
+            InputStream body) throws IOException {
+        log.info("Importing NDJSON price list for vendor id {}", vendorId);
+        var report = priceListImporter.importPriceList(body, PriceListFormat.NDJSON, vendorId);
+        return ResponseEntity.ok(report);
+    }
+
     @PutMapping("/{id}")
     @Operation(summary = "Update an existing material", description = "Modify the details of an existing material")
     @ApiResponses({
@@ -91,4 +154,7 @@ public class MaterialCatalogController {
         service.delete(id);
         return ResponseEntity.noContent().build();
     }
+
+    static final class MaterialCatalogPage extends PageSchema<MaterialCatalogDTO> {
+    }
 }
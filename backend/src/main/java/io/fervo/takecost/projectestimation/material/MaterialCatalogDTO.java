@@ -5,6 +5,8 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.PositiveOrZero;
 import jakarta.validation.constraints.Size;
 
+import java.math.BigDecimal;
+
 public record MaterialCatalogDTO(
         @Schema(description = "Unique identifier for the material", example = "1")
         Long id,
@@ -44,6 +46,18 @@ public record MaterialCatalogDTO(
         Double unitPrice,
 
         @Schema(description = "Material's vendor ID", example = "5")
-        Long vendorId
+        Long vendorId,
+
+        @Schema(description = "Version of the material, changed by every update; ignored on input", example = "0")
+        Long version
 ) {
+    /**
+     * Form used by JPQL constructor expressions, which pass the price as stored.
+     */
+    public MaterialCatalogDTO(Long id, String name, String description, String category, String subCategory,
+                              Integer inStock, Integer leadTimeDays, String unitType, BigDecimal unitPrice, Long vendorId,
+                              Long version) {
+        this(id, name, description, category, subCategory, inStock, leadTimeDays, unitType,
+                unitPrice == null ? null : unitPrice.doubleValue(), vendorId, version);
+    }
 }
@@ -1,6 +1,7 @@
 package io.fervo.takecost.projectestimation.material;
 
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.factory.Mappers;
 
 @Mapper(componentModel = "spring")
@@ -33,5 +34,6 @@ public interface MaterialCatalogMapper {
 //    @Mapping(target = "leadTimeDays", source = "leadTimeDays")
 //    @Mapping(target = "createdAt", ignore = true)
 //    @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "version", ignore = true)
     MaterialCatalog toEntity(MaterialCatalogDTO materialCatalogDTO);
 }
@@ -1,7 +1,70 @@
 package io.fervo.takecost.projectestimation.material;
 
+import io.fervo.takecost.projectestimation.autocomplete.AutocompleteSuggestion;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 public interface MaterialCatalogRepository extends JpaRepository<MaterialCatalog, Long> {
+    /*
+     * Read paths select the API columns straight into MaterialCatalogDTO; the vendor id comes from the
+     * foreign key, so the vendor row is never loaded. Results are kept in the query cache until a
+     * catalog entry is written through Hibernate.
+     */
+    String SELECT_DTO = """
+                SELECT new io.fervo.takecost.projectestimation.material.MaterialCatalogDTO(
+                    m.id, m.name, m.description, m.category, m.subCategory, m.inStock, m.leadTimeDays, m.unitType,
+                    m.unitPrice, m.vendor.id, m.version)
+                FROM MaterialCatalog m
+            """;
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query(value = SELECT_DTO, countQuery = "SELECT COUNT(m) FROM MaterialCatalog m")
+    Page<MaterialCatalogDTO> findAllDTOs(Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query(SELECT_DTO + "WHERE m.id = :id")
+    Optional<MaterialCatalogDTO> findDTOById(@Param("id") Long id);
+
+    @Query("SELECT m.id FROM MaterialCatalog m WHERE m.id IN :ids")
+    Set<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Catalog entries whose vendor and name are among the given ones; callers match the exact
+     * (vendor, name) pairs themselves.
+     */
+    @Query("SELECT m FROM MaterialCatalog m JOIN FETCH m.vendor v WHERE v.id IN :vendorIds AND m.name IN :names")
+    List<MaterialCatalog> findAllByVendorIdsAndNames(@Param("vendorIds") Collection<Long> vendorIds,
+                                                     @Param("names") Collection<String> names);
+
+    /**
+     * Every material with its vendor name, for loading the search index. Must be consumed inside a
+     * transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("""
+                SELECT new io.fervo.takecost.projectestimation.material.MaterialSearchDocument(
+                    m.id, m.name, m.description, m.category, m.subCategory, v.id, v.name, m.unitType, m.unitPrice)
+                FROM MaterialCatalog m LEFT JOIN m.vendor v
+            """)
+    Stream<MaterialSearchDocument> streamSearchDocuments();
 
+    /**
+     * Every material id and name, for loading the autocomplete index. Must be consumed inside a
+     * transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new io.fervo.takecost.projectestimation.autocomplete.AutocompleteSuggestion(m.id, m.name) FROM MaterialCatalog m")
+    Stream<AutocompleteSuggestion> streamAutocompleteSuggestions();
 }
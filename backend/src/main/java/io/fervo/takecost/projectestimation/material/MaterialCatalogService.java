@@ -1,31 +1,62 @@
 package io.fervo.takecost.projectestimation.material;
 
+import io.fervo.takecost.projectestimation.autocomplete.AutocompleteIndex;
+import io.fervo.takecost.projectestimation.autocomplete.AutocompleteType;
+import io.fervo.takecost.projectestimation.responsecache.ReferenceDataChangedEvent;
+import io.fervo.takecost.projectestimation.responsecache.ReferenceListing;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
+@Timed(value = "service.invocations", histogram = true)
 @Service
 @RequiredArgsConstructor
 public class MaterialCatalogService {
     private final MaterialCatalogRepository repository;
+    private final MaterialSearchIndex searchIndex;
+    private final AutocompleteIndex autocompleteIndex;
+    private final ApplicationEventPublisher eventPublisher;
 
     public MaterialCatalog save(MaterialCatalog materialCatalog) {
-        return repository.save(materialCatalog);
+        if (materialCatalog.getId() != null) {
+            // A PUT replaces the entry as it is now; the client's copy carries no version to check.
+            materialCatalog.setVersion(repository.findById(materialCatalog.getId())
+                    .orElseThrow(() -> new IllegalArgumentException("Material not found"))
+                    .getVersion());
+        }
+        var saved = repository.save(materialCatalog);
+        searchIndex.index(MaterialSearchDocument.of(saved));
+        autocompleteIndex.put(AutocompleteType.MATERIAL, saved.getId(), saved.getName());
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(ReferenceListing.MATERIALS));
+        return saved;
     }
 
-    public MaterialCatalog getById(Long id) {
-        return repository.findById(id).orElseThrow(() -> new IllegalArgumentException("Material not found"));
+    public MaterialCatalogDTO getById(Long id) {
+        return repository.findDTOById(id).orElseThrow(() -> new IllegalArgumentException("Material not found"));
     }
 
     public void delete(Long id) {
         // TODO: Do not allow delete if material is being used in a project.
         repository.deleteById(id);
+        searchIndex.remove(id);
+        autocompleteIndex.remove(AutocompleteType.MATERIAL, id);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(ReferenceListing.MATERIALS));
     }
 
-    public Page<MaterialCatalog> getAll(Pageable pageable) {
-        return repository.findAll(pageable);
+    public Page<MaterialCatalogDTO> getAll(Pageable pageable) {
+        return repository.findAllDTOs(pageable);
     }
 
-    // TODO: Add method searchMaterials
+    /**
+     * Typo-tolerant search over name, description, category, sub-category and vendor name, best
+     * matches first.
+     */
+    public List<MaterialSearchHit> searchMaterials(String query, String category, Long vendorId, int limit) {
+        return searchIndex.search(query, category, vendorId, limit);
+    }
 }
@@ -0,0 +1,256 @@
+package io.fervo.takecost.projectestimation.material;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import io.fervo.takecost.projectestimation.autocomplete.AutocompleteIndex;
+import io.fervo.takecost.projectestimation.autocomplete.AutocompleteType;
+import io.fervo.takecost.projectestimation.responsecache.ReferenceDataChangedEvent;
+import io.fervo.takecost.projectestimation.responsecache.ReferenceListing;
+import io.fervo.takecost.projectestimation.vendor.VendorRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Imports vendor price lists into the material catalog. The body is parsed row by row and written
+ * in chunks of {@value #CHUNK_SIZE} rows, each chunk in its own transaction, so neither the file
+ * nor the transaction grows with the size of the price list. A failed chunk does not undo the
+ * chunks committed before it.
+ */
+@Slf4j
+@Service
+public class MaterialPriceListImporter {
+    static final int CHUNK_SIZE = 1000;
+    private static final int MAX_REPORTED_REJECTIONS = 100;
+
+    private final MaterialCatalogRepository repository;
+    private final VendorRepository vendorRepository;
+    private final MaterialSearchIndex searchIndex;
+    private final AutocompleteIndex autocompleteIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ObjectReader csvReader;
+    private final ObjectReader ndjsonReader;
+
+    public MaterialPriceListImporter(MaterialCatalogRepository repository,
+                                     VendorRepository vendorRepository,
+                                     MaterialSearchIndex searchIndex,
+                                     AutocompleteIndex autocompleteIndex,
+                                     ApplicationEventPublisher eventPublisher,
+                                     EntityManager entityManager,
+                                     PlatformTransactionManager transactionManager,
+                                     Validator validator,
+                                     ObjectMapper objectMapper) {
+        this.repository = repository;
+        this.vendorRepository = vendorRepository;
+        this.searchIndex = searchIndex;
+        this.autocompleteIndex = autocompleteIndex;
+        this.eventPublisher = eventPublisher;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.validator = validator;
+        this.csvReader = new CsvMapper()
+                .enable(CsvParser.Feature.EMPTY_STRING_AS_NULL)
+                .enable(CsvParser.Feature.TRIM_SPACES)
+                .readerFor(PriceListRow.class)
+                .with(CsvSchema.emptySchema().withHeader())
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        this.ndjsonReader = objectMapper
+                .readerFor(PriceListRow.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    }
+
+    /**
+     * @param vendorId vendor for rows that do not name one; may be null
+     */
+    public PriceListImportReport importPriceList(InputStream body, PriceListFormat format, Long vendorId) throws IOException {
+        var progress = new Progress();
+        var reader = format == PriceListFormat.CSV ? csvReader : ndjsonReader;
+        var chunk = new ArrayList<IndexedRow>(CHUNK_SIZE);
+        var complete = true;
+
+        try (MappingIterator<PriceListRow> rows = reader.readValues(body)) {
+            while (true) {
+                PriceListRow row;
+                try {
+                    if (!rows.hasNextValue()) {
+                        break;
+                    }
+                    row = rows.nextValue();
+                } catch (JsonMappingException e) {
+                    // A well-formed row with bad values; the iterator resumes at the next row.
+                    progress.reject(++progress.rowsRead, e.getOriginalMessage());
+                    continue;
+                } catch (JsonProcessingException e) {
+                    // Malformed input; there is no reliable way to find the next row.
+                    progress.reject(++progress.rowsRead, e.getOriginalMessage());
+                    complete = false;
+                    break;
+                }
+
+                var rowNumber = ++progress.rowsRead;
+                if (row.vendorId() == null && vendorId != null) {
+                    row = row.withVendorId(vendorId);
+                }
+                var error = validate(row);
+                if (error != null) {
+                    progress.reject(rowNumber, error);
+                    continue;
+                }
+                chunk.add(new IndexedRow(rowNumber, row));
+                if (chunk.size() == CHUNK_SIZE) {
+                    writeChunk(chunk, progress);
+                    chunk.clear();
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            writeChunk(chunk, progress);
+        }
+
+        log.info("Price list import finished (complete: {}): {} rows read, {} inserted, {} updated, {} rejected",
+                complete, progress.rowsRead, progress.inserted, progress.updated, progress.rejected);
+        return new PriceListImportReport(complete, progress.rowsRead, progress.inserted, progress.updated,
+                progress.rejected, List.copyOf(progress.rejectedRows));
+    }
+
+    private String validate(PriceListRow row) {
+        if (row.vendorId() == null) {
+            return "vendorId: Vendor ID cannot be null";
+        }
+        return validator.validate(row).stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .findFirst()
+                .orElse(null);
+    }
+
+    private void writeChunk(List<IndexedRow> chunk, Progress progress) {
+        var written = transactionTemplate.execute(status -> upsert(chunk, progress));
+        // Only committed rows become searchable.
+        searchIndex.indexAll(written);
+        written.forEach(document -> autocompleteIndex.put(AutocompleteType.MATERIAL, document.id(), document.name()));
+        if (!written.isEmpty()) {
+            eventPublisher.publishEvent(new ReferenceDataChangedEvent(ReferenceListing.MATERIALS));
+        }
+        log.info("Price list import progress: {} rows read, {} inserted, {} updated, {} rejected",
+                progress.rowsRead, progress.inserted, progress.updated, progress.rejected);
+    }
+
+    /**
+     * Upserts one chunk with one vendor lookup and one catalog lookup. When a chunk names the
+     * same (vendor, name) twice, the later row wins.
+     */
+    private List<MaterialSearchDocument> upsert(List<IndexedRow> chunk, Progress progress) {
+        var vendorIds = chunk.stream().map(indexed -> indexed.row().vendorId()).collect(Collectors.toSet());
+        var knownVendorIds = vendorRepository.findExistingIds(vendorIds);
+
+        var latest = new LinkedHashMap<Key, IndexedRow>();
+        for (var indexed : chunk) {
+            if (!knownVendorIds.contains(indexed.row().vendorId())) {
+                progress.reject(indexed.rowNumber(), "vendorId: Vendor not found with ID: " + indexed.row().vendorId());
+                continue;
+            }
+            latest.put(Key.of(indexed.row()), indexed);
+        }
+        if (latest.isEmpty()) {
+            return List.of();
+        }
+
+        var names = latest.keySet().stream().map(Key::name).collect(Collectors.toSet());
+        Map<Key, MaterialCatalog> existing = repository.findAllByVendorIdsAndNames(knownVendorIds, names).stream()
+                .sorted(Comparator.comparing(MaterialCatalog::getId))
+                .collect(Collectors.toMap(material -> new Key(material.getVendor().getId(), material.getName()),
+                        Function.identity(), (first, duplicate) -> first));
+
+        var now = LocalDateTime.now();
+        var written = new ArrayList<MaterialSearchDocument>(latest.size());
+        for (var entry : latest.entrySet()) {
+            var row = entry.getValue().row();
+            var material = existing.get(entry.getKey());
+            if (material == null) {
+                material = MaterialCatalog.builder()
+                        .name(row.name())
+                        .vendor(vendorRepository.getReferenceById(row.vendorId()))
+                        .inStock(0)
+                        .leadTimeDays(0)
+                        .createdAt(now)
+                        .build();
+                apply(material, row, now);
+                entityManager.persist(material);
+                progress.inserted++;
+            } else {
+                apply(material, row, now);
+                progress.updated++;
+            }
+            written.add(MaterialSearchDocument.of(material));
+        }
+        // The persistence context may outlive this transaction (open-in-view), so drop the chunk from it.
+        entityManager.flush();
+        entityManager.clear();
+        return written;
+    }
+
+    private static void apply(MaterialCatalog material, PriceListRow row, LocalDateTime now) {
+        material.setCategory(row.category());
+        material.setUnitType(row.unitType());
+        material.setUnitPrice(row.unitPrice());
+        material.setDescription(orKeep(row.description(), material.getDescription()));
+        material.setSubCategory(orKeep(row.subCategory(), material.getSubCategory()));
+        material.setInStock(orKeep(row.inStock(), material.getInStock()));
+        material.setLeadTimeDays(orKeep(row.leadTimeDays(), material.getLeadTimeDays()));
+        material.setUpdatedAt(now);
+    }
+
+    private static <T> T orKeep(T imported, T current) {
+        return imported != null ? imported : current;
+    }
+
+    private record IndexedRow(long rowNumber, PriceListRow row) {
+    }
+
+    private record Key(Long vendorId, String name) {
+        static Key of(PriceListRow row) {
+            return new Key(row.vendorId(), row.name());
+        }
+    }
+
+    private static final class Progress {
+        long rowsRead;
+        long inserted;
+        long updated;
+        long rejected;
+        final List<PriceListImportReport.RejectedRow> rejectedRows = new ArrayList<>();
+
+        void reject(long row, String error) {
+            rejected++;
+            if (rejectedRows.size() < MAX_REPORTED_REJECTIONS) {
+                rejectedRows.add(new PriceListImportReport.RejectedRow(row, error));
+            }
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package io.fervo.takecost.projectestimation.material;
+
+import org.hibernate.Hibernate;
+
+import java.math.BigDecimal;
+
+/**
+ * The catalog fields the search index keeps per material.
+ */
+public record MaterialSearchDocument(
+        Long id,
+        String name,
+        String description,
+        String category,
+        String subCategory,
+        Long vendorId,
+        String vendorName,
+        String unitType,
+        BigDecimal unitPrice
+) {
+    /**
+     * The vendor name is only read from a loaded vendor; otherwise the index fills it in from the
+     * vendor names it already knows.
+     */
+    static MaterialSearchDocument of(MaterialCatalog material) {
+        var vendor = material.getVendor();
+        var vendorName = vendor != null && Hibernate.isInitialized(vendor) ? vendor.getName() : null;
+        return new MaterialSearchDocument(material.getId(), material.getName(), material.getDescription(),
+                material.getCategory(), material.getSubCategory(), vendor == null ? null : vendor.getId(),
+                vendorName, material.getUnitType(), material.getUnitPrice());
+    }
+
+    MaterialSearchDocument withVendorName(String vendorName) {
+        return new MaterialSearchDocument(id, name, description, category, subCategory, vendorId, vendorName, unitType, unitPrice);
+    }
+}
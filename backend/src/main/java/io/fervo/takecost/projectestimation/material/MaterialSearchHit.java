@@ -0,0 +1,35 @@
+package io.fervo.takecost.projectestimation.material;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+
+public record MaterialSearchHit(
+        @Schema(description = "Unique identifier for the material", example = "1")
+        Long id,
+
+        @Schema(description = "Material's name", example = "Concrete")
+        String name,
+
+        @Schema(description = "Material's category", example = "Construction")
+        String category,
+
+        @Schema(description = "Material's sub-category", example = "Cement")
+        String subCategory,
+
+        @Schema(description = "Material's vendor ID", example = "5")
+        Long vendorId,
+
+        @Schema(description = "Material's vendor name", example = "Vendor A")
+        String vendorName,
+
+        @Schema(description = "Material's unit type", example = "kg")
+        String unitType,
+
+        @Schema(description = "Price per unit", example = "12.5")
+        BigDecimal unitPrice,
+
+        @Schema(description = "Relevance of the match; higher is better", example = "3.42")
+        double score
+) {
+}
@@ -0,0 +1,518 @@
+package io.fervo.takecost.projectestimation.material;
+
+import io.fervo.takecost.projectestimation.vendor.VendorChangedEvent;
+import io.fervo.takecost.projectestimation.vendor.VendorRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory trigram index over the material catalog for typo-tolerant search.
+ *
+ * <p>Every material gets a slot; each trigram of its name, description, category, sub-category
+ * and vendor name maps to the slots containing it. A query collects the slots sharing enough of
+ * its trigrams, then ranks those candidates by per-field trigram overlap, weighting the name
+ * highest. Updates append a new slot and retire the old one; retired slots are dropped by an
+ * occasional rebuild.
+ */
+@Slf4j
+@Component
+public class MaterialSearchIndex {
+    private static final double NAME_WEIGHT = 3.0;
+    private static final double CATEGORY_WEIGHT = 1.5;
+    private static final double VENDOR_WEIGHT = 1.0;
+    private static final double DESCRIPTION_WEIGHT = 0.5;
+    private static final double NAME_PREFIX_BONUS = 1.0;
+    // Share of the query's trigrams a material must contain to be considered at all.
+    private static final double MIN_OVERLAP = 0.5;
+    // Only the candidates with the highest overlap are scored, which bounds the cost of short queries.
+    private static final int MAX_CANDIDATES = 2000;
+    private static final int LOAD_BATCH_SIZE = 10_000;
+    private static final int MIN_RETIRED_SLOTS_FOR_REBUILD = 10_000;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<Entry> slots = new ArrayList<>();
+    private final Map<Long, Integer> slotById = new HashMap<>();
+    private final Map<Long, IntList> postings = new HashMap<>();
+    private final Map<Long, String> vendorNames = new HashMap<>();
+    // Trigrams of low-cardinality fields (categories, vendor names), shared between entries.
+    private final Map<String, long[]> sharedTrigrams = new HashMap<>();
+    private int retiredSlots;
+    // Entries indexed or removed while load() pages through the catalog; its older rows for them are skipped.
+    private Set<Long> changedWhileLoading;
+
+    private final ThreadLocal<int[]> overlapCounts = ThreadLocal.withInitial(() -> new int[0]);
+
+    private final MaterialCatalogRepository repository;
+    private final VendorRepository vendorRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Timer searchTimer;
+
+    public MaterialSearchIndex(MaterialCatalogRepository repository,
+                               VendorRepository vendorRepository,
+                               PlatformTransactionManager transactionManager,
+                               MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.vendorRepository = vendorRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.searchTimer = Timer.builder("material.search")
+                .description("Latency of material catalog searches")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        Gauge.builder("material.search.documents", this, MaterialSearchIndex::size)
+                .description("Materials in the search index")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param category exact category to restrict to (case-insensitive), or null
+     * @param vendorId vendor to restrict to, or null
+     */
+    public List<MaterialSearchHit> search(String query, String category, Long vendorId, int limit) {
+        return searchTimer.record(() -> doSearch(query, category, vendorId, limit));
+    }
+
+    public void index(MaterialSearchDocument document) {
+        lock.writeLock().lock();
+        try {
+            if (changedWhileLoading != null) {
+                changedWhileLoading.add(document.id());
+            }
+            retire(document.id());
+            add(document);
+            rebuildIfSparse();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void indexAll(Collection<MaterialSearchDocument> documents) {
+        lock.writeLock().lock();
+        try {
+            for (var document : documents) {
+                if (changedWhileLoading != null) {
+                    changedWhileLoading.add(document.id());
+                }
+                retire(document.id());
+                add(document);
+            }
+            rebuildIfSparse();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            if (changedWhileLoading != null) {
+                changedWhileLoading.add(id);
+            }
+            retire(id);
+            rebuildIfSparse();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slotById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Vendor names are indexed with their materials, so a rename re-indexes the vendor's materials.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onVendorChanged(VendorChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (event.name() == null) {
+                vendorNames.remove(event.vendorId());
+                return;
+            }
+            if (event.name().equals(vendorNames.put(event.vendorId(), event.name()))) {
+                return;
+            }
+            var renamed = slots.stream()
+                    .filter(entry -> entry != null && event.vendorId().equals(entry.document().vendorId()))
+                    .map(entry -> entry.document().withVendorName(event.name()))
+                    .toList();
+            renamed.forEach(document -> {
+                retire(document.id());
+                add(document);
+            });
+            rebuildIfSparse();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        var start = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            changedWhileLoading = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                var vendors = vendorRepository.findAll();
+                lock.writeLock().lock();
+                try {
+                    vendors.forEach(vendor -> vendorNames.putIfAbsent(vendor.getId(), vendor.getName()));
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                try (var documents = repository.streamSearchDocuments()) {
+                    var batch = new ArrayList<MaterialSearchDocument>(LOAD_BATCH_SIZE);
+                    documents.forEach(document -> {
+                        batch.add(document);
+                        if (batch.size() == LOAD_BATCH_SIZE) {
+                            loadBatch(batch);
+                            batch.clear();
+                        }
+                    });
+                    loadBatch(batch);
+                }
+            });
+        } finally {
+            lock.writeLock().lock();
+            try {
+                changedWhileLoading = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        log.info("Indexed {} materials for search in {} ms", size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void loadBatch(List<MaterialSearchDocument> batch) {
+        lock.writeLock().lock();
+        try {
+            for (var document : batch) {
+                if (!changedWhileLoading.contains(document.id())) {
+                    retire(document.id());
+                    add(document);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private List<MaterialSearchHit> doSearch(String query, String category, Long vendorId, int limit) {
+        var normalizedQuery = SearchText.normalize(query);
+        var queryTrigrams = trigrams(normalizedQuery);
+        if (queryTrigrams.length == 0 || limit <= 0) {
+            return List.of();
+        }
+        var normalizedCategory = category == null ? null : SearchText.normalize(category);
+        var minOverlap = Math.max(1, (int) Math.ceil(queryTrigrams.length * MIN_OVERLAP));
+
+        lock.readLock().lock();
+        try {
+            var lists = new IntList[queryTrigrams.length];
+            var present = 0;
+            for (var trigram : queryTrigrams) {
+                var slotsWithTrigram = postings.get(trigram);
+                if (slotsWithTrigram != null) {
+                    lists[present++] = slotsWithTrigram;
+                }
+            }
+            if (present < minOverlap) {
+                return List.of();
+            }
+            Arrays.sort(lists, 0, present, Comparator.comparingInt(list -> list.size));
+
+            // A slot sharing minOverlap trigrams must contain one of the (present - minOverlap + 1) rarest,
+            // so only those lists are walked to find candidates.
+            var counts = overlapCounts(slots.size());
+            var touched = new IntList();
+            var rarest = present - minOverlap + 1;
+            for (int l = 0; l < rarest; l++) {
+                var list = lists[l];
+                for (int i = 0; i < list.size; i++) {
+                    if (counts[list.values[i]]++ == 0) {
+                        touched.add(list.values[i]);
+                    }
+                }
+            }
+            // The common lists only add to the overlap of known candidates. Slots are appended in
+            // increasing order, so every list is sorted and can be probed instead of walked.
+            for (int l = rarest; l < present; l++) {
+                var list = lists[l];
+                if ((long) touched.size * (32 - Integer.numberOfLeadingZeros(list.size)) < list.size) {
+                    for (int i = 0; i < touched.size; i++) {
+                        if (Arrays.binarySearch(list.values, 0, list.size, touched.values[i]) >= 0) {
+                            counts[touched.values[i]]++;
+                        }
+                    }
+                } else {
+                    for (int i = 0; i < list.size; i++) {
+                        if (counts[list.values[i]] > 0) {
+                            counts[list.values[i]]++;
+                        }
+                    }
+                }
+            }
+
+            var candidates = new IntList();
+            var candidateOverlaps = new IntList();
+            var overlapHistogram = new int[queryTrigrams.length + 1];
+            for (int i = 0; i < touched.size; i++) {
+                var slot = touched.values[i];
+                var overlap = counts[slot];
+                counts[slot] = 0;
+                if (overlap < minOverlap) {
+                    continue;
+                }
+                var entry = slots.get(slot);
+                if (entry == null
+                        || (vendorId != null && !vendorId.equals(entry.document().vendorId()))
+                        || (normalizedCategory != null && !normalizedCategory.equals(entry.category()))) {
+                    continue;
+                }
+                candidates.add(slot);
+                candidateOverlaps.add(overlap);
+                overlapHistogram[overlap]++;
+            }
+
+            // Score the candidates with the highest overlap first, at most MAX_CANDIDATES of them: all
+            // above the cut-off level, then as many at the cut-off level as still fit.
+            var cutOff = minOverlap;
+            for (int overlap = queryTrigrams.length, kept = 0; overlap >= minOverlap; overlap--) {
+                kept += overlapHistogram[overlap];
+                if (kept >= MAX_CANDIDATES) {
+                    cutOff = overlap;
+                    break;
+                }
+            }
+            var best = new PriorityQueue<ScoredSlot>(limit + 1, Comparator.comparingDouble(ScoredSlot::score));
+            var scored = 0;
+            for (var atCutOff : new boolean[]{false, true}) {
+                for (int i = 0; i < candidates.size && scored < MAX_CANDIDATES; i++) {
+                    var overlap = candidateOverlaps.values[i];
+                    if (atCutOff ? overlap != cutOff : overlap <= cutOff) {
+                        continue;
+                    }
+                    var slot = candidates.values[i];
+                    scored++;
+                    var entry = slots.get(slot);
+                    var score = scoreWithoutDescription(entry, normalizedQuery, queryTrigrams);
+                    // The description can add at most DESCRIPTION_WEIGHT; skip re-tokenizing it when
+                    // even that would not make the top results.
+                    if (best.size() == limit && score + DESCRIPTION_WEIGHT <= best.peek().score()) {
+                        continue;
+                    }
+                    score += DESCRIPTION_WEIGHT * coverage(queryTrigrams, trigrams(entry.description()));
+                    best.add(new ScoredSlot(slot, score));
+                    if (best.size() > limit) {
+                        best.poll();
+                    }
+                }
+            }
+
+            var hits = new ArrayList<MaterialSearchHit>(best.size());
+            for (var hit : best) {
+                var document = slots.get(hit.slot()).document();
+                hits.add(new MaterialSearchHit(document.id(), document.name(), document.category(),
+                        document.subCategory(), document.vendorId(), document.vendorName(), document.unitType(),
+                        document.unitPrice(), Math.round(hit.score() * 100) / 100.0));
+            }
+            hits.sort(Comparator.comparingDouble(MaterialSearchHit::score).reversed()
+                    .thenComparing(MaterialSearchHit::name, Comparator.nullsLast(Comparator.naturalOrder())));
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static double scoreWithoutDescription(Entry entry, String normalizedQuery, long[] queryTrigrams) {
+        var nameTrigrams = entry.nameTrigrams();
+        var nameShared = shared(queryTrigrams, nameTrigrams);
+        // Coverage of the query, blended with how much of the name the query explains.
+        var score = NAME_WEIGHT * (0.7 * nameShared / queryTrigrams.length
+                + 0.3 * (nameTrigrams.length == 0 ? 0 : (double) nameShared / nameTrigrams.length));
+        score += CATEGORY_WEIGHT * Math.max(
+                coverage(queryTrigrams, entry.categoryTrigrams()), coverage(queryTrigrams, entry.subCategoryTrigrams()));
+        score += VENDOR_WEIGHT * coverage(queryTrigrams, entry.vendorTrigrams());
+        if (entry.name().startsWith(normalizedQuery)) {
+            score += NAME_PREFIX_BONUS;
+        }
+        return score;
+    }
+
+    private static double coverage(long[] queryTrigrams, long[] sortedFieldTrigrams) {
+        return sortedFieldTrigrams.length == 0 ? 0 : (double) shared(queryTrigrams, sortedFieldTrigrams) / queryTrigrams.length;
+    }
+
+    private static int shared(long[] queryTrigrams, long[] sortedFieldTrigrams) {
+        var shared = 0;
+        for (var trigram : queryTrigrams) {
+            if (Arrays.binarySearch(sortedFieldTrigrams, trigram) >= 0) {
+                shared++;
+            }
+        }
+        return shared;
+    }
+
+    private int[] overlapCounts(int slotCount) {
+        var counts = overlapCounts.get();
+        if (counts.length < slotCount) {
+            counts = new int[Math.max(slotCount, counts.length + (counts.length >> 1))];
+            overlapCounts.set(counts);
+        }
+        return counts;
+    }
+
+    private void add(MaterialSearchDocument document) {
+        if (document.vendorId() != null) {
+            if (document.vendorName() != null) {
+                vendorNames.put(document.vendorId(), document.vendorName());
+            } else {
+                document = document.withVendorName(vendorNames.get(document.vendorId()));
+            }
+        }
+        var name = SearchText.normalize(document.name());
+        var description = SearchText.normalize(document.description());
+        var entry = new Entry(document, name, description, SearchText.normalize(document.category()), trigrams(name),
+                sharedTrigrams(document.category()), sharedTrigrams(document.subCategory()),
+                sharedTrigrams(document.vendorName()));
+        var slot = slots.size();
+        slots.add(entry);
+        slotById.put(document.id(), slot);
+
+        var fields = new long[][]{entry.nameTrigrams(), trigrams(description), entry.categoryTrigrams(),
+                entry.subCategoryTrigrams(), entry.vendorTrigrams()};
+        for (var trigram : union(fields)) {
+            postings.computeIfAbsent(trigram, key -> new IntList()).add(slot);
+        }
+    }
+
+    private long[] sharedTrigrams(String text) {
+        return text == null ? new long[0] : sharedTrigrams.computeIfAbsent(text, key -> trigrams(SearchText.normalize(key)));
+    }
+
+    private void retire(Long id) {
+        var slot = slotById.remove(id);
+        if (slot != null) {
+            slots.set(slot, null);
+            retiredSlots++;
+        }
+    }
+
+    private void rebuildIfSparse() {
+        if (retiredSlots < MIN_RETIRED_SLOTS_FOR_REBUILD || retiredSlots < slotById.size()) {
+            return;
+        }
+        var live = slots.stream().filter(entry -> entry != null).map(Entry::document).toList();
+        slots.clear();
+        slotById.clear();
+        postings.clear();
+        sharedTrigrams.clear();
+        retiredSlots = 0;
+        live.forEach(this::add);
+        log.debug("Rebuilt material search index with {} materials", live.size());
+    }
+
+    private static long[] union(long[][] sortedArrays) {
+        var length = 0;
+        for (var array : sortedArrays) {
+            length += array.length;
+        }
+        var all = new long[length];
+        var offset = 0;
+        for (var array : sortedArrays) {
+            System.arraycopy(array, 0, all, offset, array.length);
+            offset += array.length;
+        }
+        return distinctSorted(all);
+    }
+
+    /**
+     * Distinct, sorted trigrams of normalized text. Each word is padded like {@code pg_trgm}
+     * ("  word "), so word starts weigh more and one- or two-letter words still match.
+     */
+    static long[] trigrams(String normalized) {
+        if (normalized.isEmpty()) {
+            return new long[0];
+        }
+        var result = new long[normalized.length() + 2];
+        var count = 0;
+        long window = ((long) ' ' << 16) | ' ';
+        for (int i = 0; i <= normalized.length(); i++) {
+            var c = i < normalized.length() ? normalized.charAt(i) : ' ';
+            // Sliding over "  word " without building the padded string; a space closes the word.
+            window = ((window << 16) | c) & 0xFFFF_FFFF_FFFFL;
+            result[count++] = window;
+            if (c == ' ') {
+                window = ((long) ' ' << 16) | ' ';
+            }
+        }
+        return distinctSorted(Arrays.copyOf(result, count));
+    }
+
+    private static long[] distinctSorted(long[] values) {
+        if (values.length == 0) {
+            return values;
+        }
+        Arrays.sort(values);
+        var distinct = 1;
+        for (int i = 1; i < values.length; i++) {
+            if (values[i] != values[distinct - 1]) {
+                values[distinct++] = values[i];
+            }
+        }
+        return distinct == values.length ? values : Arrays.copyOf(values, distinct);
+    }
+
+    // Name trigrams are kept for scoring; description trigrams are recomputed, they would cost too much memory.
+    private record Entry(MaterialSearchDocument document, String name, String description, String category,
+                         long[] nameTrigrams,
+                         long[] categoryTrigrams, long[] subCategoryTrigrams, long[] vendorTrigrams) {
+    }
+
+    private record ScoredSlot(int slot, double score) {
+    }
+
+    private static final class IntList {
+        int[] values = new int[4];
+        int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size << 1);
+            }
+            values[size++] = value;
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package io.fervo.takecost.projectestimation.material;
+
+public enum PriceListFormat {
+    /** Comma-separated with a header row naming the {@link PriceListRow} fields. */
+    CSV,
+    /** One JSON object per line. */
+    NDJSON
+}
@@ -0,0 +1,35 @@
+package io.fervo.takecost.projectestimation.material;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+public record PriceListImportReport(
+        @Schema(description = "Whether the whole file was read; false if it was cut short by a syntax error", example = "true")
+        boolean complete,
+
+        @Schema(description = "Number of data rows read", example = "250000")
+        long rowsRead,
+
+        @Schema(description = "Number of new catalog entries", example = "1200")
+        long inserted,
+
+        @Schema(description = "Number of existing catalog entries updated", example = "248700")
+        long updated,
+
+        @Schema(description = "Number of rows skipped as invalid", example = "100")
+        long rejected,
+
+        @Schema(description = "The first rejected rows, with the reason (capped at 100)")
+        List<RejectedRow> rejectedRows
+) {
+
+    public record RejectedRow(
+            @Schema(description = "1-based position of the row among the data rows", example = "17")
+            long row,
+
+            @Schema(description = "Why the row was skipped", example = "unitPrice: Unit price cannot be negative")
+            String error
+    ) {
+    }
+}
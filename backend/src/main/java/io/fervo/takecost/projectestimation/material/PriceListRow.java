@@ -0,0 +1,48 @@
+package io.fervo.takecost.projectestimation.material;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
+
+import java.math.BigDecimal;
+
+/**
+ * One row of a vendor price list. Rows are matched to catalog entries by (vendorId, name); blank
+ * optional cells keep the value already stored.
+ */
+public record PriceListRow(
+        Long vendorId,
+
+        @NotBlank(message = "Material name cannot be blank")
+        @Size(max = 255, message = "Material name cannot exceed 255 characters")
+        String name,
+
+        @Size(max = 500, message = "Material description cannot exceed 500 characters")
+        String description,
+
+        @NotBlank(message = "Category cannot be blank")
+        @Size(max = 255, message = "Category cannot exceed 255 characters")
+        String category,
+
+        @Size(max = 255, message = "Sub-category cannot exceed 255 characters")
+        String subCategory,
+
+        @NotBlank(message = "Unit type cannot be blank")
+        @Size(max = 50, message = "Unit type cannot exceed 50 characters")
+        String unitType,
+
+        @NotNull(message = "Unit price cannot be null")
+        @PositiveOrZero(message = "Unit price cannot be negative")
+        BigDecimal unitPrice,
+
+        @PositiveOrZero(message = "Stock quantity cannot be negative")
+        Integer inStock,
+
+        @PositiveOrZero(message = "Lead time cannot be negative")
+        Integer leadTimeDays
+) {
+    PriceListRow withVendorId(Long vendorId) {
+        return new PriceListRow(vendorId, name, description, category, subCategory, unitType, unitPrice, inStock, leadTimeDays);
+    }
+}
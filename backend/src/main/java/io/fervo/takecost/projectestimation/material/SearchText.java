@@ -0,0 +1,30 @@
+package io.fervo.takecost.projectestimation.material;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Text normalization shared by the catalog search index and the autocomplete indexes, so a query
+ * matches the same way in both.
+ */
+public final class SearchText {
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private SearchText() {
+    }
+
+    /**
+     * Lower-cases the text, strips diacritics and collapses every run of characters other than
+     * letters and digits to one space; "Copper-Pipe 15MM" becomes "copper pipe 15mm".
+     */
+    public static String normalize(String text) {
+        if (text == null || text.isBlank()) {
+            return "";
+        }
+        var decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        var plain = DIACRITICS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+        return SEPARATORS.matcher(plain).replaceAll(" ").trim();
+    }
+}
@@ -0,0 +1,40 @@
+package io.fervo.takecost.projectestimation.pagination;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One slice of a keyset-paginated listing. Unlike {@code Page} it carries no total count, so
+ * fetching it never runs a {@code COUNT(*)}.
+ */
+public record CursorPage<T>(
+        @Schema(description = "Rows of this slice")
+        List<T> content,
+
+        @Schema(description = "Requested slice size", example = "10")
+        int size,
+
+        @Schema(description = "Whether more rows follow this slice", example = "true")
+        boolean hasNext,
+
+        @Schema(description = "Opaque token to pass as 'cursor' for the next slice, null on the last slice")
+        String nextCursor
+) {
+
+    /**
+     * Builds a slice from a query that fetched one row more than {@code size}; the extra row only
+     * signals that another slice exists.
+     */
+    public static <T> CursorPage<T> of(List<T> rows, int size, Function<T, SeekCursor> cursorOf) {
+        var hasNext = rows.size() > size;
+        var content = hasNext ? rows.subList(0, size) : rows;
+        var nextCursor = hasNext ? cursorOf.apply(content.get(content.size() - 1)).encode() : null;
+        return new CursorPage<>(content, size, hasNext, nextCursor);
+    }
+
+    public <R> CursorPage<R> map(Function<? super T, ? extends R> mapper) {
+        return new CursorPage<>(content.stream().<R>map(mapper).toList(), size, hasNext, nextCursor);
+    }
+}
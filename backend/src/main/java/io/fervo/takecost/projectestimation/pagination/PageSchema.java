@@ -0,0 +1,41 @@
+package io.fervo.takecost.projectestimation.pagination;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * OpenAPI shape of a serialized {@code Page}, for listings that write their page as pre-rendered
+ * bytes and so give springdoc no return type to inspect. Subclass it with the row type to document
+ * one listing; it is never instantiated.
+ */
+@Getter
+public abstract class PageSchema<T> {
+    @Schema(description = "Rows of this page")
+    private List<T> content;
+
+    @Schema(description = "Zero-based page number", example = "0")
+    private int number;
+
+    @Schema(description = "Requested page size", example = "10")
+    private int size;
+
+    @Schema(description = "Number of rows on this page", example = "10")
+    private int numberOfElements;
+
+    @Schema(description = "Number of rows across all pages", example = "42")
+    private long totalElements;
+
+    @Schema(description = "Number of pages", example = "5")
+    private int totalPages;
+
+    @Schema(description = "Whether this is the first page", example = "true")
+    private boolean first;
+
+    @Schema(description = "Whether this is the last page", example = "false")
+    private boolean last;
+
+    @Schema(description = "Whether this page has no rows", example = "false")
+    private boolean empty;
+}
@@ -0,0 +1,41 @@
+package io.fervo.takecost.projectestimation.pagination;
+
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position of the last row returned by a keyset (seek) query: its sort key, its id as tie-breaker,
+ * and the direction the listing runs in. Clients only see it as an opaque URL-safe token.
+ */
+public record SeekCursor(Sort.Direction direction, Long id, String key) {
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    public static SeekCursor afterId(Sort.Direction direction, Long id) {
+        return new SeekCursor(direction, id, null);
+    }
+
+    public String encode() {
+        var raw = (direction.isAscending() ? "A" : "D") + ":" + id + ":" + (key == null ? "" : key);
+        return ENCODER.encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException if the token was not produced by {@link #encode()}
+     */
+    public static SeekCursor decode(String token) {
+        try {
+            var parts = new String(DECODER.decode(token), StandardCharsets.UTF_8).split(":", 3);
+            if (parts.length != 3 || !(parts[0].equals("A") || parts[0].equals("D"))) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            var direction = parts[0].equals("A") ? Sort.Direction.ASC : Sort.Direction.DESC;
+            return new SeekCursor(direction, Long.valueOf(parts[1]), parts[2].isEmpty() ? null : parts[2]);
+        } catch (IllegalArgumentException e) {
+            // Also covers malformed Base64 and NumberFormatException.
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
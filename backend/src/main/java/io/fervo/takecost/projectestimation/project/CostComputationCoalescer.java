@@ -0,0 +1,57 @@
+package io.fervo.takecost.projectestimation.project;
+
+import io.fervo.takecost.projectestimation.project.model.CostBreakdown;
+import io.fervo.takecost.projectestimation.project.model.CostEstimate;
+import io.fervo.takecost.projectestimation.project.model.ProjectsSummary;
+import io.fervo.takecost.projectestimation.project.model.Versioned;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Shares one estimate, cost breakdown or summary computation between concurrent identical
+ * requests, e.g. a whole team opening the same project page. Callers that started after a
+ * {@link ProjectCostChangedEvent} was committed never join a computation that began before it.
+ */
+@Slf4j
+@Component
+public class CostComputationCoalescer {
+    private static final String SUMMARY_KEY = "all";
+
+    private final SingleFlight<Long, Versioned<CostEstimate>> estimates;
+    private final SingleFlight<Long, Versioned<CostBreakdown>> breakdowns;
+    private final SingleFlight<String, ProjectsSummary> summaries;
+
+    public CostComputationCoalescer(MeterRegistry meterRegistry,
+                                    @Value("${coalescing.max-keys}") int maxKeys,
+                                    @Value("${coalescing.timeout}") Duration timeout) {
+        this.estimates = new SingleFlight<>("project.estimate", maxKeys, timeout, meterRegistry);
+        this.breakdowns = new SingleFlight<>("project.cost-breakdown", maxKeys, timeout, meterRegistry);
+        this.summaries = new SingleFlight<>("projects.summary", maxKeys, timeout, meterRegistry);
+    }
+
+    public Versioned<CostEstimate> estimate(Long projectId, Supplier<Versioned<CostEstimate>> loader) {
+        return estimates.execute(projectId, loader);
+    }
+
+    public Versioned<CostBreakdown> breakdown(Long projectId, Supplier<Versioned<CostBreakdown>> loader) {
+        return breakdowns.execute(projectId, loader);
+    }
+
+    public ProjectsSummary summary(Supplier<ProjectsSummary> loader) {
+        return summaries.execute(SUMMARY_KEY, loader);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProjectCostChanged(ProjectCostChangedEvent event) {
+        log.debug("Starting new cost computations after cost change of projects {}", event.projectIds());
+        estimates.invalidate();
+        breakdowns.invalidate();
+        summaries.invalidate();
+    }
+}
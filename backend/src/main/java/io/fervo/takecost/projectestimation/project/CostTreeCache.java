@@ -0,0 +1,101 @@
+package io.fervo.takecost.projectestimation.project;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.fervo.takecost.projectestimation.dataset.DatasetGeneratedEvent;
+import io.fervo.takecost.projectestimation.project.model.CostTree;
+import io.fervo.takecost.projectestimation.responsecache.ReferenceDataChangedEvent;
+import io.fervo.takecost.projectestimation.vendor.VendorChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Keeps computed {@link CostTree}s. A project's tree is keyed by the cost version of its rollup, so
+ * any line change makes the next request compute a fresh one without an explicit invalidation.
+ * Portfolio trees cover many projects and are dropped on every {@link ProjectCostChangedEvent}, and
+ * on every {@link ProjectUpdatedEvent}, since a new status moves a project between filters.
+ * <p>
+ * Renaming a category, vendor or labor category regroups trees without touching any cost version,
+ * so reference data changes drop everything.
+ */
+@Slf4j
+@Component
+public class CostTreeCache {
+    private final Cache<Object, CostTree> trees;
+    private final AtomicLong referenceGeneration = new AtomicLong();
+    private final AtomicLong portfolioGeneration = new AtomicLong();
+
+    public CostTreeCache(MeterRegistry meterRegistry, @Value("${cost-tree-cache.max-entries}") long maxEntries) {
+        this.trees = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, trees, "cost.trees");
+    }
+
+    /**
+     * The tree of one project at the given cost version, computed on a miss. Concurrent misses for
+     * the same project and version share one computation.
+     */
+    public CostTree project(Long projectId, long costVersion, Supplier<CostTree> loader) {
+        return trees.get(new ProjectKey(projectId, costVersion, referenceGeneration.get()), ignored -> loader.get());
+    }
+
+    /**
+     * The tree over the projects matched by {@code filter}, computed on a miss.
+     */
+    public CostTree portfolio(String filter, Supplier<CostTree> loader) {
+        return trees.get(new PortfolioKey(filter, portfolioGeneration.get()), ignored -> loader.get());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProjectCostChanged(ProjectCostChangedEvent event) {
+        invalidatePortfolios();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProjectUpdated(ProjectUpdatedEvent event) {
+        invalidatePortfolios();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReferenceDataChanged(ReferenceDataChangedEvent event) {
+        invalidateAll();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onVendorChanged(VendorChangedEvent event) {
+        invalidateAll();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDatasetGenerated(DatasetGeneratedEvent event) {
+        invalidateAll();
+    }
+
+    public void invalidateAll() {
+        log.debug("Invalidating all cost trees");
+        // Bumped first, so a tree still being computed from the old data is stored under a dead key.
+        referenceGeneration.incrementAndGet();
+        portfolioGeneration.incrementAndGet();
+        trees.invalidateAll();
+    }
+
+    private void invalidatePortfolios() {
+        var current = portfolioGeneration.incrementAndGet();
+        trees.asMap().keySet().removeIf(key -> key instanceof PortfolioKey portfolio && portfolio.generation() < current);
+    }
+
+    private record ProjectKey(Long projectId, long costVersion, long generation) {
+    }
+
+    private record PortfolioKey(String filter, long generation) {
+    }
+}
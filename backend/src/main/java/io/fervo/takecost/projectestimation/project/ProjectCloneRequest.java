@@ -0,0 +1,13 @@
+package io.fervo.takecost.projectestimation.project;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+public record ProjectCloneRequest(
+        @Schema(description = "Name of the new project", example = "Downtown Tower - Phase 2")
+        @NotBlank(message = "Project name cannot be blank")
+        @Size(max = 255, message = "Project name cannot exceed 255 characters")
+        String name
+) {
+}
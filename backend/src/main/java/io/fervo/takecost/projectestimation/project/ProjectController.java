@@ -1,19 +1,29 @@
 package io.fervo.takecost.projectestimation.project;
 
+import io.fervo.takecost.projectestimation.conditional.ETags;
+import io.fervo.takecost.projectestimation.pagination.CursorPage;
 import io.fervo.takecost.projectestimation.project.model.CostBreakdown;
 import io.fervo.takecost.projectestimation.project.model.CostEstimate;
-import io.fervo.takecost.projectestimation.project.model.Project;
+import io.fervo.takecost.projectestimation.project.model.CostTree;
+import io.fervo.takecost.projectestimation.project.model.ProjectCostEstimate;
 import io.fervo.takecost.projectestimation.project.model.ProjectsSummary;
+import io.fervo.takecost.projectestimation.project.model.RollupDriftReport;
+import io.fervo.takecost.projectestimation.project.model.RollupRebuildResult;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -29,6 +39,8 @@ import java.util.List;
 @RequiredArgsConstructor
 @Tag(name = "Projects", description = "Handle project-level operations")
 public class ProjectController {
+    static final int MAX_SLICE_SIZE = 500;
+
     private final ProjectService service;
     private final ProjectMapper projectMapper;
 
@@ -44,7 +56,23 @@ public class ProjectController {
             @RequestParam(defaultValue = "asc") String order) {
         var pageable = PageRequest.of(page, size, Sort.by(order.equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC, "name"));
         log.info("Fetching projects with pagination: {}", pageable);
-        var projects = service.getAll(pageable).map(projectMapper::toDTO);
+        var projects = service.getAll(pageable);
+        return ResponseEntity.ok(projects);
+    }
+
+    @GetMapping("/scroll")
+    @Operation(summary = "Scroll through projects", description = "Fetch projects ordered by name one slice at a time, without a total count; pass the returned cursor to get the next slice")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved slice of projects"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or size")
+    })
+    @PreAuthorize("isFullyAuthenticated()")
+    public ResponseEntity<CursorPage<ProjectDTO>> scrollProjects(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") @Min(1) @Max(MAX_SLICE_SIZE) int size,
+            @RequestParam(defaultValue = "asc") String order) {
+        var direction = order.equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC;
+        var projects = service.scroll(cursor, size, direction);
         return ResponseEntity.ok(projects);
     }
 
@@ -52,12 +80,13 @@ public class ProjectController {
     @Operation(summary = "Get project by ID", description = "Retrieve a project by its unique ID")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Project retrieved successfully"),
+            @ApiResponse(responseCode = "304", description = "Project unchanged since the ETag in If-None-Match"),
             @ApiResponse(responseCode = "404", description = "Project not found")
     })
     @PreAuthorize("isFullyAuthenticated()")
     public ResponseEntity<ProjectDTO> getProject(@PathVariable Long id) {
-        var project = projectMapper.toDTO(service.getById(id));
-        return ResponseEntity.ok(project);
+        var project = service.getById(id);
+        return ResponseEntity.ok().eTag(ETags.of(project.version())).body(project);
     }
 
     @PostMapping
@@ -84,8 +113,20 @@ public class ProjectController {
     public ResponseEntity<ProjectDTO> updateProject(@PathVariable Long id, @Valid @RequestBody ProjectDTO projectDTO) {
         var project = projectMapper.toEntity(projectDTO);
         project.setId(id);
-        var updatedProject = service.save(project);
-        return ResponseEntity.ok(projectMapper.toDTO(updatedProject));
+        var updatedProject = projectMapper.toDTO(service.save(project));
+        return ResponseEntity.ok().eTag(ETags.of(updatedProject.version())).body(updatedProject);
+    }
+
+    @PostMapping("/{id}/clone")
+    @Operation(summary = "Clone a project", description = "Copy a project with all its material and labor lines under a new name")
+    @ApiResponses({
+            @ApiResponse(responseCode = "201", description = "Project cloned successfully"),
+            @ApiResponse(responseCode = "400", description = "Project not found or name already taken")
+    })
+    @PreAuthorize("hasRole('ADMIN') or hasRole('PROJECT_MANAGER')")
+    public ResponseEntity<ProjectDTO> cloneProject(@PathVariable Long id, @Valid @RequestBody ProjectCloneRequest request) {
+        var clone = projectMapper.toDTO(service.cloneProject(id, request.name()));
+        return ResponseEntity.status(HttpStatus.CREATED).body(clone);
     }
 
     @DeleteMapping("/{id}")
@@ -105,12 +146,70 @@ public class ProjectController {
     @Operation(summary = "Get project cost estimate", description = "Calculate the cost estimate for a specific project")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Cost estimate calculated successfully"),
+            @ApiResponse(responseCode = "304", description = "Costs unchanged since the ETag in If-None-Match"),
             @ApiResponse(responseCode = "404", description = "Project not found")
     })
     @PreAuthorize("isFullyAuthenticated()")
-    public ResponseEntity<CostEstimate> getCostEstimate(@PathVariable Long projectId) {
+    public ResponseEntity<CostEstimate> getCostEstimate(
+            @PathVariable Long projectId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        var unchanged = notModified(projectId, ifNoneMatch);
+        if (unchanged != null) {
+            return unchanged;
+        }
         var costEstimate = service.calculateCostEstimate(projectId);
-        return ResponseEntity.ok(costEstimate);
+        return ResponseEntity.ok().eTag(ETags.of(costEstimate.version())).body(costEstimate.body());
+    }
+
+    @GetMapping("/estimates")
+    @Operation(summary = "Get cost estimates for many projects", description = "Fetch the cost estimates of the given projects in one call; unknown IDs are skipped")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Cost estimates retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Too many or no project IDs")
+    })
+    @PreAuthorize("isFullyAuthenticated()")
+    public ResponseEntity<List<ProjectCostEstimate>> getCostEstimates(
+            @RequestParam
+            @NotEmpty(message = "Project IDs cannot be empty")
+            @Size(max = ProjectEstimatesRequest.MAX_PROJECTS, message = "Cannot estimate more than 1000 projects at once")
+            List<Long> ids) {
+        var estimates = service.calculateCostEstimates(ids);
+        return ResponseEntity.ok(estimates);
+    }
+
+    @PostMapping("/estimates")
+    @Operation(summary = "Get cost estimates for many projects", description = "Same as the GET variant, for ID lists too long for a query string")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Cost estimates retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Too many or no project IDs")
+    })
+    @PreAuthorize("isFullyAuthenticated()")
+    public ResponseEntity<List<ProjectCostEstimate>> postCostEstimates(@Valid @RequestBody ProjectEstimatesRequest request) {
+        var estimates = service.calculateCostEstimates(request.projectIds());
+        return ResponseEntity.ok(estimates);
+    }
+
+    @PostMapping("/{projectId}/estimate/rebuild")
+    @Operation(summary = "Rebuild project cost rollup", description = "Recompute the stored cost totals of a project from its line items and report any drift")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Cost rollup rebuilt successfully"),
+            @ApiResponse(responseCode = "400", description = "Project not found")
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<RollupRebuildResult> rebuildCostRollup(@PathVariable Long projectId) {
+        var result = service.rebuildCostRollup(projectId);
+        return ResponseEntity.ok(result);
+    }
+
+    @PostMapping("/estimate/rebuild")
+    @Operation(summary = "Rebuild drifted cost rollups", description = "Check every project for cost rollup drift and rebuild the ones that are out of sync")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Drift check completed successfully")
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<RollupDriftReport> rebuildDriftedCostRollups() {
+        var report = service.rebuildDriftedCostRollups();
+        return ResponseEntity.ok(report);
     }
 
     @GetMapping("/summary")
@@ -128,12 +227,43 @@ public class ProjectController {
     @Operation(summary = "Get project cost breakdown", description = "Fetch a breakdown of costs between materials and labor for a specific project")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Cost breakdown retrieved successfully"),
+            @ApiResponse(responseCode = "304", description = "Costs unchanged since the ETag in If-None-Match"),
             @ApiResponse(responseCode = "404", description = "Project not found")
     })
     @PreAuthorize("isFullyAuthenticated()")
-    public ResponseEntity<CostBreakdown> getCostBreakdown(@PathVariable Long projectId) {
+    public ResponseEntity<CostBreakdown> getCostBreakdown(
+            @PathVariable Long projectId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        var unchanged = notModified(projectId, ifNoneMatch);
+        if (unchanged != null) {
+            return unchanged;
+        }
         var breakdown = service.getCostBreakdown(projectId);
-        return ResponseEntity.ok(breakdown);
+        return ResponseEntity.ok().eTag(ETags.of(breakdown.version())).body(breakdown.body());
+    }
+
+    @GetMapping("/{projectId}/cost-tree")
+    @Operation(summary = "Get project cost tree", description = "Fetch the project's costs broken down by material category, sub-category and item, by vendor and by labor category")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Cost tree retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Project not found")
+    })
+    @PreAuthorize("isFullyAuthenticated()")
+    public ResponseEntity<CostTree> getCostTree(@PathVariable Long projectId) {
+        var costTree = service.getCostTree(projectId);
+        return ResponseEntity.ok(costTree);
+    }
+
+    @GetMapping("/cost-tree")
+    @Operation(summary = "Get portfolio cost tree", description = "Fetch the same breakdown over every project, or only the projects with the given status")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Cost tree retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Unknown status")
+    })
+    @PreAuthorize("isFullyAuthenticated()")
+    public ResponseEntity<CostTree> getPortfolioCostTree(@RequestParam(required = false) ProjectStatus status) {
+        var costTree = service.getPortfolioCostTree(status);
+        return ResponseEntity.ok(costTree);
     }
 
     @GetMapping("/upcoming")
@@ -142,8 +272,23 @@ public class ProjectController {
             @ApiResponse(responseCode = "200", description = "Upcoming projects retrieved successfully")
     })
     @PreAuthorize("isFullyAuthenticated()")
-    public ResponseEntity<List<Project>> getUpcomingProjects() {
+    public ResponseEntity<List<ProjectDTO>> getUpcomingProjects() {
         var upcomingProjects = service.getUpcomingProjects();
         return ResponseEntity.ok(upcomingProjects);
     }
+
+    /**
+     * A 304 if the client's copy still carries the project's current cost version, so the estimate
+     * and breakdown are only computed for clients that need them. {@code null} otherwise.
+     */
+    private <T> ResponseEntity<T> notModified(Long projectId, String ifNoneMatch) {
+        if (ifNoneMatch == null) {
+            return null;
+        }
+        return service.getCostVersion(projectId)
+                .map(ETags::of)
+                .filter(etag -> ETags.isNotModified(ifNoneMatch, etag))
+                .<ResponseEntity<T>>map(etag -> ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build())
+                .orElse(null);
+    }
 }
@@ -0,0 +1,14 @@
+package io.fervo.takecost.projectestimation.project;
+
+import java.util.List;
+
+/**
+ * Published whenever the cost rollup of one or more projects changes, including projects being
+ * created or deleted. Listeners that cache derived figures use it to invalidate them.
+ */
+public record ProjectCostChangedEvent(List<Long> projectIds) {
+
+    public static ProjectCostChangedEvent of(Long projectId) {
+        return new ProjectCostChangedEvent(List.of(projectId));
+    }
+}
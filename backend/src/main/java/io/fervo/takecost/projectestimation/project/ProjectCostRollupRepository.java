@@ -0,0 +1,120 @@
+package io.fervo.takecost.projectestimation.project;
+
+import io.fervo.takecost.projectestimation.project.model.ProjectCostRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface ProjectCostRollupRepository extends JpaRepository<ProjectCostRollup, Long> {
+
+    @Modifying
+    @Query(value = """
+                UPDATE project_cost_rollups
+                SET material_total = material_total + :amount,
+                    material_line_count = material_line_count + :lines,
+                    version = version + 1
+                WHERE project_id = :projectId
+            """, nativeQuery = true)
+    int addMaterialCost(@Param("projectId") Long projectId,
+                        @Param("amount") BigDecimal amount,
+                        @Param("lines") long lines);
+
+    @Modifying
+    @Query(value = """
+                UPDATE project_cost_rollups
+                SET labor_total = labor_total + :amount,
+                    labor_line_count = labor_line_count + :lines,
+                    version = version + 1
+                WHERE project_id = :projectId
+            """, nativeQuery = true)
+    int addLaborCost(@Param("projectId") Long projectId,
+                     @Param("amount") BigDecimal amount,
+                     @Param("lines") long lines);
+
+    /**
+     * Recomputes the rollups of the given projects from their line items. Materials and labor are
+     * aggregated separately before being joined to the project, so there is no row fan-out.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+                INSERT INTO project_cost_rollups (project_id, material_total, material_line_count, labor_total, labor_line_count)
+                SELECT p.id,
+                       COALESCE(m.total, 0),
+                       COALESCE(m.line_count, 0),
+                       COALESCE(l.total, 0),
+                       COALESCE(l.line_count, 0)
+                FROM projects p
+                LEFT JOIN (SELECT project_id, SUM(CAST(quantity AS NUMERIC) * unit_price) AS total, COUNT(*) AS line_count
+                           FROM project_materials
+                           WHERE project_id IN (:projectIds)
+                           GROUP BY project_id) m ON m.project_id = p.id
+                LEFT JOIN (SELECT project_id, SUM(hourly_rate * estimated_hours) AS total, COUNT(*) AS line_count
+                           FROM project_labor
+                           WHERE project_id IN (:projectIds)
+                           GROUP BY project_id) l ON l.project_id = p.id
+                WHERE p.id IN (:projectIds)
+                ON CONFLICT (project_id) DO UPDATE
+                SET material_total = EXCLUDED.material_total,
+                    material_line_count = EXCLUDED.material_line_count,
+                    labor_total = EXCLUDED.labor_total,
+                    labor_line_count = EXCLUDED.labor_line_count,
+                    version = project_cost_rollups.version + 1
+            """, nativeQuery = true)
+    int rebuild(@Param("projectIds") Collection<Long> projectIds);
+
+    /**
+     * Aggregate cost version of a project, for answering conditional requests without reading the
+     * totals. Empty until the project has a rollup.
+     */
+    @Query(value = "SELECT version FROM project_cost_rollups WHERE project_id = :projectId", nativeQuery = true)
+    Optional<Long> findVersion(@Param("projectId") Long projectId);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+                INSERT INTO project_cost_rollups (project_id, material_total, material_line_count, labor_total, labor_line_count)
+                SELECT p.id,
+                       COALESCE(m.total, 0),
+                       COALESCE(m.line_count, 0),
+                       COALESCE(l.total, 0),
+                       COALESCE(l.line_count, 0)
+                FROM projects p
+                LEFT JOIN (SELECT project_id, SUM(CAST(quantity AS NUMERIC) * unit_price) AS total, COUNT(*) AS line_count
+                           FROM project_materials
+                           GROUP BY project_id) m ON m.project_id = p.id
+                LEFT JOIN (SELECT project_id, SUM(hourly_rate * estimated_hours) AS total, COUNT(*) AS line_count
+                           FROM project_labor
+                           GROUP BY project_id) l ON l.project_id = p.id
+                WHERE NOT EXISTS (SELECT 1 FROM project_cost_rollups r WHERE r.project_id = p.id)
+                ON CONFLICT (project_id) DO NOTHING
+            """, nativeQuery = true)
+    int insertMissing();
+
+    /**
+     * Ids of projects whose stored rollup is missing or does not match their line items
+     * (compared at cent precision).
+     */
+    @Query(value = """
+                SELECT p.id
+                FROM projects p
+                LEFT JOIN (SELECT project_id, SUM(CAST(quantity AS NUMERIC) * unit_price) AS total, COUNT(*) AS line_count
+                           FROM project_materials
+                           GROUP BY project_id) m ON m.project_id = p.id
+                LEFT JOIN (SELECT project_id, SUM(hourly_rate * estimated_hours) AS total, COUNT(*) AS line_count
+                           FROM project_labor
+                           GROUP BY project_id) l ON l.project_id = p.id
+                LEFT JOIN project_cost_rollups r ON r.project_id = p.id
+                WHERE r.project_id IS NULL
+                   OR ROUND(r.material_total, 2) <> ROUND(COALESCE(m.total, 0), 2)
+                   OR r.material_line_count <> COALESCE(m.line_count, 0)
+                   OR ROUND(r.labor_total, 2) <> ROUND(COALESCE(l.total, 0), 2)
+                   OR r.labor_line_count <> COALESCE(l.line_count, 0)
+                ORDER BY p.id
+            """, nativeQuery = true)
+    List<Long> findDriftedProjectIds();
+}
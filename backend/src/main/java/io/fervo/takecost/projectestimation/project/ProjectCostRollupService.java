@@ -0,0 +1,209 @@
+package io.fervo.takecost.projectestimation.project;
+
+import io.fervo.takecost.projectestimation.project.model.CostBreakdown;
+import io.fervo.takecost.projectestimation.project.model.CostEstimate;
+import io.fervo.takecost.projectestimation.project.model.ProjectCostEstimate;
+import io.fervo.takecost.projectestimation.project.model.ProjectCostRollup;
+import io.fervo.takecost.projectestimation.project.model.RollupDriftReport;
+import io.fervo.takecost.projectestimation.project.model.RollupRebuildResult;
+import io.fervo.takecost.projectestimation.project.model.Versioned;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Keeps {@link ProjectCostRollup} rows in step with the project line items. Writers call the
+ * {@code add*Cost} methods from inside their own transaction, so a line item and its rollup are
+ * committed (or rolled back) together.
+ */
+@Slf4j
+@Timed(value = "service.invocations", histogram = true)
+@Service
+@RequiredArgsConstructor
+public class ProjectCostRollupService {
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    private final ProjectCostRollupRepository repository;
+    private final EntityManager entityManager;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional
+    public void addMaterialCost(Long projectId, BigDecimal amount, long lines) {
+        if (repository.addMaterialCost(projectId, amount, lines) == 0) {
+            // No rollup yet, seed it from the line items (which already include this change).
+            repository.rebuild(List.of(projectId));
+        }
+        eventPublisher.publishEvent(ProjectCostChangedEvent.of(projectId));
+    }
+
+    @Transactional
+    public void addLaborCost(Long projectId, BigDecimal amount, long lines) {
+        if (repository.addLaborCost(projectId, amount, lines) == 0) {
+            repository.rebuild(List.of(projectId));
+        }
+        eventPublisher.publishEvent(ProjectCostChangedEvent.of(projectId));
+    }
+
+    @Transactional
+    public ProjectCostRollup getRollup(Long projectId) {
+        return repository.findById(projectId).orElseGet(() -> {
+            repository.rebuild(List.of(projectId));
+            return repository.findById(projectId).orElseGet(() -> ProjectCostRollup.empty(projectId));
+        });
+    }
+
+    @Transactional
+    public Versioned<CostEstimate> getCostEstimate(Long projectId) {
+        var rollup = getRollup(projectId);
+        return new Versioned<>(toEstimate(rollup), rollup.getVersion());
+    }
+
+    /**
+     * The project's aggregate cost version, if it has a rollup yet.
+     */
+    public Optional<Long> getVersion(Long projectId) {
+        return repository.findVersion(projectId);
+    }
+
+    /**
+     * Estimates for many projects at once: one primary-key lookup on the rollup table, plus one
+     * grouped rebuild for any project that has no rollup yet. Unknown project ids are skipped.
+     */
+    @Transactional
+    public List<ProjectCostEstimate> getCostEstimates(Collection<Long> projectIds) {
+        var ids = new LinkedHashSet<>(projectIds);
+        var rollups = new HashMap<Long, ProjectCostRollup>();
+        repository.findAllById(ids).forEach(rollup -> rollups.put(rollup.getProjectId(), rollup));
+
+        if (rollups.size() < ids.size()) {
+            var missing = ids.stream().filter(id -> !rollups.containsKey(id)).toList();
+            repository.rebuild(missing);
+            repository.findAllById(missing).forEach(rollup -> rollups.put(rollup.getProjectId(), rollup));
+        }
+
+        return ids.stream()
+                .map(rollups::get)
+                .filter(Objects::nonNull)
+                .map(rollup -> new ProjectCostEstimate(rollup.getProjectId(), toEstimate(rollup)))
+                .toList();
+    }
+
+    @Transactional
+    public Versioned<CostBreakdown> getCostBreakdown(Long projectId) {
+        var rollup = getRollup(projectId);
+        return new Versioned<>(toBreakdown(rollup), rollup.getVersion());
+    }
+
+    /**
+     * Creates an empty rollup for a freshly inserted project.
+     */
+    @Transactional
+    public void initialize(Long projectId) {
+        repository.rebuild(List.of(projectId));
+        eventPublisher.publishEvent(ProjectCostChangedEvent.of(projectId));
+    }
+
+    /**
+     * Recomputes the rollup of a project whose line items were written with set-based SQL, where
+     * there is no per-line amount to add.
+     */
+    @Transactional
+    public void refresh(Long projectId) {
+        repository.rebuild(List.of(projectId));
+        eventPublisher.publishEvent(ProjectCostChangedEvent.of(projectId));
+    }
+
+    @Transactional
+    public void delete(Long projectId) {
+        repository.deleteById(projectId);
+        eventPublisher.publishEvent(ProjectCostChangedEvent.of(projectId));
+    }
+
+    /**
+     * Recomputes the rollup of a single project from its line items and reports whether the
+     * stored totals had drifted.
+     */
+    @Transactional
+    public RollupRebuildResult rebuild(Long projectId) {
+        var stored = repository.findById(projectId);
+        var previous = stored.map(Snapshot::of).orElse(null);
+
+        repository.rebuild(List.of(projectId));
+        stored.ifPresent(entityManager::refresh);
+
+        var rebuilt = repository.findById(projectId).map(Snapshot::of).orElseThrow(
+                () -> new IllegalArgumentException("Project not found"));
+        var drifted = !rebuilt.equals(previous);
+        if (drifted) {
+            log.warn("Cost rollup for project {} drifted: stored {}, rebuilt {}", projectId, previous, rebuilt);
+            eventPublisher.publishEvent(ProjectCostChangedEvent.of(projectId));
+        }
+        return new RollupRebuildResult(projectId, drifted, previous == null ? null : previous.costs(), rebuilt.costs());
+    }
+
+    /**
+     * Checks every project for rollup drift and rebuilds the ones that are missing or out of sync.
+     */
+    @Transactional
+    public RollupDriftReport rebuildDrifted() {
+        var drifted = repository.findDriftedProjectIds();
+        for (int from = 0; from < drifted.size(); from += REBUILD_BATCH_SIZE) {
+            repository.rebuild(drifted.subList(from, Math.min(from + REBUILD_BATCH_SIZE, drifted.size())));
+        }
+        if (!drifted.isEmpty()) {
+            log.warn("Rebuilt {} drifted cost rollups: {}", drifted.size(), drifted);
+            eventPublisher.publishEvent(new ProjectCostChangedEvent(drifted));
+        }
+        return new RollupDriftReport(drifted);
+    }
+
+    /**
+     * Seeds rollups for projects that do not have one yet, e.g. rows loaded by {@code data.sql}
+     * or created before rollups existed.
+     */
+    @Transactional
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillMissing() {
+        var inserted = repository.insertMissing();
+        log.info("Backfilled {} missing project cost rollups", inserted);
+        if (inserted > 0) {
+            eventPublisher.publishEvent(new ProjectCostChangedEvent(List.of()));
+        }
+    }
+
+    private static CostEstimate toEstimate(ProjectCostRollup rollup) {
+        return new CostEstimate(
+                toMoney(rollup.getMaterialTotal()),
+                toMoney(rollup.getLaborTotal()),
+                toMoney(rollup.getMaterialTotal().add(rollup.getLaborTotal())));
+    }
+
+    private static CostBreakdown toBreakdown(ProjectCostRollup rollup) {
+        return new CostBreakdown(toMoney(rollup.getMaterialTotal()), toMoney(rollup.getLaborTotal()));
+    }
+
+    private static BigDecimal toMoney(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private record Snapshot(CostBreakdown costs, long materialLines, long laborLines) {
+        static Snapshot of(ProjectCostRollup rollup) {
+            return new Snapshot(toBreakdown(rollup), rollup.getMaterialLineCount(), rollup.getLaborLineCount());
+        }
+    }
+}
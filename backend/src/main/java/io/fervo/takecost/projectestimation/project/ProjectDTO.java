@@ -35,6 +35,9 @@ public record ProjectDTO(
 
         @Schema(description = "Project status", example = "PLANNED", allowableValues = {"PLANNED", "IN_PROGRESS", "COMPLETED"}, defaultValue = "PLANNED")
         @NotNull(message = "Status is required")
-        ProjectStatus status
+        ProjectStatus status,
+
+        @Schema(description = "Version of the project, changed by every update; ignored on input", example = "0")
+        Long version
 ) {
 }
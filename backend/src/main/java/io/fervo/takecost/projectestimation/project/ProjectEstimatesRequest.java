@@ -0,0 +1,17 @@
+package io.fervo.takecost.projectestimation.project;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record ProjectEstimatesRequest(
+        @Schema(description = "Projects to estimate", example = "[1, 2, 3]")
+        @NotEmpty(message = "Project IDs cannot be empty")
+        @Size(max = ProjectEstimatesRequest.MAX_PROJECTS, message = "Cannot estimate more than 1000 projects at once")
+        List<@NotNull(message = "Project ID cannot be null") Long> projectIds
+) {
+    public static final int MAX_PROJECTS = 1000;
+}
@@ -2,6 +2,7 @@ package io.fervo.takecost.projectestimation.project;
 
 import io.fervo.takecost.projectestimation.project.model.Project;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.factory.Mappers;
 
 @Mapper(componentModel = "spring")
@@ -10,5 +11,6 @@ public interface ProjectMapper {
 
     ProjectDTO toDTO(Project project);
 
+    @Mapping(target = "version", ignore = true)
     Project toEntity(ProjectDTO projectDTO);
 }
\ No newline at end of file
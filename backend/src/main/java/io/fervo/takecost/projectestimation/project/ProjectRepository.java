@@ -1,9 +1,10 @@
 package io.fervo.takecost.projectestimation.project;
 
-import io.fervo.takecost.projectestimation.project.model.CostBreakdown;
-import io.fervo.takecost.projectestimation.project.model.CostEstimate;
+import io.fervo.takecost.projectestimation.project.model.CostTreeRow;
 import io.fervo.takecost.projectestimation.project.model.Project;
 import io.fervo.takecost.projectestimation.project.model.ProjectsSummary;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -13,41 +14,100 @@ import java.util.List;
 import java.util.Optional;
 
 public interface ProjectRepository extends JpaRepository<Project, Long> {
+    /*
+     * Read paths select the API columns straight into ProjectDTO, without managed entities.
+     */
+    String SELECT_DTO = "SELECT new io.fervo.takecost.projectestimation.project.ProjectDTO(p.id, p.name, p.description, p.location, p.startDate, p.endDate, p.status, p.version) FROM Project p ";
+
     Optional<Project> findByName(String name);
 
-    List<Project> findByStartDateAfter(LocalDate date);
+    @Query(value = SELECT_DTO, countQuery = "SELECT COUNT(p) FROM Project p")
+    Page<ProjectDTO> findAllDTOs(Pageable pageable);
+
+    @Query(SELECT_DTO + "WHERE p.id = :id")
+    Optional<ProjectDTO> findDTOById(@Param("id") Long id);
+
+    @Query(SELECT_DTO + "WHERE p.startDate > :date")
+    List<ProjectDTO> findDTOsByStartDateAfter(@Param("date") LocalDate date);
+
+    /*
+     * Keyset pagination over (name, id): every slice starts with an index seek on idx_projects_name_id
+     * instead of skipping OFFSET rows. Pass an unsorted Pageable to cap the number of rows.
+     */
+    @Query(SELECT_DTO + "ORDER BY p.name ASC, p.id ASC")
+    List<ProjectDTO> findFirstByNameAsc(Pageable limit);
+
+    @Query(SELECT_DTO + "WHERE (p.name, p.id) > (:name, :id) ORDER BY p.name ASC, p.id ASC")
+    List<ProjectDTO> findNextByNameAsc(@Param("name") String name, @Param("id") Long id, Pageable limit);
 
-    @Query(value = "SELECT CAST(COALESCE(SUM(pm.quantity * pm.unit_price), 0) AS DECIMAL(19,2)), " +
-            "CAST(COALESCE(SUM(pl.hourly_rate * pl.estimated_hours), 0) AS DECIMAL(19,2)), " +
-            "CAST(COALESCE(SUM(pm.quantity * pm.unit_price) + SUM(pl.hourly_rate * pl.estimated_hours), 0) AS DECIMAL(19,2)) " +
-            "FROM projects p " +
-            "LEFT JOIN project_materials pm ON p.id = pm.project_id " +
-            "LEFT JOIN project_labor pl ON p.id = pl.project_id " +
-            "WHERE p.id = :projectId", nativeQuery = true)
-    CostEstimate calculateCostEstimate(@Param("projectId") Long projectId);
+    @Query(SELECT_DTO + "ORDER BY p.name DESC, p.id DESC")
+    List<ProjectDTO> findFirstByNameDesc(Pageable limit);
 
+    @Query(SELECT_DTO + "WHERE (p.name, p.id) < (:name, :id) ORDER BY p.name DESC, p.id DESC")
+    List<ProjectDTO> findNextByNameDesc(@Param("name") String name, @Param("id") Long id, Pageable limit);
+
+    /**
+     * Portfolio totals read from the per-project cost rollups, so the line-item tables are not
+     * touched and every project contributes exactly one row.
+     */
     @Query(value = """
-                SELECT 
+                SELECT
                     COUNT(p.id) AS totalProjects,
-                    CAST(COALESCE(SUM(pm.quantity * pm.unit_price), 0) AS DECIMAL(19,2)) AS totalMaterialCost,
-                    CAST(COALESCE(SUM(pl.hourly_rate * pl.estimated_hours), 0) AS DECIMAL(19,2)) AS totalLaborCost,
-                    CAST(COALESCE((SUM(pm.quantity * pm.unit_price) + SUM(pl.hourly_rate * pl.estimated_hours)) / COUNT(p.id), 0) AS DECIMAL(19,2)) AS averageCost
+                    CAST(COALESCE(SUM(r.material_total), 0) AS DECIMAL(19,2)) AS totalMaterialCost,
+                    CAST(COALESCE(SUM(r.labor_total), 0) AS DECIMAL(19,2)) AS totalLaborCost,
+                    CAST(COALESCE((SUM(r.material_total) + SUM(r.labor_total)) / NULLIF(COUNT(p.id), 0), 0) AS DECIMAL(19,2)) AS averageCost
                 FROM projects p
-                LEFT JOIN project_materials pm ON p.id = pm.project_id
-                LEFT JOIN project_labor pl ON p.id = pl.project_id
+                LEFT JOIN project_cost_rollups r ON r.project_id = p.id
             """, nativeQuery = true)
     ProjectsSummary getProjectSummary();
 
-    @Query(value = """
-                SELECT 
-                    CAST(COALESCE(SUM(pm.quantity * pm.unit_price), 0) AS DECIMAL(19,2)) AS totalMaterialCost,
-                    CAST(COALESCE(SUM(pl.hourly_rate * pl.estimated_hours), 0) AS DECIMAL(19,2)) AS totalLaborCost
-                FROM projects p
-                LEFT JOIN project_materials pm ON p.id = pm.project_id
-                LEFT JOIN project_labor pl ON p.id = pl.project_id
-                WHERE p.id = :projectId
-            """, nativeQuery = true)
-    CostBreakdown getCostBreakdown(@Param("projectId") Long projectId);
+    /*
+     * Cost tree: material and labor lines are brought into one shape and grouped once with GROUPING
+     * SETS, which returns every level of the drill-down (kind, category, sub-category, item, vendor)
+     * from a single pass over the lines. See CostTreeRow for how the levels are told apart.
+     */
+    String COST_TREE_MATERIAL_LINES = """
+                WITH lines AS (
+                    SELECT 'MATERIAL' AS kind, m.category, m.sub_category, m.id AS item_id, m.name AS item_name,
+                           v.id AS vendor_id, v.name AS vendor_name, CAST(pm.quantity AS NUMERIC) * pm.unit_price AS cost
+                    FROM project_materials pm
+                    JOIN material_catalogs m ON m.id = pm.material_catalog_id
+                    LEFT JOIN vendors v ON v.id = m.vendor_id
+            """;
+    String COST_TREE_LABOR_LINES = """
+                    UNION ALL
+                    SELECT 'LABOR', NULL, NULL, c.id, c.name, NULL, NULL, pl.hourly_rate * pl.estimated_hours
+                    FROM project_labor pl
+                    JOIN labor_categories c ON c.id = pl.labor_category_id
+            """;
+    String COST_TREE_GROUPING = """
+                )
+                SELECT kind,
+                       category,
+                       sub_category AS subCategory,
+                       item_id AS itemId,
+                       item_name AS itemName,
+                       vendor_id AS vendorId,
+                       vendor_name AS vendorName,
+                       GROUPING(kind, category, sub_category, item_id, vendor_id) AS level,
+                       CAST(SUM(cost) AS DECIMAL(19,2)) AS cost,
+                       COUNT(*) AS lineCount
+                FROM lines
+                GROUP BY GROUPING SETS ((), (kind), (kind, category), (kind, category, sub_category),
+                                        (kind, category, sub_category, item_id, item_name), (kind, vendor_id, vendor_name))
+                ORDER BY cost DESC, itemId, vendorId
+            """;
 
+    @Query(value = COST_TREE_MATERIAL_LINES + "WHERE pm.project_id = :projectId"
+            + COST_TREE_LABOR_LINES + "WHERE pl.project_id = :projectId"
+            + COST_TREE_GROUPING, nativeQuery = true)
+    List<CostTreeRow> findCostTreeRows(@Param("projectId") Long projectId);
 
+    /**
+     * Cost tree over every project, or only the projects with the given status.
+     */
+    @Query(value = COST_TREE_MATERIAL_LINES + "JOIN projects p ON p.id = pm.project_id WHERE CAST(:status AS VARCHAR) IS NULL OR p.status = :status"
+            + COST_TREE_LABOR_LINES + "JOIN projects p ON p.id = pl.project_id WHERE CAST(:status AS VARCHAR) IS NULL OR p.status = :status"
+            + COST_TREE_GROUPING, nativeQuery = true)
+    List<CostTreeRow> findPortfolioCostTreeRows(@Param("status") String status);
 }
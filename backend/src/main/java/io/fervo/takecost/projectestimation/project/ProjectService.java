@@ -1,21 +1,42 @@
 package io.fervo.takecost.projectestimation.project;
 
+import io.fervo.takecost.projectestimation.pagination.CursorPage;
+import io.fervo.takecost.projectestimation.pagination.SeekCursor;
 import io.fervo.takecost.projectestimation.project.model.CostBreakdown;
 import io.fervo.takecost.projectestimation.project.model.CostEstimate;
+import io.fervo.takecost.projectestimation.project.model.CostNode;
+import io.fervo.takecost.projectestimation.project.model.CostTree;
+import io.fervo.takecost.projectestimation.project.model.CostTreeRow;
 import io.fervo.takecost.projectestimation.project.model.Project;
+import io.fervo.takecost.projectestimation.project.model.ProjectCostEstimate;
 import io.fervo.takecost.projectestimation.project.model.ProjectsSummary;
+import io.fervo.takecost.projectestimation.project.model.RollupDriftReport;
+import io.fervo.takecost.projectestimation.project.model.RollupRebuildResult;
+import io.fervo.takecost.projectestimation.project.model.Versioned;
 import io.fervo.takecost.projectestimation.projectlabor.ProjectLaborService;
 import io.fervo.takecost.projectestimation.projectmaterial.ProjectMaterialService;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 @Slf4j
+@Timed(value = "service.invocations", histogram = true)
 @Service
 @RequiredArgsConstructor
 public class ProjectService {
@@ -24,45 +45,225 @@ public class ProjectService {
     private final ProjectLaborService projectLaborService;
     private final ProjectMaterialService materialService;
     private final ProjectLaborService laborService;
+    private final ProjectCostRollupService costRollupService;
+    private final ProjectsSummaryCache summaryCache;
+    private final CostComputationCoalescer coalescer;
+    private final CostTreeCache costTreeCache;
+    private final ApplicationEventPublisher eventPublisher;
 
+    @Transactional
     public Project save(Project project) {
         if (repository.findByName(project.getName()).isPresent()) {
             throw new IllegalArgumentException("Project with the same name already exists");
         }
-        return repository.save(project);
+        var isNew = project.getId() == null;
+        if (!isNew) {
+            // A PUT replaces the project as it is now; the client's copy carries no version to check.
+            project.setVersion(repository.findById(project.getId())
+                    .orElseThrow(() -> new IllegalArgumentException("Project not found"))
+                    .getVersion());
+        }
+        var saved = repository.save(project);
+        if (isNew) {
+            costRollupService.initialize(saved.getId());
+        } else {
+            eventPublisher.publishEvent(new ProjectUpdatedEvent(saved.getId()));
+        }
+        return saved;
+    }
+
+    /**
+     * Copies a project and all of its material and labor lines under a new name. The lines are
+     * copied inside the database with one {@code INSERT ... SELECT} per table, however many there
+     * are. The copy starts out as {@link ProjectStatus#PLANNED}.
+     */
+    @Transactional
+    public Project cloneProject(Long sourceId, String name) {
+        var source = repository.findById(sourceId).orElseThrow(() -> new IllegalArgumentException("Project not found"));
+        if (repository.findByName(name).isPresent()) {
+            throw new IllegalArgumentException("Project with the same name already exists");
+        }
+        var copy = repository.save(Project.builder()
+                .name(name)
+                .description(source.getDescription())
+                .location(source.getLocation())
+                .startDate(source.getStartDate())
+                .endDate(source.getEndDate())
+                .status(ProjectStatus.PLANNED)
+                .build());
+        var materialLines = materialService.copyLines(sourceId, copy.getId());
+        var laborLines = laborService.copyLines(sourceId, copy.getId());
+        costRollupService.refresh(copy.getId());
+        log.info("Cloned project {} into {} with {} material and {} labor lines", sourceId, copy.getId(), materialLines, laborLines);
+        return copy;
     }
 
-    public Project getById(Long id) {
-        return repository.findById(id).orElseThrow(() -> new IllegalArgumentException("Project not found"));
+    public ProjectDTO getById(Long id) {
+        return repository.findDTOById(id).orElseThrow(() -> new IllegalArgumentException("Project not found"));
     }
 
+    @Transactional
     public void delete(Long id) {
+        costRollupService.delete(id);
         repository.deleteById(id);
     }
 
-    public Page<Project> getAll(Pageable pageable) {
+    /**
+     * One slice of the projects ordered by name, continuing after {@code cursor} when given. The
+     * cursor also fixes the direction, so {@code direction} only matters for the first slice.
+     */
+    public CursorPage<ProjectDTO> scroll(String cursor, int size, Sort.Direction direction) {
+        var limit = PageRequest.ofSize(size + 1);
+        List<ProjectDTO> rows;
+        if (cursor == null) {
+            rows = direction.isAscending() ? repository.findFirstByNameAsc(limit) : repository.findFirstByNameDesc(limit);
+        } else {
+            var after = SeekCursor.decode(cursor);
+            if (after.key() == null) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            rows = after.direction().isAscending()
+                    ? repository.findNextByNameAsc(after.key(), after.id(), limit)
+                    : repository.findNextByNameDesc(after.key(), after.id(), limit);
+            direction = after.direction();
+        }
+        var order = direction;
+        return CursorPage.of(rows, size, last -> new SeekCursor(order, last.id(), last.name()));
+    }
+
+    public Page<ProjectDTO> getAll(Pageable pageable) {
         log.info("Getting all projects");
-        var projects = repository.findAll(pageable);
+        var projects = repository.findAllDTOs(pageable);
         log.info("Found {} projects", projects.getTotalElements());
         return projects;
     }
 
     // # Estimates
 
-    public CostEstimate calculateCostEstimate(Long projectId) {
-        return repository.calculateCostEstimate(projectId);
+    /**
+     * Aggregate version of the project's costs, which tags its estimate and cost breakdown. Empty
+     * if the project has no rollup yet.
+     */
+    public Optional<Long> getCostVersion(Long projectId) {
+        return costRollupService.getVersion(projectId);
+    }
+
+    public Versioned<CostEstimate> calculateCostEstimate(Long projectId) {
+        return coalescer.estimate(projectId, () -> costRollupService.getCostEstimate(projectId));
+    }
+
+    public List<ProjectCostEstimate> calculateCostEstimates(Collection<Long> projectIds) {
+        return costRollupService.getCostEstimates(projectIds);
+    }
+
+    public Versioned<CostBreakdown> getCostBreakdown(Long projectId) {
+        return coalescer.breakdown(projectId, () -> costRollupService.getCostBreakdown(projectId));
     }
 
-    public CostBreakdown getCostBreakdown(Long projectId) {
-        return repository.getCostBreakdown(projectId);
+    /**
+     * The project's costs broken down by material category, sub-category and catalog entry, by
+     * vendor and by labor category. Computed by one grouped query and kept until the project's cost
+     * version changes.
+     */
+    public CostTree getCostTree(Long projectId) {
+        var version = getCostVersion(projectId).orElseGet(() -> {
+            if (!repository.existsById(projectId)) {
+                throw new IllegalArgumentException("Project not found");
+            }
+            return costRollupService.getRollup(projectId).getVersion();
+        });
+        return costTreeCache.project(projectId, version, () -> toCostTree(repository.findCostTreeRows(projectId)));
     }
 
-    public List<Project> getUpcomingProjects() {
-        return repository.findByStartDateAfter(LocalDate.now());
+    /**
+     * The same breakdown over every project, or only those with the given status.
+     */
+    public CostTree getPortfolioCostTree(ProjectStatus status) {
+        var filter = status == null ? null : status.name();
+        return costTreeCache.portfolio(filter, () -> toCostTree(repository.findPortfolioCostTreeRows(filter)));
+    }
+
+    public RollupRebuildResult rebuildCostRollup(Long projectId) {
+        return costRollupService.rebuild(projectId);
+    }
+
+    public RollupDriftReport rebuildDriftedCostRollups() {
+        return costRollupService.rebuildDrifted();
+    }
+
+    public List<ProjectDTO> getUpcomingProjects() {
+        return repository.findDTOsByStartDateAfter(LocalDate.now());
     }
 
     // global metrics
     public ProjectsSummary getProjectSummary() {
-        return repository.getProjectSummary();
+        // Coalescing covers the burst of misses right after the cache is invalidated.
+        return summaryCache.get(() -> coalescer.summary(repository::getProjectSummary));
+    }
+
+    /**
+     * Assembles the rows of the grouped cost tree query. Rows arrive most expensive first, so
+     * children are added in that order at every level.
+     */
+    private static CostTree toCostTree(List<CostTreeRow> rows) {
+        var materialCost = BigDecimal.ZERO.setScale(2);
+        var laborCost = BigDecimal.ZERO.setScale(2);
+        var categories = new LinkedHashMap<String, TreeNode>();
+        var vendors = new ArrayList<CostNode>();
+        var labor = new ArrayList<CostNode>();
+        for (var level : new int[]{CostTreeRow.KIND, CostTreeRow.CATEGORY, CostTreeRow.SUB_CATEGORY, CostTreeRow.ITEM, CostTreeRow.VENDOR}) {
+            for (var row : rows) {
+                if (row.level() != level) {
+                    continue;
+                }
+                var isMaterial = CostTreeRow.MATERIAL.equals(row.kind());
+                switch (level) {
+                    case CostTreeRow.KIND -> {
+                        if (isMaterial) {
+                            materialCost = row.cost();
+                        } else {
+                            laborCost = row.cost();
+                        }
+                    }
+                    case CostTreeRow.CATEGORY -> {
+                        if (isMaterial) {
+                            categories.put(row.category(), new TreeNode(null, row.category(), row));
+                        }
+                    }
+                    case CostTreeRow.SUB_CATEGORY -> {
+                        if (isMaterial) {
+                            categories.get(row.category()).children()
+                                    .put(row.subCategory(), new TreeNode(null, row.subCategory(), row));
+                        }
+                    }
+                    case CostTreeRow.ITEM -> {
+                        if (isMaterial) {
+                            categories.get(row.category()).children().get(row.subCategory()).children()
+                                    .put(row.itemId(), new TreeNode(row.itemId(), row.itemName(), row));
+                        } else {
+                            labor.add(new CostNode(row.itemId(), row.itemName(), row.cost(), row.lineCount(), null));
+                        }
+                    }
+                    default -> {
+                        if (isMaterial) {
+                            vendors.add(new CostNode(row.vendorId(), row.vendorName(), row.cost(), row.lineCount(), null));
+                        }
+                    }
+                }
+            }
+        }
+        return new CostTree(materialCost, laborCost, materialCost.add(laborCost),
+                categories.values().stream().map(TreeNode::toCostNode).toList(), vendors, labor);
+    }
+
+    private record TreeNode(Long id, String name, BigDecimal cost, long lines, Map<Object, TreeNode> children) {
+        TreeNode(Long id, String name, CostTreeRow row) {
+            this(id, name, row.cost(), row.lineCount(), new LinkedHashMap<>());
+        }
+
+        CostNode toCostNode() {
+            var nodes = children.values().stream().map(TreeNode::toCostNode).toList();
+            return new CostNode(id, name, cost, lines, nodes.isEmpty() ? null : nodes);
+        }
     }
 }
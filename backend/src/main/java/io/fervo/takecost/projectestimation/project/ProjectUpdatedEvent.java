@@ -0,0 +1,8 @@
+package io.fervo.takecost.projectestimation.project;
+
+/**
+ * Published when an existing project's details (name, dates, status...) are replaced. Its costs are
+ * untouched, but views that group projects by those details, like portfolio cost trees, are not.
+ */
+public record ProjectUpdatedEvent(Long projectId) {
+}
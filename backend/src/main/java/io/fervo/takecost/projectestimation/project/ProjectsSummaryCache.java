@@ -0,0 +1,68 @@
+package io.fervo.takecost.projectestimation.project;
+
+import io.fervo.takecost.projectestimation.project.model.ProjectsSummary;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Holds the last computed {@link ProjectsSummary} until a {@link ProjectCostChangedEvent} is committed.
+ * <p>
+ * A generation counter guards against a slow load storing figures that were read before a
+ * concurrent write committed: the value is only kept if no invalidation happened meanwhile.
+ */
+@Slf4j
+@Component
+public class ProjectsSummaryCache {
+    private final AtomicReference<ProjectsSummary> summary = new AtomicReference<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final Counter hits;
+    private final Counter misses;
+
+    public ProjectsSummaryCache(MeterRegistry meterRegistry) {
+        this.hits = cacheCounter(meterRegistry, "hit");
+        this.misses = cacheCounter(meterRegistry, "miss");
+    }
+
+    public ProjectsSummary get(Supplier<ProjectsSummary> loader) {
+        var cached = summary.get();
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+
+        var loadedAt = generation.get();
+        var loaded = loader.get();
+        if (summary.compareAndSet(null, loaded) && generation.get() != loadedAt) {
+            summary.compareAndSet(loaded, null);
+        }
+        return loaded;
+    }
+
+    public void invalidate() {
+        generation.incrementAndGet();
+        summary.set(null);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProjectCostChanged(ProjectCostChangedEvent event) {
+        log.debug("Invalidating projects summary after cost change of projects {}", event.projectIds());
+        invalidate();
+    }
+
+    private static Counter cacheCounter(MeterRegistry meterRegistry, String result) {
+        // Same name and tags as Micrometer's cache binders, so dashboards treat all caches alike.
+        return Counter.builder("cache.gets")
+                .tag("cache", "projects.summary")
+                .tag("result", result)
+                .description("Lookups of the cached projects summary")
+                .register(meterRegistry);
+    }
+}
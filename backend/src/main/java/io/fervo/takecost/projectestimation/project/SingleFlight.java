@@ -0,0 +1,122 @@
+package io.fervo.takecost.projectestimation.project;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Runs at most one computation per key at a time; callers arriving while it runs wait for its
+ * result instead of starting their own. Nothing is kept once the computation finishes.
+ * <p>
+ * Flights are keyed by generation as well: after {@link #invalidate()} new callers start a fresh
+ * computation rather than join one that may have read data from before a committed write.
+ */
+final class SingleFlight<K, V> {
+    private final String operation;
+    private final int maxKeys;
+    private final Duration timeout;
+    private final ConcurrentHashMap<FlightKey<K>, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final Counter executed;
+    private final Counter coalesced;
+    private final Counter bypassed;
+    private final Counter timeouts;
+
+    SingleFlight(String operation, int maxKeys, Duration timeout, MeterRegistry meterRegistry) {
+        this.operation = operation;
+        this.maxKeys = maxKeys;
+        this.timeout = timeout;
+        this.executed = callCounter(meterRegistry, operation, "executed");
+        this.coalesced = callCounter(meterRegistry, operation, "coalesced");
+        this.bypassed = callCounter(meterRegistry, operation, "bypassed");
+        this.timeouts = Counter.builder("coalescing.timeouts")
+                .tag("operation", operation)
+                .description("Callers that gave up waiting for a shared computation")
+                .register(meterRegistry);
+        Gauge.builder("coalescing.in.flight", inFlight, ConcurrentHashMap::size)
+                .tag("operation", operation)
+                .description("Computations currently shared between callers")
+                .register(meterRegistry);
+    }
+
+    V execute(K key, Supplier<V> loader) {
+        var flightKey = new FlightKey<>(key, generation.get());
+        var flight = inFlight.get(flightKey);
+        if (flight == null) {
+            if (inFlight.size() >= maxKeys) {
+                // Too many distinct keys at once; coalescing would not save much, so do not track this one.
+                bypassed.increment();
+                return loader.get();
+            }
+            var mine = new CompletableFuture<V>();
+            flight = inFlight.putIfAbsent(flightKey, mine);
+            if (flight == null) {
+                return lead(flightKey, mine, loader);
+            }
+        }
+        coalesced.increment();
+        return await(flight);
+    }
+
+    void invalidate() {
+        generation.incrementAndGet();
+    }
+
+    private V lead(FlightKey<K> key, CompletableFuture<V> flight, Supplier<V> loader) {
+        executed.increment();
+        try {
+            var value = loader.get();
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    private V await(CompletableFuture<V> flight) {
+        try {
+            return flight.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            timeouts.increment();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "Timed out after " + timeout + " waiting for " + operation);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for " + operation, e);
+        } catch (ExecutionException e) {
+            // The leader's failure, e.g. "Project not found", is every caller's failure.
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static Counter callCounter(MeterRegistry meterRegistry, String operation, String result) {
+        return Counter.builder("coalescing.calls")
+                .tag("operation", operation)
+                .tag("result", result)
+                .description("Calls that ran a computation, joined one already running, or bypassed a full key map")
+                .register(meterRegistry);
+    }
+
+    private record FlightKey<K>(K key, long generation) {
+    }
+}
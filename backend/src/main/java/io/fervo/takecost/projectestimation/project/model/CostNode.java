@@ -0,0 +1,26 @@
+package io.fervo.takecost.projectestimation.project.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public record CostNode(
+        @Schema(description = "Catalog entry, vendor or labor category ID; absent for categories and sub-categories", example = "202")
+        Long id,
+
+        @Schema(description = "Name of the category, sub-category, item, vendor or labor category; absent when the catalog leaves it empty", example = "Concrete")
+        String name,
+
+        @Schema(description = "Cost of all lines below this node", example = "1500.75")
+        BigDecimal cost,
+
+        @Schema(description = "Number of project lines below this node", example = "12")
+        long lines,
+
+        @Schema(description = "Next level of the drill-down, most expensive first; absent on leaves")
+        List<CostNode> children
+) {
+}
@@ -0,0 +1,27 @@
+package io.fervo.takecost.projectestimation.project.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public record CostTree(
+        @Schema(description = "Total material cost", example = "1500.75")
+        BigDecimal totalMaterialCost,
+
+        @Schema(description = "Total labor cost", example = "3000.50")
+        BigDecimal totalLaborCost,
+
+        @Schema(description = "Overall cost", example = "4501.25")
+        BigDecimal totalCost,
+
+        @Schema(description = "Material cost by category, then sub-category, then catalog entry")
+        List<CostNode> materials,
+
+        @Schema(description = "Material cost by vendor")
+        List<CostNode> vendors,
+
+        @Schema(description = "Labor cost by labor category")
+        List<CostNode> labor
+) {
+}
@@ -0,0 +1,31 @@
+package io.fervo.takecost.projectestimation.project.model;
+
+import java.math.BigDecimal;
+
+/**
+ * One row of the grouped cost tree query. {@code level} is the {@code GROUPING()} bitmask of
+ * (kind, category, sub_category, item_id, vendor_id) and tells which columns the row is grouped by;
+ * the others are null.
+ */
+public record CostTreeRow(
+        String kind,
+        String category,
+        String subCategory,
+        Long itemId,
+        String itemName,
+        Long vendorId,
+        String vendorName,
+        Integer level,
+        BigDecimal cost,
+        Long lineCount
+) {
+    public static final String MATERIAL = "MATERIAL";
+    public static final String LABOR = "LABOR";
+
+    public static final int TOTAL = 0b11111;
+    public static final int KIND = 0b01111;
+    public static final int CATEGORY = 0b00111;
+    public static final int SUB_CATEGORY = 0b00011;
+    public static final int ITEM = 0b00001;
+    public static final int VENDOR = 0b01110;
+}
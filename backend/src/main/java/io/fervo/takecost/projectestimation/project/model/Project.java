@@ -6,11 +6,12 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "projects")
+@Table(name = "projects", indexes = @Index(name = "idx_projects_name_id", columnList = "name, id"))
 @Data
 @Builder
 @NoArgsConstructor
@@ -39,4 +40,9 @@ public class Project {
     @Enumerated(EnumType.STRING)
     @Column(length = 50, nullable = false)
     private ProjectStatus status = ProjectStatus.PLANNED;
+
+    @Version
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private long version;
 }
@@ -0,0 +1,12 @@
+package io.fervo.takecost.projectestimation.project.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+public record ProjectCostEstimate(
+        @Schema(description = "Project the estimate belongs to", example = "1")
+        Long projectId,
+
+        @Schema(description = "Cost estimate of the project")
+        CostEstimate estimate
+) {
+}
@@ -0,0 +1,55 @@
+package io.fervo.takecost.projectestimation.project.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.math.BigDecimal;
+
+/**
+ * Running cost totals for a single project, maintained in the same transaction as every
+ * material/labor line write so that estimates can be served from one row.
+ */
+@Entity
+@Table(name = "project_cost_rollups")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProjectCostRollup {
+
+    @Id
+    @Column(name = "project_id")
+    private Long projectId;
+
+    @Column(name = "material_total", nullable = false, precision = 21, scale = 4)
+    private BigDecimal materialTotal;
+
+    @Column(name = "material_line_count", nullable = false)
+    private Long materialLineCount;
+
+    @Column(name = "labor_total", nullable = false, precision = 21, scale = 4)
+    private BigDecimal laborTotal;
+
+    @Column(name = "labor_line_count", nullable = false)
+    private Long laborLineCount;
+
+    /**
+     * Aggregate version of the project's costs, bumped by every statement that changes the totals.
+     * Maintained by the native updates in {@code ProjectCostRollupRepository} rather than
+     * {@code @Version}, since those never go through the entity.
+     */
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private long version;
+
+    public static ProjectCostRollup empty(Long projectId) {
+        return new ProjectCostRollup(projectId, BigDecimal.ZERO, 0L, BigDecimal.ZERO, 0L, 0L);
+    }
+}
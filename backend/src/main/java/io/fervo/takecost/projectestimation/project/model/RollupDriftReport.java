@@ -0,0 +1,11 @@
+package io.fervo.takecost.projectestimation.project.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+public record RollupDriftReport(
+        @Schema(description = "Projects whose rollup was missing or out of sync and has been rebuilt", example = "[3, 17]")
+        List<Long> driftedProjectIds
+) {
+}
@@ -0,0 +1,18 @@
+package io.fervo.takecost.projectestimation.project.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+public record RollupRebuildResult(
+        @Schema(description = "Project whose rollup was rebuilt", example = "1")
+        Long projectId,
+
+        @Schema(description = "Whether the stored rollup differed from the line items", example = "false")
+        boolean drifted,
+
+        @Schema(description = "Totals stored before the rebuild")
+        CostBreakdown previous,
+
+        @Schema(description = "Totals recomputed from the line items")
+        CostBreakdown rebuilt
+) {
+}
@@ -0,0 +1,8 @@
+package io.fervo.takecost.projectestimation.project.model;
+
+/**
+ * A value together with the version of the row it was read from, so an ETag can be derived
+ * without a second query that might already see a newer row.
+ */
+public record Versioned<T>(T body, long version) {
+}
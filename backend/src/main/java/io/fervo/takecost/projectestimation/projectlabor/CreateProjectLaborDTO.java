@@ -0,0 +1,22 @@
+package io.fervo.takecost.projectestimation.projectlabor;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+
+public record CreateProjectLaborDTO(
+        @Schema(description = "Associated labor category ID", example = "5")
+        @NotNull(message = "Labor category ID cannot be null")
+        Long laborCategoryId,
+
+        @Schema(description = "Hourly rate for the labor", example = "25.0")
+        @NotNull(message = "Hourly rate cannot be null")
+        @PositiveOrZero(message = "Hourly rate cannot be negative")
+        Double hourlyRate,
+
+        @Schema(description = "Estimated hours of labor", example = "80")
+        @NotNull(message = "Estimated hours cannot be null")
+        @PositiveOrZero(message = "Estimated hours cannot be negative")
+        Double estimatedHours
+) {
+}
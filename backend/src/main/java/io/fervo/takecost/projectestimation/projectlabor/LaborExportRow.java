@@ -0,0 +1,26 @@
+package io.fervo.takecost.projectestimation.projectlabor;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import java.math.BigDecimal;
+
+/**
+ * Flat labor sheet line for exports, read straight from the query without loading entities.
+ */
+@JsonPropertyOrder({"projectId", "projectName", "lineId", "laborCategoryId", "laborCategoryName", "hourlyRate", "estimatedHours", "lineTotal"})
+public record LaborExportRow(
+        Long projectId,
+        String projectName,
+        Long lineId,
+        Long laborCategoryId,
+        String laborCategoryName,
+        BigDecimal hourlyRate,
+        BigDecimal estimatedHours,
+        BigDecimal lineTotal
+) {
+    public LaborExportRow(Long projectId, String projectName, Long lineId, Long laborCategoryId, String laborCategoryName,
+                          BigDecimal hourlyRate, BigDecimal estimatedHours) {
+        this(projectId, projectName, lineId, laborCategoryId, laborCategoryName, hourlyRate, estimatedHours,
+                hourlyRate.multiply(estimatedHours));
+    }
+}
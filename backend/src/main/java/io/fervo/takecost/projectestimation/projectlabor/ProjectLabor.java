@@ -6,11 +6,12 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.math.BigDecimal;
 
 @Entity
-@Table(name = "project_labor")
+@Table(name = "project_labor", indexes = @Index(name = "idx_project_labor_project_id_id", columnList = "project_id, id"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -33,4 +34,9 @@ public class ProjectLabor {
 
     @Column(nullable = false)
     private BigDecimal estimatedHours;
+
+    @Version
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private long version;
 }
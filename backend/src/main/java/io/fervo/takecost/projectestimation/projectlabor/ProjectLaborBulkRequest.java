@@ -0,0 +1,30 @@
+package io.fervo.takecost.projectestimation.projectlabor;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record ProjectLaborBulkRequest(
+        @Schema(description = "Labor entries to add to the project")
+        @Size(max = MAX_LINES, message = "Cannot create more than 10000 lines at once")
+        List<@NotNull @Valid CreateProjectLaborDTO> create,
+
+        @Schema(description = "Existing labor entries to replace")
+        @Size(max = MAX_LINES, message = "Cannot update more than 10000 lines at once")
+        List<@NotNull @Valid BulkUpdateProjectLaborDTO> update,
+
+        @Schema(description = "IDs of labor entries to remove", example = "[4, 5]")
+        @Size(max = MAX_LINES, message = "Cannot delete more than 10000 lines at once")
+        List<@NotNull Long> delete
+) {
+    public static final int MAX_LINES = 10_000;
+
+    public ProjectLaborBulkRequest {
+        create = create == null ? List.of() : create;
+        update = update == null ? List.of() : update;
+        delete = delete == null ? List.of() : delete;
+    }
+}
@@ -1,21 +1,30 @@
 package io.fervo.takecost.projectestimation.projectlabor;
 
+import io.fervo.takecost.projectestimation.bulk.BulkWriteResult;
+import io.fervo.takecost.projectestimation.laborcategory.LaborCategory;
+import io.fervo.takecost.projectestimation.pagination.CursorPage;
+import io.fervo.takecost.projectestimation.project.model.Project;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.math.BigDecimal;
+
 @Slf4j
 @Validated
 @RestController
@@ -23,6 +32,8 @@ import org.springframework.web.bind.annotation.*;
 @RequiredArgsConstructor
 @Tag(name = "Project Labor", description = "Manage labor assignments for specific projects")
 public class ProjectLaborController {
+    static final int MAX_SLICE_SIZE = 500;
+
     private final ProjectLaborService service;
     private final ProjectLaborMapper projectLaborMapper;
 
@@ -39,22 +50,37 @@ public class ProjectLaborController {
             @RequestParam(defaultValue = "asc") String order) {
         var pageable = PageRequest.of(page, size, Sort.by(order.equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC, "id"));
         var labor = service.getAllByProjectId(projectId, pageable);
-        log.info("getAllLaborByProject labor: {}", labor.getContent());
-        var dtos = labor.map(projectLaborMapper::toDTO);
-        log.info("getAllLaborByProject dtos: {}", dtos.getContent());
-        return ResponseEntity.ok(dtos);
+        return ResponseEntity.ok(labor);
+    }
+
+    @GetMapping("/scroll")
+    @Operation(summary = "Scroll through project labor entries", description = "Fetch project labor entries ordered by ID one slice at a time, without a total count; pass the returned cursor to get the next slice")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved slice of project labor entries"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or size")
+    })
+    @PreAuthorize("isFullyAuthenticated()")
+    public ResponseEntity<CursorPage<ProjectLaborDTO>> scrollLaborByProject(
+            @PathVariable Long projectId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") @Min(1) @Max(MAX_SLICE_SIZE) int size,
+            @RequestParam(defaultValue = "asc") String order) {
+        var direction = order.equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC;
+        var labor = service.scrollByProjectId(projectId, cursor, size, direction);
+        return ResponseEntity.ok(labor);
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Get project labor by ID", description = "Retrieve details of a specific project labor entry")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Project labor retrieved successfully"),
+            @ApiResponse(responseCode = "304", description = "Project labor unchanged since the ETag in If-None-Match"),
             @ApiResponse(responseCode = "404", description = "Project labor not found")
     })
     @PreAuthorize("isFullyAuthenticated()")
     public ResponseEntity<ProjectLaborDTO> getProjectLabor(@PathVariable Long id) {
-        var labor = projectLaborMapper.toDTO(service.getById(id));
-        return ResponseEntity.ok(labor);
+        var labor = service.getById(id);
+        return ResponseEntity.ok().eTag(ProjectLaborService.eTag(labor)).body(labor);
     }
 
     @PostMapping
@@ -68,25 +94,53 @@ public class ProjectLaborController {
             @PathVariable Long projectId,
             @Valid @RequestBody ProjectLaborDTO projectLaborDTO) {
         var projectLabor = projectLaborMapper.toEntity(projectLaborDTO);
-        projectLabor.setId(projectId);
+        projectLabor.setId(null);
+        projectLabor.setProject(Project.builder().id(projectId).build());
         var savedLabor = service.save(projectLabor);
         return ResponseEntity.status(HttpStatus.CREATED).body(projectLaborMapper.toDTO(savedLabor));
     }
 
+    @PostMapping("/bulk")
+    @Operation(summary = "Bulk change project labor", description = "Create, replace and delete many labor entries of a project in one transaction; if any line is rejected nothing is written")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "All lines written successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid input data or rejected lines, see the per-line results"),
+            @ApiResponse(responseCode = "404", description = "Project not found")
+    })
+    @PreAuthorize("hasRole('ADMIN') or hasRole('PROJECT_MANAGER')")
+    public ResponseEntity<BulkWriteResult> bulkWriteProjectLabor(
+            @PathVariable Long projectId,
+            @Valid @RequestBody ProjectLaborBulkRequest request) {
+        log.info("Bulk writing labor of project id {}: {} create, {} update, {} delete",
+                projectId, request.create().size(), request.update().size(), request.delete().size());
+
+        var creates = request.create().stream()
+                .map(dto -> toEntity(null, dto.laborCategoryId(), dto.hourlyRate(), dto.estimatedHours()))
+                .toList();
+        var updates = request.update().stream()
+                .map(dto -> toEntity(dto.id(), dto.laborCategoryId(), dto.hourlyRate(), dto.estimatedHours()))
+                .toList();
+        var result = service.bulkWrite(projectId, creates, updates, request.delete());
+        return result.applied() ? ResponseEntity.ok(result) : ResponseEntity.badRequest().body(result);
+    }
+
     @PutMapping("/{id}")
     @Operation(summary = "Update project labor", description = "Modify the details of an existing project labor entry")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Project labor updated successfully"),
-            @ApiResponse(responseCode = "404", description = "Project labor not found")
+            @ApiResponse(responseCode = "404", description = "Project labor not found"),
+            @ApiResponse(responseCode = "409", description = "Project labor was changed by a concurrent update"),
+            @ApiResponse(responseCode = "412", description = "Project labor no longer matches the ETag in If-Match")
     })
     @PreAuthorize("hasRole('ADMIN') or hasRole('PROJECT_MANAGER')")
     public ResponseEntity<ProjectLaborDTO> updateProjectLabor(
             @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody ProjectLaborDTO projectLaborDTO) {
         var projectLabor = projectLaborMapper.toEntity(projectLaborDTO);
         projectLabor.setId(id);
-        var updatedLabor = service.save(projectLabor);
-        return ResponseEntity.ok(projectLaborMapper.toDTO(updatedLabor));
+        var updatedLabor = projectLaborMapper.toDTO(service.save(projectLabor, ifMatch));
+        return ResponseEntity.ok().eTag(ProjectLaborService.eTag(updatedLabor)).body(updatedLabor);
     }
 
     @DeleteMapping("/{id}")
@@ -100,4 +154,13 @@ public class ProjectLaborController {
         service.delete(id);
         return ResponseEntity.noContent().build();
     }
+
+    private static ProjectLabor toEntity(Long id, Long laborCategoryId, Double hourlyRate, Double estimatedHours) {
+        var projectLabor = new ProjectLabor();
+        projectLabor.setId(id);
+        projectLabor.setLaborCategory(LaborCategory.builder().id(laborCategoryId).build());
+        projectLabor.setHourlyRate(BigDecimal.valueOf(hourlyRate));
+        projectLabor.setEstimatedHours(BigDecimal.valueOf(estimatedHours));
+        return projectLabor;
+    }
 }
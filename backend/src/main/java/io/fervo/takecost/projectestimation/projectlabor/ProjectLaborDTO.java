@@ -1,10 +1,12 @@
 package io.fervo.takecost.projectestimation.projectlabor;
 
-import io.fervo.takecost.projectestimation.laborcategory.LaborCategory;
+import io.fervo.takecost.projectestimation.laborcategory.LaborCategoryDTO;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.PositiveOrZero;
 
+import java.math.BigDecimal;
+
 public record ProjectLaborDTO(
         @Schema(description = "Unique identifier for the project labor entry", example = "1")
         Long id,
@@ -17,7 +19,8 @@ public record ProjectLaborDTO(
         @NotNull(message = "Labor category ID cannot be null")
         Long laborCategoryId,
 
-        LaborCategory laborCategory,
+        @Schema(description = "Labor category of the line; ignored on input")
+        LaborCategoryDTO laborCategory,
 
         @Schema(description = "Hourly rate for the labor", example = "25.0")
         @PositiveOrZero(message = "Hourly rate cannot be negative")
@@ -25,6 +28,20 @@ public record ProjectLaborDTO(
 
         @Schema(description = "Estimated hours of labor", example = "80")
         @PositiveOrZero(message = "Estimated hours cannot be negative")
-        Double estimatedHours
+        Double estimatedHours,
+
+        @Schema(description = "Version of the project labor entry, changed by every update; ignored on input", example = "0")
+        Long version
 ) {
+    /**
+     * Flat form used by JPQL constructor expressions, which cannot build the nested labor category.
+     */
+    public ProjectLaborDTO(Long id, Long projectId, Long laborCategoryId, String categoryName, String categoryDescription,
+                           Long categoryVersion, BigDecimal hourlyRate, BigDecimal estimatedHours, Long version) {
+        this(id, projectId, laborCategoryId,
+                new LaborCategoryDTO(laborCategoryId, categoryName, categoryDescription, categoryVersion),
+                hourlyRate == null ? null : hourlyRate.doubleValue(),
+                estimatedHours == null ? null : estimatedHours.doubleValue(),
+                version);
+    }
 }
@@ -21,6 +21,6 @@ public interface ProjectLaborMapper {
     @Mapping(source = "laborCategoryId", target = "laborCategory.id")
     @Mapping(source = "hourlyRate", target = "hourlyRate")
     @Mapping(source = "estimatedHours", target = "estimatedHours")
-    @Mapping(source = "laborCategory", target = "laborCategory")
+    @Mapping(target = "version", ignore = true)
     ProjectLabor toEntity(ProjectLaborDTO projectLaborDTO);
 }
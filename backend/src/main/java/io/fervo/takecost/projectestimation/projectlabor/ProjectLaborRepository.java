@@ -1,11 +1,90 @@
 package io.fervo.takecost.projectestimation.projectlabor;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
-public interface ProjectLaborRepository extends JpaRepository<ProjectLabor, Long> {
-    @EntityGraph(attributePaths = {"laborCategory", "project"})
-    Page<ProjectLabor> findAllByProjectId(Long projectId, Pageable pageable);
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public interface ProjectLaborRepository extends JpaRepository<ProjectLabor, Long>, ProjectLaborRepositoryCustom {
+    String EXPORT_FETCH_SIZE = "1000";
+
+    /*
+     * Read paths select the API columns straight into ProjectLaborDTO, without managed entities.
+     */
+    String SELECT_DTO = """
+                SELECT new io.fervo.takecost.projectestimation.projectlabor.ProjectLaborDTO(
+                    pl.id, pl.project.id, c.id, c.name, c.description, c.version, pl.hourlyRate, pl.estimatedHours,
+                    pl.version)
+                FROM ProjectLabor pl JOIN pl.laborCategory c
+            """;
+
+    @Query(value = SELECT_DTO + "WHERE pl.project.id = :projectId",
+            countQuery = "SELECT COUNT(pl) FROM ProjectLabor pl WHERE pl.project.id = :projectId")
+    Page<ProjectLaborDTO> findDTOsByProjectId(@Param("projectId") Long projectId, Pageable pageable);
+
+    @Query(SELECT_DTO + "WHERE pl.id = :id")
+    Optional<ProjectLaborDTO> findDTOById(@Param("id") Long id);
+
+    List<ProjectLabor> findAllByProjectIdAndIdIn(Long projectId, Collection<Long> ids);
+
+    /*
+     * Keyset pagination over (project_id, id); start from id 0 (ascending) or Long.MAX_VALUE
+     * (descending) for the first slice.
+     */
+    @Query(SELECT_DTO + "WHERE pl.project.id = :projectId AND pl.id > :afterId ORDER BY pl.id ASC")
+    List<ProjectLaborDTO> findNextByProjectIdAsc(@Param("projectId") Long projectId, @Param("afterId") Long afterId, Pageable limit);
+
+    @Query(SELECT_DTO + "WHERE pl.project.id = :projectId AND pl.id < :beforeId ORDER BY pl.id DESC")
+    List<ProjectLaborDTO> findNextByProjectIdDesc(@Param("projectId") Long projectId, @Param("beforeId") Long beforeId, Pageable limit);
+
+    /*
+     * Export streams: rows are fetched from a server-side cursor EXPORT_FETCH_SIZE at a time and must be
+     * consumed inside a transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query("""
+                SELECT new io.fervo.takecost.projectestimation.projectlabor.LaborExportRow(p.id, p.name, pl.id, c.id, c.name, pl.hourlyRate, pl.estimatedHours)
+                FROM ProjectLabor pl JOIN pl.project p JOIN pl.laborCategory c
+                WHERE p.id = :projectId
+                ORDER BY pl.id
+            """)
+    Stream<LaborExportRow> streamExportRows(@Param("projectId") Long projectId);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query("""
+                SELECT new io.fervo.takecost.projectestimation.projectlabor.LaborExportRow(p.id, p.name, pl.id, c.id, c.name, pl.hourlyRate, pl.estimatedHours)
+                FROM ProjectLabor pl JOIN pl.project p JOIN pl.laborCategory c
+                ORDER BY p.id, pl.id
+            """)
+    Stream<LaborExportRow> streamAllExportRows();
+
+    /*
+     * Set-based copies, with ids drawn in blocks of 50 like ProjectMaterialRepository#copyLines.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+                WITH source AS (
+                    SELECT labor_category_id, hourly_rate, estimated_hours, ROW_NUMBER() OVER (ORDER BY id) - 1 AS n
+                    FROM project_labor
+                    WHERE project_id = :sourceProjectId
+                ), blocks AS (
+                    SELECT b, nextval('project_labor_seq') AS last_id
+                    FROM generate_series(0, CAST(CEIL((SELECT COUNT(*) FROM source) / 50.0) AS INTEGER) - 1) AS b
+                )
+                INSERT INTO project_labor (id, project_id, labor_category_id, hourly_rate, estimated_hours, version)
+                SELECT blocks.last_id - 49 + source.n % 50, :targetProjectId, source.labor_category_id, source.hourly_rate,
+                       source.estimated_hours, 0
+                FROM source JOIN blocks ON blocks.b = source.n / 50
+            """, nativeQuery = true)
+    int copyLines(@Param("sourceProjectId") Long sourceProjectId, @Param("targetProjectId") Long targetProjectId);
 }
@@ -0,0 +1,13 @@
+package io.fervo.takecost.projectestimation.projectlabor;
+
+import io.fervo.takecost.projectestimation.bulk.InsertedLines;
+
+import java.math.BigDecimal;
+
+public interface ProjectLaborRepositoryCustom {
+    /**
+     * Adds the labor lines of an assembly to a project, hours scaled by {@code multiplier}.
+     * Returns the number and summed cost of the inserted lines.
+     */
+    InsertedLines insertAssemblyLines(Long assemblyId, Long projectId, BigDecimal multiplier);
+}
@@ -0,0 +1,49 @@
+package io.fervo.takecost.projectestimation.projectlabor;
+
+import io.fervo.takecost.projectestimation.bulk.InsertedLines;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.math.BigDecimal;
+
+/*
+ * The insert is a data-modifying CTE that also returns the inserted cost, so it is neither a plain
+ * read nor a row-count @Modifying query. It runs over JDBC in the caller's transaction, after a flush
+ * so pending labor line changes reach the database first.
+ */
+@RequiredArgsConstructor
+class ProjectLaborRepositoryCustomImpl implements ProjectLaborRepositoryCustom {
+    private static final String INSERT_ASSEMBLY_LINES = """
+            WITH source AS (
+                SELECT labor_category_id, hourly_rate, estimated_hours, ROW_NUMBER() OVER (ORDER BY id) - 1 AS n
+                FROM assembly_labor
+                WHERE assembly_id = :assemblyId
+            ), blocks AS (
+                SELECT b, nextval('project_labor_seq') AS last_id
+                FROM generate_series(0, CAST(CEIL((SELECT COUNT(*) FROM source) / 50.0) AS INTEGER) - 1) AS b
+            ), inserted AS (
+                INSERT INTO project_labor (id, project_id, labor_category_id, hourly_rate, estimated_hours, version)
+                SELECT blocks.last_id - 49 + source.n % 50, :projectId, source.labor_category_id, source.hourly_rate,
+                       source.estimated_hours * :multiplier, 0
+                FROM source JOIN blocks ON blocks.b = source.n / 50
+                RETURNING hourly_rate * estimated_hours AS cost
+            )
+            SELECT COUNT(*) AS lines, COALESCE(SUM(cost), 0) AS cost FROM inserted
+        """;
+
+    private final EntityManager entityManager;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    public InsertedLines insertAssemblyLines(Long assemblyId, Long projectId, BigDecimal multiplier) {
+        entityManager.flush();
+        var params = new MapSqlParameterSource()
+                .addValue("assemblyId", assemblyId)
+                .addValue("projectId", projectId)
+                .addValue("multiplier", multiplier);
+        return jdbcTemplate.queryForObject(INSERT_ASSEMBLY_LINES, params,
+                (rs, rowNum) -> new InsertedLines(rs.getLong("lines"), rs.getBigDecimal("cost")));
+    }
+}
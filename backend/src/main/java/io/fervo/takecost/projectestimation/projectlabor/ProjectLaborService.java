@@ -1,28 +1,236 @@
 package io.fervo.takecost.projectestimation.projectlabor;
 
+import io.fervo.takecost.projectestimation.bulk.BulkLineResult;
+import io.fervo.takecost.projectestimation.bulk.BulkOperation;
+import io.fervo.takecost.projectestimation.bulk.BulkWriteResult;
+import io.fervo.takecost.projectestimation.conditional.ETags;
+import io.fervo.takecost.projectestimation.laborcategory.LaborCategoryRepository;
+import io.fervo.takecost.projectestimation.pagination.CursorPage;
+import io.fervo.takecost.projectestimation.pagination.SeekCursor;
+import io.fervo.takecost.projectestimation.project.ProjectCostRollupService;
+import io.fervo.takecost.projectestimation.project.ProjectRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Slf4j
+@Timed(value = "service.invocations", histogram = true)
 @Service
 @RequiredArgsConstructor
 public class ProjectLaborService {
+    // Rows persisted between flush/clear cycles during bulk writes; keeps the persistence context small.
+    private static final int BULK_FLUSH_SIZE = 1000;
+
     private final ProjectLaborRepository repository;
+    private final ProjectRepository projectRepository;
+    private final LaborCategoryRepository laborCategoryRepository;
+    private final ProjectCostRollupService costRollupService;
+    private final EntityManager entityManager;
 
+    @Transactional
     public ProjectLabor save(ProjectLabor projectLabor) {
-        return repository.save(projectLabor);
+        return save(projectLabor, null);
+    }
+
+    /**
+     * @param ifMatch the request's {@code If-Match} header, or {@code null} to write unconditionally;
+     *                only checked for updates
+     */
+    @Transactional
+    public ProjectLabor save(ProjectLabor projectLabor, String ifMatch) {
+        if (projectLabor.getId() != null) {
+            var existing = repository.findById(projectLabor.getId())
+                    .orElseThrow(() -> new EntityNotFoundException("Project Labor not found with ID: " + projectLabor.getId()));
+            ETags.checkIfMatch(ifMatch, eTag(existing));
+            // Updates replace the whole line, so take the previous cost off whichever project it belonged to.
+            costRollupService.addLaborCost(existing.getProject().getId(), lineCost(existing).negate(), -1);
+            projectLabor.setVersion(existing.getVersion());
+        }
+        var saved = repository.save(projectLabor);
+        costRollupService.addLaborCost(saved.getProject().getId(), lineCost(saved), 1);
+        return saved;
     }
 
-    public ProjectLabor getById(Long id) {
-        return repository.findById(id).orElseThrow(() -> new IllegalArgumentException("Project Labor not found"));
+    public ProjectLaborDTO getById(Long id) {
+        return repository.findDTOById(id).orElseThrow(() -> new IllegalArgumentException("Project Labor not found"));
     }
 
+    @Transactional
     public void delete(Long id) {
-        repository.deleteById(id);
+        repository.findById(id).ifPresent(existing -> {
+            repository.delete(existing);
+            costRollupService.addLaborCost(existing.getProject().getId(), lineCost(existing).negate(), -1);
+        });
+    }
+
+    /**
+     * Applies many labor changes to one project in a single transaction. Referenced labor categories
+     * and existing entries are each checked with one set query; if any line is rejected nothing is
+     * written. New entries are inserted in flushed chunks so Hibernate can send them as JDBC batches.
+     *
+     * @param creates new entries; only the labor category id is read from {@code laborCategory}
+     * @param updates replacements for existing entries of the project, identified by id
+     * @param deletes ids of existing entries of the project
+     */
+    @Transactional
+    public BulkWriteResult bulkWrite(Long projectId, List<ProjectLabor> creates, List<ProjectLabor> updates, List<Long> deletes) {
+        if (!projectRepository.existsById(projectId)) {
+            throw new EntityNotFoundException("Project not found with ID: " + projectId);
+        }
+
+        var categoryIds = Stream.concat(creates.stream(), updates.stream())
+                .map(labor -> labor.getLaborCategory().getId())
+                .collect(Collectors.toSet());
+        var knownCategoryIds = categoryIds.isEmpty() ? Set.<Long>of() : laborCategoryRepository.findExistingIds(categoryIds);
+        var lineIds = Stream.concat(updates.stream().map(ProjectLabor::getId), deletes.stream()).collect(Collectors.toSet());
+        Map<Long, ProjectLabor> existing = lineIds.isEmpty() ? Map.of() : repository.findAllByProjectIdAndIdIn(projectId, lineIds)
+                .stream().collect(Collectors.toMap(ProjectLabor::getId, Function.identity()));
+
+        var results = new ArrayList<BulkLineResult>(creates.size() + updates.size() + deletes.size());
+        for (int i = 0; i < creates.size(); i++) {
+            results.add(checkCategory(BulkOperation.CREATE, i, null, creates.get(i), knownCategoryIds));
+        }
+        var seen = new HashSet<Long>();
+        for (int i = 0; i < updates.size(); i++) {
+            var update = updates.get(i);
+            var result = checkExisting(BulkOperation.UPDATE, i, update.getId(), existing.keySet(), seen);
+            results.add(result.isRejected() ? result : checkCategory(BulkOperation.UPDATE, i, update.getId(), update, knownCategoryIds));
+        }
+        for (int i = 0; i < deletes.size(); i++) {
+            results.add(checkExisting(BulkOperation.DELETE, i, deletes.get(i), existing.keySet(), seen));
+        }
+        if (results.stream().anyMatch(BulkLineResult::isRejected)) {
+            return BulkWriteResult.of(results);
+        }
+
+        var costDelta = BigDecimal.ZERO;
+        for (var update : updates) {
+            var line = existing.get(update.getId());
+            costDelta = costDelta.subtract(lineCost(line));
+            line.setLaborCategory(laborCategoryRepository.getReferenceById(update.getLaborCategory().getId()));
+            line.setHourlyRate(update.getHourlyRate());
+            line.setEstimatedHours(update.getEstimatedHours());
+            costDelta = costDelta.add(lineCost(line));
+        }
+        for (var id : deletes) {
+            var line = existing.get(id);
+            costDelta = costDelta.subtract(lineCost(line));
+            repository.delete(line);
+        }
+        repository.flush();
+        entityManager.clear();
+
+        var project = projectRepository.getReferenceById(projectId);
+        for (int i = 0; i < creates.size(); i++) {
+            var line = creates.get(i);
+            line.setId(null);
+            line.setProject(project);
+            line.setLaborCategory(laborCategoryRepository.getReferenceById(line.getLaborCategory().getId()));
+            entityManager.persist(line);
+            results.set(i, BulkLineResult.ok(BulkOperation.CREATE, i, line.getId()));
+            costDelta = costDelta.add(lineCost(line));
+            if ((i + 1) % BULK_FLUSH_SIZE == 0) {
+                entityManager.flush();
+                entityManager.clear();
+                project = projectRepository.getReferenceById(projectId);
+                log.debug("Bulk write to project {}: inserted {} of {} labor entries", projectId, i + 1, creates.size());
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        costRollupService.addLaborCost(projectId, costDelta, creates.size() - deletes.size());
+        return BulkWriteResult.of(results);
+    }
+
+    private static BulkLineResult checkCategory(BulkOperation operation, int index, Long id, ProjectLabor line, Set<Long> knownCategoryIds) {
+        var categoryId = line.getLaborCategory().getId();
+        if (!knownCategoryIds.contains(categoryId)) {
+            return BulkLineResult.rejected(operation, index, id, "Labor category not found with ID: " + categoryId);
+        }
+        return BulkLineResult.ok(operation, index, id);
+    }
+
+    /**
+     * Copies every labor line of one project into another with a single {@code INSERT ... SELECT}.
+     * The caller refreshes the target's cost rollup once all its lines are in.
+     */
+    @Transactional
+    public int copyLines(Long sourceProjectId, Long targetProjectId) {
+        return repository.copyLines(sourceProjectId, targetProjectId);
+    }
+
+    /**
+     * Adds the labor lines of an assembly to a project in one statement; see {@link #copyLines}. The
+     * project's cost rollup is adjusted by the cost of the inserted lines.
+     */
+    @Transactional
+    public int addAssemblyLines(Long assemblyId, Long projectId, BigDecimal multiplier) {
+        var inserted = repository.insertAssemblyLines(assemblyId, projectId, multiplier);
+        costRollupService.addLaborCost(projectId, inserted.cost(), inserted.lines());
+        return inserted.lines().intValue();
+    }
+
+    private static BulkLineResult checkExisting(BulkOperation operation, int index, Long id, Set<Long> existingIds, Set<Long> seen) {
+        if (!existingIds.contains(id)) {
+            return BulkLineResult.rejected(operation, index, id, "Project Labor not found with ID: " + id);
+        }
+        if (!seen.add(id)) {
+            return BulkLineResult.rejected(operation, index, id, "Project Labor " + id + " is changed more than once");
+        }
+        return BulkLineResult.ok(operation, index, id);
+    }
+
+    /**
+     * One slice of the project's lines ordered by id, continuing after {@code cursor} when given.
+     */
+    public CursorPage<ProjectLaborDTO> scrollByProjectId(Long projectId, String cursor, int size, Sort.Direction direction) {
+        var after = cursor == null ? null : SeekCursor.decode(cursor);
+        var order = after == null ? direction : after.direction();
+        var limit = PageRequest.ofSize(size + 1);
+        List<ProjectLaborDTO> rows = order.isAscending()
+                ? repository.findNextByProjectIdAsc(projectId, after == null ? 0L : after.id(), limit)
+                : repository.findNextByProjectIdDesc(projectId, after == null ? Long.MAX_VALUE : after.id(), limit);
+        return CursorPage.of(rows, size, last -> SeekCursor.afterId(order, last.id()));
+    }
+
+    public Page<ProjectLaborDTO> getAllByProjectId(Long projectId, Pageable pageable) {
+        return repository.findDTOsByProjectId(projectId, pageable);
+    }
+
+    /**
+     * Tags the line together with its labor category, which is embedded in {@link ProjectLaborDTO}.
+     */
+    public static String eTag(ProjectLabor projectLabor) {
+        return ETags.of(projectLabor.getVersion(), projectLabor.getLaborCategory().getVersion());
+    }
+
+    public static String eTag(ProjectLaborDTO projectLabor) {
+        return ETags.of(projectLabor.version(), projectLabor.laborCategory().version());
     }
 
-    public Page<ProjectLabor> getAllByProjectId(Long projectId, Pageable pageable) {
-        return repository.findAllByProjectId(projectId, pageable);
+    static BigDecimal lineCost(ProjectLabor projectLabor) {
+        if (projectLabor.getHourlyRate() == null || projectLabor.getEstimatedHours() == null) {
+            return BigDecimal.ZERO;
+        }
+        return projectLabor.getHourlyRate().multiply(projectLabor.getEstimatedHours());
     }
 }
@@ -0,0 +1,28 @@
+package io.fervo.takecost.projectestimation.projectmaterial;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import java.math.BigDecimal;
+
+/**
+ * Flat bill-of-materials line for exports, read straight from the query without loading entities.
+ */
+@JsonPropertyOrder({"projectId", "projectName", "lineId", "materialId", "materialName", "unitType", "quantity", "unitPrice", "lineTotal", "notes"})
+public record MaterialExportRow(
+        Long projectId,
+        String projectName,
+        Long lineId,
+        Long materialId,
+        String materialName,
+        String unitType,
+        Double quantity,
+        BigDecimal unitPrice,
+        BigDecimal lineTotal,
+        String notes
+) {
+    public MaterialExportRow(Long projectId, String projectName, Long lineId, Long materialId, String materialName,
+                             String unitType, Double quantity, BigDecimal unitPrice, String notes) {
+        this(projectId, projectName, lineId, materialId, materialName, unitType, quantity, unitPrice,
+                BigDecimal.valueOf(quantity).multiply(unitPrice), notes);
+    }
+}
@@ -7,11 +7,12 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.math.BigDecimal;
 
 @Entity
-@Table(name = "project_materials")
+@Table(name = "project_materials", indexes = @Index(name = "idx_project_materials_project_id_id", columnList = "project_id, id"))
 @Data
 @Builder
 @NoArgsConstructor
@@ -32,4 +33,9 @@ public class ProjectMaterial {
     private BigDecimal unitPrice;
     @Column(length = 500)
     private String notes;
+
+    @Version
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private long version;
 }
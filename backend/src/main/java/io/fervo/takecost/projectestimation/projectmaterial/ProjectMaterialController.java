@@ -1,6 +1,8 @@
 package io.fervo.takecost.projectestimation.projectmaterial;
 
+import io.fervo.takecost.projectestimation.bulk.BulkWriteResult;
 import io.fervo.takecost.projectestimation.material.MaterialCatalog;
+import io.fervo.takecost.projectestimation.pagination.CursorPage;
 import io.fervo.takecost.projectestimation.project.model.Project;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -8,12 +10,15 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -27,6 +32,8 @@ import org.springframework.web.bind.annotation.*;
 @RequiredArgsConstructor
 @Tag(name = "Project Materials", description = "Manage materials associated with specific projects")
 public class ProjectMaterialController {
+    static final int MAX_SLICE_SIZE = 500;
+
     private final ProjectMaterialService service;
     private final ProjectMaterialMapper projectMaterialMapper;
 
@@ -42,7 +49,24 @@ public class ProjectMaterialController {
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "asc") String order) {
         var pageable = PageRequest.of(page, size, Sort.by(order.equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC, "id"));
-        var materials = service.getAllByProjectId(projectId, pageable).map(projectMaterialMapper::toDTO);
+        var materials = service.getAllByProjectId(projectId, pageable);
+        return ResponseEntity.ok(materials);
+    }
+
+    @GetMapping("/scroll")
+    @Operation(summary = "Scroll through project materials", description = "Fetch project materials ordered by ID one slice at a time, without a total count; pass the returned cursor to get the next slice")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved slice of project materials"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or size")
+    })
+    @PreAuthorize("isFullyAuthenticated()")
+    public ResponseEntity<CursorPage<ProjectMaterialDTO>> scrollMaterialsByProject(
+            @PathVariable Long projectId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") @Min(1) @Max(MAX_SLICE_SIZE) int size,
+            @RequestParam(defaultValue = "asc") String order) {
+        var direction = order.equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC;
+        var materials = service.scrollByProjectId(projectId, cursor, size, direction);
         return ResponseEntity.ok(materials);
     }
 
@@ -50,12 +74,13 @@ public class ProjectMaterialController {
     @Operation(summary = "Get project material by ID", description = "Retrieve details of a specific project-material entry")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Project material retrieved successfully"),
+            @ApiResponse(responseCode = "304", description = "Project material unchanged since the ETag in If-None-Match"),
             @ApiResponse(responseCode = "404", description = "Project material not found")
     })
     @PreAuthorize("isFullyAuthenticated()")
     public ResponseEntity<ProjectMaterialDTO> getProjectMaterial(@PathVariable Long id) {
-        var projectMaterial = projectMaterialMapper.toDTO(service.getById(id));
-        return ResponseEntity.ok(projectMaterial);
+        var projectMaterial = service.getById(id);
+        return ResponseEntity.ok().eTag(ProjectMaterialService.eTag(projectMaterial)).body(projectMaterial);
     }
 
     @PostMapping
@@ -83,16 +108,53 @@ public class ProjectMaterialController {
         return ResponseEntity.status(HttpStatus.CREATED).body(projectMaterialMapper.toDTO(savedMaterial));
     }
 
+    @PostMapping("/bulk")
+    @Operation(summary = "Bulk change project materials", description = "Create, update and delete many materials of a project in one transaction; if any line is rejected nothing is written")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "All lines written successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid input data or rejected lines, see the per-line results"),
+            @ApiResponse(responseCode = "404", description = "Project not found")
+    })
+    @PreAuthorize("hasRole('ADMIN') or hasRole('PROJECT_MANAGER')")
+    public ResponseEntity<BulkWriteResult> bulkWriteProjectMaterials(
+            @PathVariable Long projectId,
+            @Valid @RequestBody ProjectMaterialBulkRequest request) {
+        log.info("Bulk writing materials of project id {}: {} create, {} update, {} delete",
+                projectId, request.create().size(), request.update().size(), request.delete().size());
+
+        var creates = request.create().stream()
+                .map(dto -> ProjectMaterial.builder()
+                        .materialCatalog(MaterialCatalog.builder().id(dto.materialId()).build())
+                        .quantity(dto.quantity())
+                        .unitPrice(dto.unitPrice())
+                        .notes(dto.notes())
+                        .build())
+                .toList();
+        var updates = request.update().stream()
+                .map(dto -> ProjectMaterial.builder()
+                        .id(dto.id())
+                        .quantity(dto.quantity())
+                        .unitPrice(dto.unitPrice())
+                        .notes(dto.notes())
+                        .build())
+                .toList();
+        var result = service.bulkWrite(projectId, creates, updates, request.delete());
+        return result.applied() ? ResponseEntity.ok(result) : ResponseEntity.badRequest().body(result);
+    }
+
     @PutMapping("/{id}")
     @Operation(summary = "Update project material", description = "Modify the details of an existing project-material entry")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Project material updated successfully"),
-            @ApiResponse(responseCode = "404", description = "Project material not found")
+            @ApiResponse(responseCode = "404", description = "Project material not found"),
+            @ApiResponse(responseCode = "409", description = "Project material was changed by a concurrent update"),
+            @ApiResponse(responseCode = "412", description = "Project material no longer matches the ETag in If-Match")
     })
     @PreAuthorize("hasRole('ADMIN') or hasRole('PROJECT_MANAGER')")
     public ResponseEntity<ProjectMaterialDTO> updateProjectMaterial(
             @Schema(description = "Unique identifier for the project material", example = "1")
             @NotNull @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody UpdateProjectMaterialDTO dto) {
 
 
@@ -102,8 +164,8 @@ public class ProjectMaterialController {
                 .unitPrice(dto.unitPrice())
                 .notes(dto.notes())
                 .build();
-        var updatedMaterial = service.update(projectMaterial);
-        return ResponseEntity.ok(projectMaterialMapper.toDTO(updatedMaterial));
+        var updatedMaterial = projectMaterialMapper.toDTO(service.update(projectMaterial, ifMatch));
+        return ResponseEntity.ok().eTag(ProjectMaterialService.eTag(updatedMaterial)).body(updatedMaterial);
     }
 
     @DeleteMapping("/{id}")
@@ -1,6 +1,6 @@
 package io.fervo.takecost.projectestimation.projectmaterial;
 
-import io.fervo.takecost.projectestimation.material.MaterialCatalog;
+import io.fervo.takecost.projectestimation.material.MaterialCatalogDTO;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.PositiveOrZero;
@@ -20,7 +20,8 @@ public record ProjectMaterialDTO(
         @NotNull(message = "Material ID cannot be null")
         Long materialId,
 
-        MaterialCatalog materialCatalog,
+        @Schema(description = "Catalog entry of the material; ignored on input")
+        MaterialCatalogDTO materialCatalog,
 
         @Schema(description = "Quantity of the material", example = "100")
         @PositiveOrZero(message = "Quantity cannot be negative")
@@ -32,6 +33,21 @@ public record ProjectMaterialDTO(
 
         @Schema(description = "Additional notes for the project-material entry", example = "Urgent delivery required")
         @Size(max = 500, message = "Notes cannot exceed 500 characters")
-        String notes
+        String notes,
+
+        @Schema(description = "Version of the project material entry, changed by every update; ignored on input", example = "0")
+        Long version
 ) {
+    /**
+     * Flat form used by JPQL constructor expressions, which cannot build the nested catalog entry.
+     */
+    public ProjectMaterialDTO(Long id, Long projectId, Long materialId, String materialName, String materialDescription,
+                              String category, String subCategory, Integer inStock, Integer leadTimeDays,
+                              String unitType, BigDecimal catalogUnitPrice, Long vendorId, Long catalogVersion,
+                              Double quantity, BigDecimal unitPrice, String notes, Long version) {
+        this(id, projectId, materialId,
+                new MaterialCatalogDTO(materialId, materialName, materialDescription, category, subCategory, inStock,
+                        leadTimeDays, unitType, catalogUnitPrice, vendorId, catalogVersion),
+                quantity, unitPrice, notes, version);
+    }
 }
@@ -22,5 +22,6 @@ public interface ProjectMaterialMapper {
     @Mapping(source = "quantity", target = "quantity")
     @Mapping(source = "unitPrice", target = "unitPrice")
     @Mapping(source = "notes", target = "notes")
+    @Mapping(target = "version", ignore = true)
     ProjectMaterial toEntity(ProjectMaterialDTO projectMaterialDTO);
 }
@@ -1,9 +1,95 @@
 package io.fervo.takecost.projectestimation.projectmaterial;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
-public interface ProjectMaterialRepository extends JpaRepository<ProjectMaterial, Long> {
-    Page<ProjectMaterial> findAllByProjectId(Long projectId, Pageable pageable);
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public interface ProjectMaterialRepository extends JpaRepository<ProjectMaterial, Long>, ProjectMaterialRepositoryCustom {
+    String EXPORT_FETCH_SIZE = "1000";
+
+    /*
+     * Read paths select the API columns straight into ProjectMaterialDTO: no managed entities, and the
+     * catalog entry is joined in the same statement instead of being loaded eagerly with its vendor.
+     */
+    String SELECT_DTO = """
+                SELECT new io.fervo.takecost.projectestimation.projectmaterial.ProjectMaterialDTO(
+                    pm.id, pm.project.id, m.id, m.name, m.description, m.category, m.subCategory, m.inStock,
+                    m.leadTimeDays, m.unitType, m.unitPrice, m.vendor.id, m.version, pm.quantity, pm.unitPrice, pm.notes,
+                    pm.version)
+                FROM ProjectMaterial pm JOIN pm.materialCatalog m
+            """;
+
+    @Query(value = SELECT_DTO + "WHERE pm.project.id = :projectId",
+            countQuery = "SELECT COUNT(pm) FROM ProjectMaterial pm WHERE pm.project.id = :projectId")
+    Page<ProjectMaterialDTO> findDTOsByProjectId(@Param("projectId") Long projectId, Pageable pageable);
+
+    @Query(SELECT_DTO + "WHERE pm.id = :id")
+    Optional<ProjectMaterialDTO> findDTOById(@Param("id") Long id);
+
+    List<ProjectMaterial> findAllByProjectIdAndIdIn(Long projectId, Collection<Long> ids);
+
+    /*
+     * Keyset pagination over (project_id, id); start from id 0 (ascending) or Long.MAX_VALUE
+     * (descending) for the first slice.
+     */
+    @Query(SELECT_DTO + "WHERE pm.project.id = :projectId AND pm.id > :afterId ORDER BY pm.id ASC")
+    List<ProjectMaterialDTO> findNextByProjectIdAsc(@Param("projectId") Long projectId, @Param("afterId") Long afterId, Pageable limit);
+
+    @Query(SELECT_DTO + "WHERE pm.project.id = :projectId AND pm.id < :beforeId ORDER BY pm.id DESC")
+    List<ProjectMaterialDTO> findNextByProjectIdDesc(@Param("projectId") Long projectId, @Param("beforeId") Long beforeId, Pageable limit);
+
+    /*
+     * Export streams: rows are fetched from a server-side cursor EXPORT_FETCH_SIZE at a time and must be
+     * consumed inside a transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query("""
+                SELECT new io.fervo.takecost.projectestimation.projectmaterial.MaterialExportRow(p.id, p.name, pm.id, m.id, m.name, m.unitType, pm.quantity, pm.unitPrice, pm.notes)
+                FROM ProjectMaterial pm JOIN pm.project p JOIN pm.materialCatalog m
+                WHERE p.id = :projectId
+                ORDER BY pm.id
+            """)
+    Stream<MaterialExportRow> streamExportRows(@Param("projectId") Long projectId);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query("""
+                SELECT new io.fervo.takecost.projectestimation.projectmaterial.MaterialExportRow(p.id, p.name, pm.id, m.id, m.name, m.unitType, pm.quantity, pm.unitPrice, pm.notes)
+                FROM ProjectMaterial pm JOIN pm.project p JOIN pm.materialCatalog m
+                ORDER BY p.id, pm.id
+            """)
+    Stream<MaterialExportRow> streamAllExportRows();
+
+    /*
+     * Set-based copies. Ids are drawn the way Hibernate's pooled optimizer draws them: each nextval of
+     * the sequence (allocation size 50) reserves the 50 ids ending at the returned value, so one
+     * nextval per 50 rows never hands out an id another session may use. data.sql moves the
+     * sequence past its first value, which the pooled optimizer would otherwise treat specially.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+                WITH source AS (
+                    SELECT material_catalog_id, quantity, unit_price, notes, ROW_NUMBER() OVER (ORDER BY id) - 1 AS n
+                    FROM project_materials
+                    WHERE project_id = :sourceProjectId
+                ), blocks AS (
+                    SELECT b, nextval('project_material_seq') AS last_id
+                    FROM generate_series(0, CAST(CEIL((SELECT COUNT(*) FROM source) / 50.0) AS INTEGER) - 1) AS b
+                )
+                INSERT INTO project_materials (id, project_id, material_catalog_id, quantity, unit_price, notes, version)
+                SELECT blocks.last_id - 49 + source.n % 50, :targetProjectId, source.material_catalog_id, source.quantity,
+                       source.unit_price, source.notes, 0
+                FROM source JOIN blocks ON blocks.b = source.n / 50
+            """, nativeQuery = true)
+    int copyLines(@Param("sourceProjectId") Long sourceProjectId, @Param("targetProjectId") Long targetProjectId);
 }
@@ -0,0 +1,14 @@
+package io.fervo.takecost.projectestimation.projectmaterial;
+
+import io.fervo.takecost.projectestimation.bulk.InsertedLines;
+
+import java.math.BigDecimal;
+
+public interface ProjectMaterialRepositoryCustom {
+    /**
+     * Adds the material lines of an assembly to a project, quantities scaled by {@code multiplier} and
+     * priced at the current catalog price.
+     * Returns the number and summed cost of the inserted lines.
+     */
+    InsertedLines insertAssemblyLines(Long assemblyId, Long projectId, BigDecimal multiplier);
+}
@@ -0,0 +1,50 @@
+package io.fervo.takecost.projectestimation.projectmaterial;
+
+import io.fervo.takecost.projectestimation.bulk.InsertedLines;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.math.BigDecimal;
+
+/*
+ * The insert is a data-modifying CTE that also returns the inserted cost, so it is neither a plain
+ * read nor a row-count @Modifying query. It runs over JDBC in the caller's transaction, after a flush
+ * so pending material line changes reach the database first.
+ */
+@RequiredArgsConstructor
+class ProjectMaterialRepositoryCustomImpl implements ProjectMaterialRepositoryCustom {
+    private static final String INSERT_ASSEMBLY_LINES = """
+            WITH source AS (
+                SELECT am.material_catalog_id, am.quantity, m.unit_price, am.notes, ROW_NUMBER() OVER (ORDER BY am.id) - 1 AS n
+                FROM assembly_materials am
+                JOIN material_catalogs m ON m.id = am.material_catalog_id
+                WHERE am.assembly_id = :assemblyId
+            ), blocks AS (
+                SELECT b, nextval('project_material_seq') AS last_id
+                FROM generate_series(0, CAST(CEIL((SELECT COUNT(*) FROM source) / 50.0) AS INTEGER) - 1) AS b
+            ), inserted AS (
+                INSERT INTO project_materials (id, project_id, material_catalog_id, quantity, unit_price, notes, version)
+                SELECT blocks.last_id - 49 + source.n % 50, :projectId, source.material_catalog_id,
+                       source.quantity * CAST(:multiplier AS DOUBLE PRECISION), source.unit_price, source.notes, 0
+                FROM source JOIN blocks ON blocks.b = source.n / 50
+                RETURNING CAST(quantity AS NUMERIC) * unit_price AS cost
+            )
+            SELECT COUNT(*) AS lines, COALESCE(SUM(cost), 0) AS cost FROM inserted
+        """;
+
+    private final EntityManager entityManager;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    public InsertedLines insertAssemblyLines(Long assemblyId, Long projectId, BigDecimal multiplier) {
+        entityManager.flush();
+        var params = new MapSqlParameterSource()
+                .addValue("assemblyId", assemblyId)
+                .addValue("projectId", projectId)
+                .addValue("multiplier", multiplier);
+        return jdbcTemplate.queryForObject(INSERT_ASSEMBLY_LINES, params,
+                (rs, rowNum) -> new InsertedLines(rs.getLong("lines"), rs.getBigDecimal("cost")));
+    }
+}
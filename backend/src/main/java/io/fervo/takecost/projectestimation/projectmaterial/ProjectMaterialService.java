@@ -1,20 +1,51 @@
 package io.fervo.takecost.projectestimation.projectmaterial;
 
+import io.fervo.takecost.projectestimation.bulk.BulkLineResult;
+import io.fervo.takecost.projectestimation.bulk.BulkOperation;
+import io.fervo.takecost.projectestimation.bulk.BulkWriteResult;
+import io.fervo.takecost.projectestimation.conditional.ETags;
 import io.fervo.takecost.projectestimation.material.MaterialCatalogRepository;
+import io.fervo.takecost.projectestimation.pagination.CursorPage;
+import io.fervo.takecost.projectestimation.pagination.SeekCursor;
+import io.fervo.takecost.projectestimation.project.ProjectCostRollupService;
 import io.fervo.takecost.projectestimation.project.ProjectRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Slf4j
+@Timed(value = "service.invocations", histogram = true)
 @Service
 @RequiredArgsConstructor
 public class ProjectMaterialService {
+    // Rows persisted between flush/clear cycles during bulk writes; keeps the persistence context small.
+    private static final int BULK_FLUSH_SIZE = 1000;
+
     private final ProjectMaterialRepository repository;
     private final ProjectRepository projectRepository;
     private final MaterialCatalogRepository materialCatalogRepository;
+    private final ProjectCostRollupService costRollupService;
+    private final EntityManager entityManager;
 
+    @Transactional
     public ProjectMaterial save(ProjectMaterial projectMaterial) {
         var project = projectRepository.findById(projectMaterial.getProject().getId())
                 .orElseThrow(() -> new EntityNotFoundException("Project not found with ID: " + projectMaterial.getProject().getId()));
@@ -25,13 +56,140 @@ public class ProjectMaterialService {
         projectMaterial.setProject(project);
         projectMaterial.setMaterialCatalog(materialCatalog);
 
-        return repository.save(projectMaterial);
+        var saved = repository.save(projectMaterial);
+        costRollupService.addMaterialCost(project.getId(), lineCost(saved), 1);
+        return saved;
     }
 
-    public ProjectMaterial update(ProjectMaterial projectMaterial) {
+    /**
+     * @param ifMatch the request's {@code If-Match} header, or {@code null} to update unconditionally
+     */
+    @Transactional
+    public ProjectMaterial update(ProjectMaterial projectMaterial, String ifMatch) {
         ProjectMaterial existingMaterial = getProjectMaterialById(projectMaterial.getId());
+        ETags.checkIfMatch(ifMatch, eTag(existingMaterial));
+        var previousCost = lineCost(existingMaterial);
         updateDetails(existingMaterial, projectMaterial);
-        return repository.save(existingMaterial);
+        var saved = repository.save(existingMaterial);
+        costRollupService.addMaterialCost(saved.getProject().getId(), lineCost(saved).subtract(previousCost), 0);
+        return saved;
+    }
+
+    /**
+     * Applies many line changes to one project in a single transaction. Referenced catalog entries
+     * and existing lines are each checked with one set query; if any line is rejected nothing is
+     * written. New lines are inserted in flushed chunks so Hibernate can send them as JDBC batches.
+     *
+     * @param creates new lines; only the material catalog id is read from {@code materialCatalog}
+     * @param updates changes to existing lines of the project, identified by id
+     * @param deletes ids of existing lines of the project
+     */
+    @Transactional
+    public BulkWriteResult bulkWrite(Long projectId, List<ProjectMaterial> creates, List<ProjectMaterial> updates, List<Long> deletes) {
+        if (!projectRepository.existsById(projectId)) {
+            throw new EntityNotFoundException("Project not found with ID: " + projectId);
+        }
+
+        var catalogIds = creates.stream().map(pm -> pm.getMaterialCatalog().getId()).collect(Collectors.toSet());
+        var knownCatalogIds = catalogIds.isEmpty() ? Set.<Long>of() : materialCatalogRepository.findExistingIds(catalogIds);
+        var lineIds = Stream.concat(updates.stream().map(ProjectMaterial::getId), deletes.stream()).collect(Collectors.toSet());
+        Map<Long, ProjectMaterial> existing = lineIds.isEmpty() ? Map.of() : repository.findAllByProjectIdAndIdIn(projectId, lineIds)
+                .stream().collect(Collectors.toMap(ProjectMaterial::getId, Function.identity()));
+
+        var results = new ArrayList<BulkLineResult>(creates.size() + updates.size() + deletes.size());
+        for (int i = 0; i < creates.size(); i++) {
+            var line = creates.get(i);
+            var catalogId = line.getMaterialCatalog().getId();
+            if (!knownCatalogIds.contains(catalogId)) {
+                results.add(BulkLineResult.rejected(BulkOperation.CREATE, i, null, "MaterialCatalog not found with ID: " + catalogId));
+            } else if (line.getQuantity() == null || line.getUnitPrice() == null) {
+                results.add(BulkLineResult.rejected(BulkOperation.CREATE, i, null, "Quantity and unit price are required"));
+            } else {
+                results.add(BulkLineResult.ok(BulkOperation.CREATE, i, null));
+            }
+        }
+        var seen = new HashSet<Long>();
+        for (int i = 0; i < updates.size(); i++) {
+            var line = updates.get(i);
+            if (line.getQuantity() == null || line.getUnitPrice() == null) {
+                results.add(BulkLineResult.rejected(BulkOperation.UPDATE, i, line.getId(), "Quantity and unit price are required"));
+            } else {
+                results.add(checkExisting(BulkOperation.UPDATE, i, line.getId(), existing.keySet(), seen));
+            }
+        }
+        for (int i = 0; i < deletes.size(); i++) {
+            results.add(checkExisting(BulkOperation.DELETE, i, deletes.get(i), existing.keySet(), seen));
+        }
+        if (results.stream().anyMatch(BulkLineResult::isRejected)) {
+            return BulkWriteResult.of(results);
+        }
+
+        var costDelta = BigDecimal.ZERO;
+        for (var update : updates) {
+            var line = existing.get(update.getId());
+            costDelta = costDelta.subtract(lineCost(line));
+            updateDetails(line, update);
+            costDelta = costDelta.add(lineCost(line));
+        }
+        for (var id : deletes) {
+            var line = existing.get(id);
+            costDelta = costDelta.subtract(lineCost(line));
+            repository.delete(line);
+        }
+        repository.flush();
+        entityManager.clear();
+
+        var project = projectRepository.getReferenceById(projectId);
+        for (int i = 0; i < creates.size(); i++) {
+            var line = creates.get(i);
+            line.setId(null);
+            line.setProject(project);
+            line.setMaterialCatalog(materialCatalogRepository.getReferenceById(line.getMaterialCatalog().getId()));
+            entityManager.persist(line);
+            results.set(i, BulkLineResult.ok(BulkOperation.CREATE, i, line.getId()));
+            costDelta = costDelta.add(lineCost(line));
+            if ((i + 1) % BULK_FLUSH_SIZE == 0) {
+                entityManager.flush();
+                entityManager.clear();
+                project = projectRepository.getReferenceById(projectId);
+                log.debug("Bulk write to project {}: inserted {} of {} materials", projectId, i + 1, creates.size());
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        costRollupService.addMaterialCost(projectId, costDelta, creates.size() - deletes.size());
+        return BulkWriteResult.of(results);
+    }
+
+    /**
+     * Copies every material line of one project into another with a single {@code INSERT ... SELECT}.
+     * The caller refreshes the target's cost rollup once all its lines are in.
+     */
+    @Transactional
+    public int copyLines(Long sourceProjectId, Long targetProjectId) {
+        return repository.copyLines(sourceProjectId, targetProjectId);
+    }
+
+    /**
+     * Adds the material lines of an assembly to a project in one statement; see {@link #copyLines}. The
+     * project's cost rollup is adjusted by the cost of the inserted lines.
+     */
+    @Transactional
+    public int addAssemblyLines(Long assemblyId, Long projectId, BigDecimal multiplier) {
+        var inserted = repository.insertAssemblyLines(assemblyId, projectId, multiplier);
+        costRollupService.addMaterialCost(projectId, inserted.cost(), inserted.lines());
+        return inserted.lines().intValue();
+    }
+
+    private static BulkLineResult checkExisting(BulkOperation operation, int index, Long id, Set<Long> existingIds, Set<Long> seen) {
+        if (!existingIds.contains(id)) {
+            return BulkLineResult.rejected(operation, index, id, "Project Material not found with ID: " + id);
+        }
+        if (!seen.add(id)) {
+            return BulkLineResult.rejected(operation, index, id, "Project Material " + id + " is changed more than once");
+        }
+        return BulkLineResult.ok(operation, index, id);
     }
 
     private ProjectMaterial getProjectMaterialById(Long id) {
@@ -45,15 +203,50 @@ public class ProjectMaterialService {
         existingMaterial.setNotes(updatedMaterial.getNotes());
     }
 
-    public ProjectMaterial getById(Long id) {
-        return repository.findById(id).orElseThrow(() -> new EntityNotFoundException("Project Material not found"));
+    public ProjectMaterialDTO getById(Long id) {
+        return repository.findDTOById(id).orElseThrow(() -> new EntityNotFoundException("Project Material not found"));
     }
 
+    @Transactional
     public void delete(Long id) {
-        repository.deleteById(id);
+        repository.findById(id).ifPresent(existing -> {
+            repository.delete(existing);
+            costRollupService.addMaterialCost(existing.getProject().getId(), lineCost(existing).negate(), -1);
+        });
+    }
+
+    /**
+     * One slice of the project's lines ordered by id, continuing after {@code cursor} when given.
+     */
+    public CursorPage<ProjectMaterialDTO> scrollByProjectId(Long projectId, String cursor, int size, Sort.Direction direction) {
+        var after = cursor == null ? null : SeekCursor.decode(cursor);
+        var order = after == null ? direction : after.direction();
+        var limit = PageRequest.ofSize(size + 1);
+        List<ProjectMaterialDTO> rows = order.isAscending()
+                ? repository.findNextByProjectIdAsc(projectId, after == null ? 0L : after.id(), limit)
+                : repository.findNextByProjectIdDesc(projectId, after == null ? Long.MAX_VALUE : after.id(), limit);
+        return CursorPage.of(rows, size, last -> SeekCursor.afterId(order, last.id()));
+    }
+
+    public Page<ProjectMaterialDTO> getAllByProjectId(Long projectId, Pageable pageable) {
+        return repository.findDTOsByProjectId(projectId, pageable);
+    }
+
+    /**
+     * Tags the line together with its catalog entry, which is embedded in {@link ProjectMaterialDTO}.
+     */
+    public static String eTag(ProjectMaterial projectMaterial) {
+        return ETags.of(projectMaterial.getVersion(), projectMaterial.getMaterialCatalog().getVersion());
+    }
+
+    public static String eTag(ProjectMaterialDTO projectMaterial) {
+        return ETags.of(projectMaterial.version(), projectMaterial.materialCatalog().version());
     }
 
-    public Page<ProjectMaterial> getAllByProjectId(Long projectId, Pageable pageable) {
-        return repository.findAllByProjectId(projectId, pageable);
+    static BigDecimal lineCost(ProjectMaterial projectMaterial) {
+        if (projectMaterial.getQuantity() == null || projectMaterial.getUnitPrice() == null) {
+            return BigDecimal.ZERO;
+        }
+        return BigDecimal.valueOf(projectMaterial.getQuantity()).multiply(projectMaterial.getUnitPrice());
     }
 }
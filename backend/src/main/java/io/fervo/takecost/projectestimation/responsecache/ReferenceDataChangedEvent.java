@@ -0,0 +1,8 @@
+package io.fervo.takecost.projectestimation.responsecache;
+
+/**
+ * Published when rows behind a reference listing were created, changed or deleted. Vendors use
+ * their own {@code VendorChangedEvent}.
+ */
+public record ReferenceDataChangedEvent(ReferenceListing listing) {
+}
@@ -0,0 +1,10 @@
+package io.fervo.takecost.projectestimation.responsecache;
+
+/**
+ * Reference-data listings served from {@link ReferenceListingCache}.
+ */
+public enum ReferenceListing {
+    VENDORS,
+    LABOR_CATEGORIES,
+    MATERIALS
+}
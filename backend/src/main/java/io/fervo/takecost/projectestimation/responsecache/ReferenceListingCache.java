@@ -0,0 +1,197 @@
+package io.fervo.takecost.projectestimation.responsecache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.fervo.takecost.projectestimation.dataset.DatasetGeneratedEvent;
+import io.fervo.takecost.projectestimation.vendor.VendorChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Keeps pages of the reference listings as ready-to-send JSON, plain and gzip-compressed, so a hit
+ * skips the database, Jackson and compression. Every page carries a strong ETag and a
+ * {@code Cache-Control} header; clients holding the current ETag get a 304.
+ * <p>
+ * Keys include the listing's generation, which every committed write bumps: a page loaded before a
+ * write is never served after it, even if the load was still running when the write committed.
+ */
+@Slf4j
+@Component
+public class ReferenceListingCache {
+    private static final String GZIP = "gzip";
+
+    private final ObjectMapper objectMapper;
+    private final Cache<ListingKey, CachedListing> pages;
+    private final Map<ReferenceListing, AtomicLong> generations = new EnumMap<>(ReferenceListing.class);
+    private final CacheControl cacheControl;
+
+    public ReferenceListingCache(ObjectMapper objectMapper,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${reference-listing-cache.max-size}") DataSize maxSize,
+                                 @Value("${reference-listing-cache.max-age}") Duration maxAge) {
+        this.objectMapper = objectMapper;
+        this.pages = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((ListingKey key, CachedListing page) -> page.size())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, pages, "reference.listings");
+        for (var listing : ReferenceListing.values()) {
+            generations.put(listing, new AtomicLong());
+        }
+        // Private: every listing sits behind authentication, so shared caches must not keep it.
+        this.cacheControl = maxAge.isZero()
+                ? CacheControl.noCache().cachePrivate()
+                : CacheControl.maxAge(maxAge).cachePrivate();
+    }
+
+    /**
+     * The page as a response, loaded and encoded on a miss. Concurrent misses for the same page
+     * share one load.
+     *
+     * @param acceptEncoding the request's {@code Accept-Encoding} header; may be null
+     * @param loader         reads the page; its result is serialized with the application's ObjectMapper
+     */
+    public ResponseEntity<byte[]> get(ReferenceListing listing, Pageable pageable, String acceptEncoding, Supplier<?> loader) {
+        var key = new ListingKey(listing, generations.get(listing).get(), pageable);
+        var page = pages.get(key, ignored -> encode(loader.get()));
+        var response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(cacheControl)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (page.gzip() != null && acceptsGzip(acceptEncoding)) {
+            return response.eTag(page.eTag(GZIP)).header(HttpHeaders.CONTENT_ENCODING, GZIP).body(page.gzip());
+        }
+        return response.eTag(page.eTag(null)).body(page.json());
+    }
+
+    public void invalidate(ReferenceListing listing) {
+        var current = generations.get(listing).incrementAndGet();
+        pages.asMap().keySet().removeIf(key -> key.listing() == listing && key.generation() < current);
+    }
+
+    public void invalidateAll() {
+        for (var listing : ReferenceListing.values()) {
+            invalidate(listing);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReferenceDataChanged(ReferenceDataChangedEvent event) {
+        log.debug("Invalidating cached {} listing", event.listing());
+        invalidate(event.listing());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onVendorChanged(VendorChangedEvent event) {
+        invalidate(ReferenceListing.VENDORS);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDatasetGenerated(DatasetGeneratedEvent event) {
+        invalidateAll();
+    }
+
+    private CachedListing encode(Object body) {
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize listing", e);
+        }
+        var gzip = gzip(json);
+        // Tiny pages can grow when compressed; those are only kept plain.
+        return new CachedListing(json, gzip.length < json.length ? gzip : null, DigestUtils.md5DigestAsHex(json));
+    }
+
+    private static byte[] gzip(byte[] json) {
+        var compressed = new ByteArrayOutputStream(json.length / 4);
+        try (var out = new GZIPOutputStream(compressed) {
+            {
+                // Compressed once and sent many times, so spend the extra CPU on the smallest body.
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            out.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return compressed.toByteArray();
+    }
+
+    /**
+     * Whether the client accepts gzip with a non-zero quality, by name or else through {@code *}.
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        var wildcard = 0.0;
+        for (var coding : acceptEncoding.split(",")) {
+            var parameters = coding.split(";");
+            var name = parameters[0].trim();
+            if (name.equalsIgnoreCase(GZIP)) {
+                return quality(parameters) > 0;
+            }
+            if (name.equals("*")) {
+                wildcard = quality(parameters);
+            }
+        }
+        return wildcard > 0;
+    }
+
+    private static double quality(String[] parameters) {
+        for (int i = 1; i < parameters.length; i++) {
+            var parameter = parameters[i].trim();
+            if (parameter.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2));
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+
+    private record ListingKey(ReferenceListing listing, long generation, Pageable pageable) {
+    }
+
+    /**
+     * @param gzip null when compression would not make the page smaller
+     */
+    private record CachedListing(byte[] json, byte[] gzip, String hash) {
+        int size() {
+            return json.length + (gzip == null ? 0 : gzip.length);
+        }
+
+        // The encodings are different representations, so they must not share a strong ETag.
+        String eTag(String encoding) {
+            return "\"" + hash + (encoding == null ? "" : "-" + encoding) + "\"";
+        }
+    }
+}
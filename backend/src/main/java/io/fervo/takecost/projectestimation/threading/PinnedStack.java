@@ -0,0 +1,15 @@
+package io.fervo.takecost.projectestimation.threading;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+public record PinnedStack(
+        @Schema(description = "Top frames of the pinned virtual thread, innermost first")
+        List<String> frames,
+        @Schema(description = "Times a virtual thread was pinned at this stack for longer than the threshold", example = "12")
+        long count,
+        @Schema(description = "Longest pinning seen at this stack, in milliseconds", example = "48.3")
+        double maxMillis
+) {
+}
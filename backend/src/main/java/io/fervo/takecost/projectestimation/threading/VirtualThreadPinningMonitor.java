@@ -0,0 +1,101 @@
+package io.fervo.takecost.projectestimation.threading;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Watches the JDK's {@code jdk.VirtualThreadPinned} JFR event in-process: a virtual thread that
+ * blocks while pinned to its carrier (inside {@code synchronized} or a native frame) holds a
+ * platform thread for the whole wait. Each occurrence is timed as {@code jvm.threads.virtual.pinned},
+ * a new stack is logged once, and {@code /actuator/pinning} lists the stacks seen so far.
+ */
+@Slf4j
+@Endpoint(id = "pinning")
+public class VirtualThreadPinningMonitor {
+    private static final String EVENT = "jdk.VirtualThreadPinned";
+    private static final int FRAMES = 8;
+    private static final int MAX_STACKS = 500;
+
+    private final RecordingStream stream;
+    private final Timer pinnedTimer;
+    private final ConcurrentHashMap<List<String>, Stats> stacks = new ConcurrentHashMap<>();
+
+    public VirtualThreadPinningMonitor(Duration threshold, MeterRegistry meterRegistry) {
+        this.pinnedTimer = Timer.builder("jvm.threads.virtual.pinned")
+                .description("Virtual threads blocked while pinned to their carrier thread")
+                .register(meterRegistry);
+        this.stream = new RecordingStream();
+        stream.enable(EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(EVENT, this::onPinned);
+        stream.startAsync();
+        log.info("Reporting virtual threads pinned for longer than {}", threshold);
+    }
+
+    @ReadOperation
+    public List<PinnedStack> pinnedStacks() {
+        return stacks.entrySet().stream()
+                .map(entry -> new PinnedStack(entry.getKey(), entry.getValue().count.sum(),
+                        entry.getValue().maxNanos.get() / 1e6))
+                .sorted(Comparator.comparingLong(PinnedStack::count).reversed())
+                .toList();
+    }
+
+    @PreDestroy
+    public void close() {
+        stream.close();
+    }
+
+    private void onPinned(RecordedEvent event) {
+        var nanos = event.getDuration().toNanos();
+        pinnedTimer.record(nanos, TimeUnit.NANOSECONDS);
+
+        var frames = frames(event);
+        var stats = stacks.get(frames);
+        if (stats == null && stacks.size() < MAX_STACKS) {
+            stats = stacks.computeIfAbsent(frames, key -> {
+                log.warn("Virtual thread pinned for {} ms at:\n\t{}", nanos / 1_000_000, String.join("\n\t", key));
+                return new Stats();
+            });
+        }
+        if (stats != null) {
+            stats.count.increment();
+            stats.maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+    }
+
+    private static List<String> frames(RecordedEvent event) {
+        var stackTrace = event.getStackTrace();
+        if (stackTrace == null) {
+            return List.of("<no stack trace>");
+        }
+        return stackTrace.getFrames().stream()
+                .limit(FRAMES)
+                .map(VirtualThreadPinningMonitor::format)
+                .toList();
+    }
+
+    private static String format(RecordedFrame frame) {
+        var method = frame.getMethod();
+        return method.getType().getName() + "." + method.getName() + ":" + frame.getLineNumber();
+    }
+
+    private static class Stats {
+        private final LongAdder count = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+    }
+}
@@ -0,0 +1,24 @@
+package io.fervo.takecost.projectestimation.timing;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports time spent in the MapStruct mappers as the {@link TimingPhase#MAPPING} phase.
+ */
+@Aspect
+@Component
+public class MappingTimingAspect {
+
+    @Around("execution(* io.fervo.takecost.projectestimation..*Mapper.*(..))")
+    public Object timeMapping(ProceedingJoinPoint joinPoint) throws Throwable {
+        RequestTimings.start(TimingPhase.MAPPING);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            RequestTimings.stop(TimingPhase.MAPPING);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package io.fervo.takecost.projectestimation.timing;
+
+import java.util.Locale;
+
+/**
+ * Time spent per {@link TimingPhase} while handling one request. Bound to the request thread by
+ * {@link ServerTimingFilter}; code that wants to report a phase calls {@link #record} or
+ * {@link #start}/{@link #stop}, which do nothing outside a timed request. Nested starts of the
+ * same phase (a mapper calling another mapper) are counted once, by the outermost call.
+ */
+public final class RequestTimings {
+    private static final ThreadLocal<RequestTimings> CURRENT = new ThreadLocal<>();
+    private static final TimingPhase[] PHASES = TimingPhase.values();
+
+    private final long startedAt = System.nanoTime();
+    private final long[] nanos = new long[PHASES.length];
+    private final int[] counts = new int[PHASES.length];
+    private final int[] depth = new int[PHASES.length];
+    private final long[] openedAt = new long[PHASES.length];
+
+    RequestTimings() {
+    }
+
+    public static RequestTimings current() {
+        return CURRENT.get();
+    }
+
+    public static void record(TimingPhase phase, long elapsedNanos) {
+        var timings = CURRENT.get();
+        if (timings != null) {
+            timings.add(phase, elapsedNanos);
+        }
+    }
+
+    public static void start(TimingPhase phase) {
+        var timings = CURRENT.get();
+        if (timings != null && timings.depth[phase.ordinal()]++ == 0) {
+            timings.openedAt[phase.ordinal()] = System.nanoTime();
+        }
+    }
+
+    public static void stop(TimingPhase phase) {
+        var timings = CURRENT.get();
+        if (timings != null && --timings.depth[phase.ordinal()] == 0) {
+            timings.add(phase, System.nanoTime() - timings.openedAt[phase.ordinal()]);
+        }
+    }
+
+    static void bind(RequestTimings timings) {
+        CURRENT.set(timings);
+    }
+
+    static void unbind() {
+        CURRENT.remove();
+    }
+
+    public void add(TimingPhase phase, long elapsedNanos) {
+        nanos[phase.ordinal()] += elapsedNanos;
+        counts[phase.ordinal()]++;
+    }
+
+    long elapsedNanos() {
+        return System.nanoTime() - startedAt;
+    }
+
+    /**
+     * e.g. {@code auth;dur=0.41, db;dur=12.30;desc="3 calls", json;dur=1.10, total;dur=15.02}
+     */
+    String toHeader() {
+        var header = new StringBuilder(128);
+        for (var phase : PHASES) {
+            var i = phase.ordinal();
+            if (counts[i] > 0) {
+                header.append(phase.getMetricName()).append(";dur=").append(millis(nanos[i]));
+                if (counts[i] > 1) {
+                    header.append(";desc=\"").append(counts[i]).append(" calls\"");
+                }
+                header.append(", ");
+            }
+        }
+        return header.append("total;dur=").append(millis(elapsedNanos())).toString();
+    }
+
+    /**
+     * {@code key=value} pairs for the slow request log, e.g. {@code total=812.40 auth=0.41 db=790.02 db_calls=14}.
+     */
+    String toLogFields() {
+        var fields = new StringBuilder(128).append("total=").append(millis(elapsedNanos()));
+        for (var phase : PHASES) {
+            var i = phase.ordinal();
+            fields.append(' ').append(phase.getMetricName()).append('=').append(millis(nanos[i]));
+            if (phase == TimingPhase.DB) {
+                fields.append(" db_calls=").append(counts[i]);
+            }
+        }
+        return fields.toString();
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.2f", nanos / 1e6);
+    }
+}
@@ -0,0 +1,43 @@
+package io.fervo.takecost.projectestimation.timing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.lang.NonNull;
+import org.springframework.util.unit.DataSize;
+
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class ServerTimingConfig {
+
+    /**
+     * Replaces Spring Boot's Jackson converter, with the same application ObjectMapper.
+     */
+    @Bean
+    public ServerTimingJacksonConverter serverTimingJacksonConverter(ObjectMapper objectMapper,
+                                                                     @Value("${server-timing.buffer-limit}") DataSize bufferLimit) {
+        return new ServerTimingJacksonConverter(objectMapper, Math.toIntExact(bufferLimit.toBytes()));
+    }
+
+    /**
+     * Reports every Spring Data repository call as the {@link TimingPhase#DB} phase, through the
+     * same invocation listener hook Spring Boot uses for its repository metrics.
+     */
+    @Bean
+    public static BeanPostProcessor repositoryTimingPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(@NonNull Object bean, @NonNull String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addInvocationListener(invocation ->
+                            RequestTimings.record(TimingPhase.DB, invocation.getDuration(TimeUnit.NANOSECONDS))));
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,70 @@
+package io.fervo.takecost.projectestimation.timing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Collects {@link RequestTimings} for every request and reports them in a {@code Server-Timing}
+ * header. Requests slower than the threshold are also logged with their phase breakdown. Runs
+ * before the security filters so that token verification is included. Browsers only expose the
+ * header to scripts of the origins listed in {@code Timing-Allow-Origin}.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ServerTimingFilter extends OncePerRequestFilter {
+    private static final String TIMING_ALLOW_ORIGIN = "Timing-Allow-Origin";
+
+    private final boolean enabled;
+    private final long logThresholdNanos;
+    private final String allowOrigin;
+
+    public ServerTimingFilter(@Value("${server-timing.enabled}") boolean enabled,
+                              @Value("${server-timing.log-threshold}") Duration logThreshold,
+                              @Value("${server-timing.allow-origin}") String allowOrigin) {
+        this.enabled = enabled;
+        this.logThresholdNanos = logThreshold.toNanos();
+        this.allowOrigin = allowOrigin;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain)
+            throws ServletException, IOException {
+        var timings = new RequestTimings();
+        var timedResponse = new ServerTimingResponseWrapper(response, timings);
+        if (!allowOrigin.isBlank()) {
+            response.setHeader(TIMING_ALLOW_ORIGIN, allowOrigin);
+        }
+        RequestTimings.bind(timings);
+        try {
+            filterChain.doFilter(request, timedResponse);
+        } finally {
+            RequestTimings.unbind();
+            timedResponse.writeHeader();
+            // Streaming responses finish on another thread; only the synchronous part would be logged.
+            if (!request.isAsyncStarted() && timings.elapsedNanos() >= logThresholdNanos) {
+                log.warn("Slow request method={} uri={} status={} {}",
+                        request.getMethod(), request.getRequestURI(), response.getStatus(), timings.toLogFields());
+            }
+        }
+    }
+}
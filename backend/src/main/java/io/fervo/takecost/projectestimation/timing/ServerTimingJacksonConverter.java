@@ -0,0 +1,103 @@
+package io.fervo.takecost.projectestimation.timing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.lang.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+
+/**
+ * Jackson converter that, during a timed request, serializes into a buffer first so the
+ * serialization time is known before the headers go out. A body that fits the buffer is then
+ * written in one piece with a {@code Content-Length}; a larger one is streamed from the point it
+ * outgrows the buffer, and its serialization time only reaches the slow-request log. Outside a
+ * timed request it behaves like the default converter.
+ */
+public class ServerTimingJacksonConverter extends MappingJackson2HttpMessageConverter {
+    private final int bufferLimit;
+
+    public ServerTimingJacksonConverter(ObjectMapper objectMapper, int bufferLimit) {
+        super(objectMapper);
+        this.bufferLimit = bufferLimit;
+    }
+
+    @Override
+    protected void writeInternal(Object object, @Nullable Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        var timings = RequestTimings.current();
+        if (timings == null) {
+            super.writeInternal(object, type, outputMessage);
+            return;
+        }
+
+        var body = new SpillingOutputStream(outputMessage, bufferLimit);
+        var start = System.nanoTime();
+        super.writeInternal(object, type, new HttpOutputMessage() {
+            @Override
+            public OutputStream getBody() {
+                return body;
+            }
+
+            @Override
+            public HttpHeaders getHeaders() {
+                return outputMessage.getHeaders();
+            }
+        });
+        timings.add(TimingPhase.SERIALIZATION, System.nanoTime() - start);
+        body.finish();
+    }
+
+    /**
+     * Buffers up to {@code limit} bytes, then sends the buffer and passes every further write
+     * straight to the response body.
+     */
+    private static final class SpillingOutputStream extends OutputStream {
+        private final HttpOutputMessage outputMessage;
+        private final int limit;
+        private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(4096);
+        private OutputStream target;
+
+        private SpillingOutputStream(HttpOutputMessage outputMessage, int limit) {
+            this.outputMessage = outputMessage;
+            this.limit = limit;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            if (target == null && buffer.size() + length > limit) {
+                target = outputMessage.getBody();
+                buffer.writeTo(target);
+            }
+            if (target != null) {
+                target.write(bytes, offset, length);
+            } else {
+                buffer.write(bytes, offset, length);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (target != null) {
+                target.flush();
+            }
+        }
+
+        void finish() throws IOException {
+            if (target == null) {
+                outputMessage.getHeaders().setContentLength(buffer.size());
+                buffer.writeTo(outputMessage.getBody());
+            }
+        }
+    }
+}
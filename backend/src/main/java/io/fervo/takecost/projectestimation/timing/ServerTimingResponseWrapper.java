@@ -0,0 +1,68 @@
+package io.fervo.takecost.projectestimation.timing;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**
+ * Adds the {@code Server-Timing} header at the last moment it can still be sent: when the body is
+ * first requested, the buffer is flushed or an error or redirect is sent. Anything measured up to
+ * then, including serialization by {@link ServerTimingJacksonConverter}, is reported.
+ */
+class ServerTimingResponseWrapper extends HttpServletResponseWrapper {
+    static final String HEADER = "Server-Timing";
+
+    private final RequestTimings timings;
+    private boolean headerWritten;
+
+    ServerTimingResponseWrapper(HttpServletResponse response, RequestTimings timings) {
+        super(response);
+        this.timings = timings;
+    }
+
+    void writeHeader() {
+        if (!headerWritten && !isCommitted()) {
+            setHeader(HEADER, timings.toHeader());
+        }
+        headerWritten = true;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        writeHeader();
+        return super.getOutputStream();
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        writeHeader();
+        return super.getWriter();
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        writeHeader();
+        super.flushBuffer();
+    }
+
+    @Override
+    public void sendError(int sc, String msg) throws IOException {
+        writeHeader();
+        super.sendError(sc, msg);
+    }
+
+    @Override
+    public void sendError(int sc) throws IOException {
+        writeHeader();
+        super.sendError(sc);
+    }
+
+    @Override
+    public void sendRedirect(String location) throws IOException {
+        writeHeader();
+        super.sendRedirect(location);
+    }
+}
@@ -0,0 +1,21 @@
+package io.fervo.takecost.projectestimation.timing;
+
+/**
+ * Phases of a request reported in the {@code Server-Timing} header, by metric name.
+ */
+public enum TimingPhase {
+    AUTH("auth"),
+    DB("db"),
+    MAPPING("map"),
+    SERIALIZATION("json");
+
+    private final String metricName;
+
+    TimingPhase(String metricName) {
+        this.metricName = metricName;
+    }
+
+    public String getMetricName() {
+        return metricName;
+    }
+}
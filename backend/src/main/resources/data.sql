@@ -34,3 +34,10 @@ INSERT INTO project_labor (id, project_id, labor_category_id, hourly_rate, estim
 VALUES ('1', '1', '1', 80, 200),
        ('2', '2', '2', 120, 360)
 ON CONFLICT (id) DO NOTHING;
+
+-- Sequences: move past the ids above and the pooled optimizer's first value, so every nextval reserves
+-- the 50 ids ending at it (the set-based line copies rely on this)
+SELECT setval(CAST(seq AS REGCLASS), 50)
+FROM unnest(ARRAY ['vendor_seq', 'material_catalog_seq', 'project_seq', 'project_material_seq',
+                   'labor_category_seq', 'project_labor_seq']) AS seq
+WHERE COALESCE((SELECT last_value FROM pg_sequences WHERE sequencename = seq), 0) < 50;
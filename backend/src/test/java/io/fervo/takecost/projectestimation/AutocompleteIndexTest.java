@@ -0,0 +1,52 @@
+package io.fervo.takecost.projectestimation;
+
+import io.fervo.takecost.projectestimation.autocomplete.AutocompleteIndex;
+import io.fervo.takecost.projectestimation.autocomplete.AutocompleteSuggestion;
+import io.fervo.takecost.projectestimation.autocomplete.AutocompleteType;
+import io.fervo.takecost.projectestimation.vendor.VendorChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class AutocompleteIndexTest {
+    private final AutocompleteIndex index = new AutocompleteIndex(null, null, null, null, new SimpleMeterRegistry());
+
+    @BeforeEach
+    public void setUp() {
+        index.put(AutocompleteType.MATERIAL, 1L, "Copper Pipe");
+        index.put(AutocompleteType.MATERIAL, 2L, "Pipe Fitting");
+        index.put(AutocompleteType.MATERIAL, 3L, "Pipe");
+        index.put(AutocompleteType.MATERIAL, 4L, "Plywood Sheet");
+        index.put(AutocompleteType.VENDOR, 1L, "\u00C1cme Supply");
+    }
+
+    @Test
+    public void testSuggestsWholeNameMatchesBeforeWordMatches() {
+        assertEquals(List.of(3L, 2L, 1L), ids(index.suggest(AutocompleteType.MATERIAL, "pipe", 10)));
+        assertEquals(List.of(3L, 2L), ids(index.suggest(AutocompleteType.MATERIAL, "PIP", 2)));
+        assertEquals(List.of(3L, 2L, 4L, 1L), ids(index.suggest(AutocompleteType.MATERIAL, "p", 10)));
+        assertEquals(List.of(1L), ids(index.suggest(AutocompleteType.VENDOR, "acme", 10)));
+        assertEquals(List.of(), ids(index.suggest(AutocompleteType.LABOR_CATEGORY, "pipe", 10)));
+    }
+
+    @Test
+    public void testIndexFollowsRenamesAndDeletes() {
+        index.put(AutocompleteType.MATERIAL, 1L, "Copper Tubing");
+        index.remove(AutocompleteType.MATERIAL, 3L);
+        index.onVendorChanged(new VendorChangedEvent(1L, "Northwind Supply"));
+
+        assertEquals(List.of(2L), ids(index.suggest(AutocompleteType.MATERIAL, "pipe", 10)));
+        assertEquals(List.of(1L), ids(index.suggest(AutocompleteType.MATERIAL, "tub", 10)));
+        assertEquals(List.of(), ids(index.suggest(AutocompleteType.VENDOR, "acme", 10)));
+        assertEquals("Northwind Supply", index.suggest(AutocompleteType.VENDOR, "north", 1).get(0).name());
+        assertEquals(3, index.size(AutocompleteType.MATERIAL));
+    }
+
+    private static List<Long> ids(List<AutocompleteSuggestion> suggestions) {
+        return suggestions.stream().map(AutocompleteSuggestion::id).toList();
+    }
+}
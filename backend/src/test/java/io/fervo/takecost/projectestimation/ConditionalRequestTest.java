@@ -0,0 +1,131 @@
+package io.fervo.takecost.projectestimation;
+
+import com.jayway.jsonpath.JsonPath;
+import io.fervo.takecost.projectestimation.project.ProjectCostRollupService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsStringIgnoringCase;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.options;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+class ConditionalRequestTest extends PostgresIntegrationTest {
+    private static final long PROJECT_ID = 3_000_000L;
+    private static final String FRONTEND_ORIGIN = "http://localhost:3000";
+    private static final String LINE_UPDATE = "{\"quantity\": 3.0, \"unitPrice\": 7, \"notes\": \"Changed\"}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ProjectCostRollupService costRollupService;
+
+    private String lineUrl;
+
+    @BeforeEach
+    void createProjectWithOneLine() throws Exception {
+        jdbcTemplate.update("DELETE FROM project_materials WHERE project_id = ?", PROJECT_ID);
+        jdbcTemplate.update("DELETE FROM project_cost_rollups WHERE project_id = ?", PROJECT_ID);
+        jdbcTemplate.update("DELETE FROM projects WHERE id = ?", PROJECT_ID);
+        jdbcTemplate.update("INSERT INTO projects (id, name, status) VALUES (?, 'Conditional requests', 'PLANNED')", PROJECT_ID);
+        costRollupService.initialize(PROJECT_ID);
+
+        var created = mockMvc.perform(post("/api/v1/projects/{projectId}/materials", PROJECT_ID)
+                        .with(user("admin").roles("ADMIN"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"materialId\": 1, \"quantity\": 2.0, \"unitPrice\": 5}"))
+                .andExpect(status().isCreated())
+                .andReturn();
+        Number id = JsonPath.read(created.getResponse().getContentAsString(), "$.id");
+        lineUrl = "/api/v1/projects/" + PROJECT_ID + "/materials/" + id;
+    }
+
+    @Test
+    void unchangedResourcesAreNotSentAgain() throws Exception {
+        var lineTag = eTag(lineUrl);
+        mockMvc.perform(get(lineUrl).with(user("admin").roles("ADMIN")).header(HttpHeaders.IF_NONE_MATCH, lineTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        var estimateUrl = "/api/v1/projects/" + PROJECT_ID + "/estimate";
+        var estimateTag = eTag(estimateUrl);
+        mockMvc.perform(get(estimateUrl).with(user("admin").roles("ADMIN")).header(HttpHeaders.IF_NONE_MATCH, estimateTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, estimateTag));
+    }
+
+    @Test
+    void lineUpdatesChangeTheLineAndEstimateTags() throws Exception {
+        var lineTag = eTag(lineUrl);
+        var estimateUrl = "/api/v1/projects/" + PROJECT_ID + "/estimate";
+        var estimateTag = eTag(estimateUrl);
+
+        var updatedTag = mockMvc.perform(put(lineUrl).with(user("admin").roles("ADMIN"))
+                        .header(HttpHeaders.IF_MATCH, lineTag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(LINE_UPDATE))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(lineTag, updatedTag);
+
+        mockMvc.perform(get(lineUrl).with(user("admin").roles("ADMIN")).header(HttpHeaders.IF_NONE_MATCH, lineTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, updatedTag));
+        mockMvc.perform(get(estimateUrl).with(user("admin").roles("ADMIN")).header(HttpHeaders.IF_NONE_MATCH, estimateTag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void frontendCanSendIfMatchAndReadETags() throws Exception {
+        mockMvc.perform(options(lineUrl)
+                        .header(HttpHeaders.ORIGIN, FRONTEND_ORIGIN)
+                        .header(HttpHeaders.ACCESS_CONTROL_REQUEST_METHOD, "PUT")
+                        .header(HttpHeaders.ACCESS_CONTROL_REQUEST_HEADERS, "authorization, content-type, if-match"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN, FRONTEND_ORIGIN))
+                .andExpect(header().string(HttpHeaders.ACCESS_CONTROL_ALLOW_HEADERS, containsStringIgnoringCase("if-match")));
+
+        mockMvc.perform(get(lineUrl).with(user("admin").roles("ADMIN")).header(HttpHeaders.ORIGIN, FRONTEND_ORIGIN))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ACCESS_CONTROL_EXPOSE_HEADERS, containsStringIgnoringCase("ETag")));
+    }
+
+    @Test
+    void staleIfMatchIsRejected() throws Exception {
+        var lineTag = eTag(lineUrl);
+        mockMvc.perform(put(lineUrl).with(user("admin").roles("ADMIN"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(LINE_UPDATE))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(put(lineUrl).with(user("admin").roles("ADMIN"))
+                        .header(HttpHeaders.IF_MATCH, lineTag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(LINE_UPDATE))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    private String eTag(String url) throws Exception {
+        return mockMvc.perform(get(url).with(user("admin").roles("ADMIN")))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+}
@@ -0,0 +1,145 @@
+package io.fervo.takecost.projectestimation;
+
+import io.fervo.takecost.projectestimation.project.CostComputationCoalescer;
+import io.fervo.takecost.projectestimation.project.ProjectCostChangedEvent;
+import io.fervo.takecost.projectestimation.project.model.CostEstimate;
+import io.fervo.takecost.projectestimation.project.model.Versioned;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class CostComputationCoalescerTest {
+    private static final Versioned<CostEstimate> ESTIMATE =
+            new Versioned<>(new CostEstimate(BigDecimal.ONE, BigDecimal.TEN, BigDecimal.valueOf(11)), 1);
+    private static final int CALLERS = 8;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CostComputationCoalescer coalescer = new CostComputationCoalescer(meterRegistry, 100, Duration.ofSeconds(5));
+    private final ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testConcurrentCallersShareOneComputation() throws Exception {
+        var release = new CountDownLatch(1);
+        var runs = new AtomicInteger();
+        var results = new ArrayList<Future<Versioned<CostEstimate>>>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(executor.submit(() -> coalescer.estimate(1L, () -> {
+                runs.incrementAndGet();
+                await(release);
+                return ESTIMATE;
+            })));
+        }
+        waitForCoalesced(CALLERS - 1);
+        release.countDown();
+
+        for (var result : results) {
+            assertSame(ESTIMATE, result.get());
+        }
+        assertEquals(1, runs.get());
+        assertEquals(1.0, calls("executed"));
+    }
+
+    @Test
+    public void testCallersAfterACostChangeStartAFreshComputation() throws Exception {
+        var release = new CountDownLatch(1);
+        var stale = executor.submit(() -> coalescer.estimate(1L, () -> {
+            await(release);
+            return ESTIMATE;
+        }));
+        waitForInFlight(meterRegistry, 1);
+
+        coalescer.onProjectCostChanged(ProjectCostChangedEvent.of(1L));
+        var fresh = new Versioned<>(new CostEstimate(BigDecimal.TEN, BigDecimal.TEN, BigDecimal.valueOf(20)), 2);
+
+        assertSame(fresh, coalescer.estimate(1L, () -> fresh));
+        release.countDown();
+        assertSame(ESTIMATE, stale.get());
+        assertEquals(0.0, calls("coalesced"));
+    }
+
+    @Test
+    public void testWaitersSeeTheLeadersFailure() throws Exception {
+        var release = new CountDownLatch(1);
+        var leader = executor.submit(() -> coalescer.breakdown(2L, () -> {
+            await(release);
+            throw new IllegalArgumentException("Project not found");
+        }));
+        waitForInFlight(meterRegistry, 1);
+        var follower = executor.submit(() -> coalescer.breakdown(2L, () -> null));
+        while (calls("project.cost-breakdown", "coalesced") < 1) {
+            Thread.sleep(5);
+        }
+        release.countDown();
+
+        assertInstanceOf(IllegalArgumentException.class, assertThrows(ExecutionException.class, leader::get).getCause());
+        assertInstanceOf(IllegalArgumentException.class, assertThrows(ExecutionException.class, follower::get).getCause());
+    }
+
+    @Test
+    public void testWaitersGiveUpAfterTheTimeout() throws Exception {
+        var registry = new SimpleMeterRegistry();
+        var impatient = new CostComputationCoalescer(registry, 100, Duration.ofMillis(50));
+        var release = new CountDownLatch(1);
+        var leader = executor.submit(() -> impatient.summary(() -> {
+            await(release);
+            return null;
+        }));
+        waitForInFlight(registry, 1);
+
+        var timeout = assertThrows(ResponseStatusException.class, () -> impatient.summary(() -> null));
+        assertEquals(503, timeout.getStatusCode().value());
+        assertEquals(1.0, registry.get("coalescing.timeouts").tag("operation", "projects.summary").counter().count());
+        release.countDown();
+        leader.get();
+    }
+
+    private double calls(String result) {
+        return calls("project.estimate", result);
+    }
+
+    private double calls(String operation, String result) {
+        return meterRegistry.get("coalescing.calls").tag("operation", operation).tag("result", result).counter().count();
+    }
+
+    private void waitForCoalesced(int callers) throws InterruptedException {
+        while (calls("coalesced") < callers) {
+            Thread.sleep(5);
+        }
+    }
+
+    private static void waitForInFlight(SimpleMeterRegistry registry, int flights) throws InterruptedException {
+        while (registry.get("coalescing.in.flight").gauges().stream().mapToDouble(gauge -> gauge.value()).sum() < flights) {
+            Thread.sleep(5);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
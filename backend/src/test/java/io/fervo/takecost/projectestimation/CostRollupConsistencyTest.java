@@ -0,0 +1,164 @@
+package io.fervo.takecost.projectestimation;
+
+import com.jayway.jsonpath.JsonPath;
+import io.fervo.takecost.projectestimation.project.ProjectCostRollupService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The stored cost rollup must always equal a fresh aggregation of the project's line items. Lines
+ * are written through the API, which keeps the rollup by deltas; a rollup corrupted behind the
+ * application's back must be reported and repaired by the admin rebuilds.
+ */
+@AutoConfigureMockMvc
+class CostRollupConsistencyTest extends PostgresIntegrationTest {
+    private static final long PROJECT_ID = 6_000_000L;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ProjectCostRollupService costRollupService;
+
+    @BeforeEach
+    void createProject() {
+        jdbcTemplate.update("DELETE FROM project_materials WHERE project_id = ?", PROJECT_ID);
+        jdbcTemplate.update("DELETE FROM project_labor WHERE project_id = ?", PROJECT_ID);
+        jdbcTemplate.update("DELETE FROM project_cost_rollups WHERE project_id = ?", PROJECT_ID);
+        jdbcTemplate.update("DELETE FROM projects WHERE id = ?", PROJECT_ID);
+        jdbcTemplate.update("INSERT INTO projects (id, name, status) VALUES (?, 'Rollup consistency', 'PLANNED')", PROJECT_ID);
+        costRollupService.initialize(PROJECT_ID);
+    }
+
+    @Test
+    void lineWritesKeepTheRollupInStepWithTheLines() throws Exception {
+        var materials = "/api/v1/projects/" + PROJECT_ID + "/materials";
+        var labor = "/api/v1/projects/" + PROJECT_ID + "/labor";
+
+        var concrete = create(materials, "{\"materialId\": 1, \"quantity\": 2.5, \"unitPrice\": 12.40}");
+        assertRollupMatchesLines();
+        var steel = create(materials, "{\"materialId\": 2, \"quantity\": 3, \"unitPrice\": 150}");
+        assertRollupMatchesLines();
+        var carpenter = create(labor, laborLine(1, "80", "12.5"));
+        assertRollupMatchesLines();
+        var electrician = create(labor, laborLine(2, "95.5", "8"));
+        assertRollupMatchesLines();
+
+        perform(put(materials + "/" + concrete).content("{\"quantity\": 4, \"unitPrice\": 11.75}"));
+        assertRollupMatchesLines();
+        perform(put(labor + "/" + carpenter).content(laborLine(1, "82", "10")));
+        assertRollupMatchesLines();
+
+        perform(delete(materials + "/" + steel));
+        assertRollupMatchesLines();
+        perform(delete(labor + "/" + electrician));
+        assertRollupMatchesLines();
+    }
+
+    @Test
+    void rebuildsReportAndRepairCorruptedRollups() throws Exception {
+        create("/api/v1/projects/" + PROJECT_ID + "/materials", "{\"materialId\": 1, \"quantity\": 2, \"unitPrice\": 10}");
+        create("/api/v1/projects/" + PROJECT_ID + "/labor", laborLine(1, "50", "4"));
+        corruptRollup();
+
+        mockMvc.perform(post("/api/v1/projects/{projectId}/estimate/rebuild", PROJECT_ID).with(user("admin").roles("ADMIN")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.drifted").value(true))
+                .andExpect(jsonPath("$.previous.totalMaterialCost").value(120.0))
+                .andExpect(jsonPath("$.previous.totalLaborCost").value(200.0))
+                .andExpect(jsonPath("$.rebuilt.totalMaterialCost").value(20.0))
+                .andExpect(jsonPath("$.rebuilt.totalLaborCost").value(200.0));
+        assertRollupMatchesLines();
+
+        corruptRollup();
+        var report = mockMvc.perform(post("/api/v1/projects/estimate/rebuild").with(user("admin").roles("ADMIN")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        List<Number> drifted = JsonPath.read(report, "$.driftedProjectIds");
+        assertTrue(drifted.stream().anyMatch(id -> id.longValue() == PROJECT_ID), "drifted projects: " + drifted);
+        assertRollupMatchesLines();
+
+        mockMvc.perform(post("/api/v1/projects/{projectId}/estimate/rebuild", PROJECT_ID).with(user("admin").roles("ADMIN")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.drifted").value(false));
+    }
+
+    private void corruptRollup() {
+        jdbcTemplate.update("""
+                UPDATE project_cost_rollups
+                SET material_total = material_total + 100, material_line_count = material_line_count + 1
+                WHERE project_id = ?
+                """, PROJECT_ID);
+    }
+
+    private void assertRollupMatchesLines() throws Exception {
+        var materialTotal = jdbcTemplate.queryForObject(
+                "SELECT COALESCE(SUM(CAST(quantity AS NUMERIC) * unit_price), 0) FROM project_materials WHERE project_id = ?",
+                BigDecimal.class, PROJECT_ID);
+        var laborTotal = jdbcTemplate.queryForObject(
+                "SELECT COALESCE(SUM(hourly_rate * estimated_hours), 0) FROM project_labor WHERE project_id = ?",
+                BigDecimal.class, PROJECT_ID);
+
+        var estimate = mockMvc.perform(get("/api/v1/projects/{projectId}/estimate", PROJECT_ID).with(user("admin").roles("ADMIN")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertMoneyEquals(materialTotal, JsonPath.read(estimate, "$.totalMaterialCost"), "material total");
+        assertMoneyEquals(laborTotal, JsonPath.read(estimate, "$.totalLaborCost"), "labor total");
+        assertMoneyEquals(materialTotal.add(laborTotal), JsonPath.read(estimate, "$.totalCost"), "total");
+
+        var rollup = costRollupService.getRollup(PROJECT_ID);
+        assertEquals(lineCount("project_materials"), rollup.getMaterialLineCount());
+        assertEquals(lineCount("project_labor"), rollup.getLaborLineCount());
+    }
+
+    private static void assertMoneyEquals(BigDecimal expected, Object actual, String name) {
+        var money = new BigDecimal(actual.toString()).setScale(2, RoundingMode.HALF_UP);
+        assertEquals(expected.setScale(2, RoundingMode.HALF_UP), money, name);
+    }
+
+    private long lineCount(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table + " WHERE project_id = ?", Long.class, PROJECT_ID);
+    }
+
+    private long create(String url, String body) throws Exception {
+        var response = mockMvc.perform(post(url).with(user("admin").roles("ADMIN"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return ((Number) JsonPath.read(response, "$.id")).longValue();
+    }
+
+    private void perform(MockHttpServletRequestBuilder request) throws Exception {
+        mockMvc.perform(request.with(user("admin").roles("ADMIN")).contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().is2xxSuccessful());
+    }
+
+    private static String laborLine(long categoryId, String hourlyRate, String estimatedHours) {
+        return "{\"projectId\": " + PROJECT_ID + ", \"laborCategoryId\": " + categoryId
+                + ", \"hourlyRate\": " + hourlyRate + ", \"estimatedHours\": " + estimatedHours + "}";
+    }
+}
@@ -0,0 +1,142 @@
+package io.fervo.takecost.projectestimation;
+
+import com.jayway.jsonpath.JsonPath;
+import io.fervo.takecost.projectestimation.project.ProjectCostRollupService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=io.fervo.takecost.projectestimation.StatementCounter")
+class CostTreeTest extends PostgresIntegrationTest {
+    private static final long PROJECT_ID = 5_000_000L;
+    private static final long VENDOR_ID = 5_000_000L;
+    private static final long REBAR_ID = 5_000_001L;
+    private static final long MESH_ID = 5_000_002L;
+    private static final long LABOR_CATEGORY_ID = 5_000_000L;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ProjectCostRollupService costRollupService;
+
+    @BeforeEach
+    void createProjectWithLines() {
+        jdbcTemplate.update("INSERT INTO vendors (id, name) VALUES (?, 'Tree vendor') ON CONFLICT (id) DO NOTHING", VENDOR_ID);
+        jdbcTemplate.update("INSERT INTO labor_categories (id, name) VALUES (?, 'Tree ironworker') ON CONFLICT (id) DO NOTHING", LABOR_CATEGORY_ID);
+        for (var material : new Object[][]{{REBAR_ID, "Tree rebar", "Rebar"}, {MESH_ID, "Tree mesh", "Mesh"}}) {
+            jdbcTemplate.update("""
+                    INSERT INTO material_catalogs (id, name, category, sub_category, unit_type, unit_price, in_stock, lead_time_days, vendor_id)
+                    VALUES (?, ?, 'Tree steel', ?, 'kg', 10, 0, 0, ?)
+                    ON CONFLICT (id) DO NOTHING
+                    """, material[0], material[1], material[2], VENDOR_ID);
+        }
+        jdbcTemplate.update("DELETE FROM project_materials WHERE project_id = ?", PROJECT_ID);
+        jdbcTemplate.update("DELETE FROM project_labor WHERE project_id = ?", PROJECT_ID);
+        jdbcTemplate.update("DELETE FROM project_cost_rollups WHERE project_id = ?", PROJECT_ID);
+        jdbcTemplate.update("DELETE FROM projects WHERE id = ?", PROJECT_ID);
+        jdbcTemplate.update("INSERT INTO projects (id, name, status) VALUES (?, 'Cost tree', 'PLANNED')", PROJECT_ID);
+        jdbcTemplate.update("""
+                INSERT INTO project_materials (id, project_id, material_catalog_id, quantity, unit_price)
+                VALUES (? + 1, ?, ?, 2.0, 10), (? + 2, ?, ?, 1.0, 5), (? + 3, ?, ?, 3.0, 10)
+                """, PROJECT_ID, PROJECT_ID, REBAR_ID, PROJECT_ID, PROJECT_ID, REBAR_ID, PROJECT_ID, PROJECT_ID, MESH_ID);
+        jdbcTemplate.update("""
+                INSERT INTO project_labor (id, project_id, labor_category_id, hourly_rate, estimated_hours)
+                VALUES (? + 1, ?, ?, 50, 2)
+                """, PROJECT_ID, PROJECT_ID, LABOR_CATEGORY_ID);
+        costRollupService.refresh(PROJECT_ID);
+    }
+
+    @Test
+    void treeDrillsDownFromCategoryToItem() throws Exception {
+        mockMvc.perform(get("/api/v1/projects/{id}/cost-tree", PROJECT_ID).with(user("admin").roles("ADMIN")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalMaterialCost").value(55.0))
+                .andExpect(jsonPath("$.totalLaborCost").value(100.0))
+                .andExpect(jsonPath("$.totalCost").value(155.0))
+                .andExpect(jsonPath("$.materials", hasSize(1)))
+                .andExpect(jsonPath("$.materials[0].name").value("Tree steel"))
+                .andExpect(jsonPath("$.materials[0].lines").value(3))
+                .andExpect(jsonPath("$.materials[0].children[0].name").value("Mesh"))
+                .andExpect(jsonPath("$.materials[0].children[0].cost").value(30.0))
+                .andExpect(jsonPath("$.materials[0].children[1].name").value("Rebar"))
+                .andExpect(jsonPath("$.materials[0].children[1].children[0].id").value(REBAR_ID))
+                .andExpect(jsonPath("$.materials[0].children[1].children[0].cost").value(25.0))
+                .andExpect(jsonPath("$.materials[0].children[1].children[0].lines").value(2))
+                .andExpect(jsonPath("$.vendors[0].id").value(VENDOR_ID))
+                .andExpect(jsonPath("$.vendors[0].cost").value(55.0))
+                .andExpect(jsonPath("$.labor[0].name").value("Tree ironworker"))
+                .andExpect(jsonPath("$.labor[0].cost").value(100.0));
+    }
+
+    @Test
+    void treeIsRecomputedOnlyAfterACostChange() throws Exception {
+        var url = "/api/v1/projects/" + PROJECT_ID + "/cost-tree";
+        mockMvc.perform(get(url).with(user("admin").roles("ADMIN"))).andExpect(status().isOk());
+
+        StatementCounter.reset();
+        mockMvc.perform(get(url).with(user("admin").roles("ADMIN")))
+                .andExpect(jsonPath("$.totalMaterialCost").value(55.0));
+        assertEquals(1, StatementCounter.count(), "a cached tree should only need its cost version");
+
+        mockMvc.perform(post("/api/v1/projects/{projectId}/materials", PROJECT_ID)
+                        .with(user("admin").roles("ADMIN"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"materialId\": " + MESH_ID + ", \"quantity\": 1.0, \"unitPrice\": 45}"))
+                .andExpect(status().isCreated());
+        mockMvc.perform(get(url).with(user("admin").roles("ADMIN")))
+                .andExpect(jsonPath("$.totalMaterialCost").value(100.0))
+                .andExpect(jsonPath("$.materials[0].children[0].name").value("Mesh"))
+                .andExpect(jsonPath("$.materials[0].children[0].cost").value(75.0));
+    }
+
+    @Test
+    void portfolioTreeFollowsProjectStatusChanges() throws Exception {
+        var inProgressUrl = "/api/v1/projects/cost-tree?status=IN_PROGRESS";
+        var before = materialCost(inProgressUrl);
+        mockMvc.perform(get("/api/v1/projects/cost-tree?status=PLANNED").with(user("admin").roles("ADMIN")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.materials[?(@.name == 'Tree steel')].cost").value(55.0));
+
+        mockMvc.perform(put("/api/v1/projects/{id}", PROJECT_ID)
+                        .with(user("admin").roles("ADMIN"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"name": "Cost tree %d", "location": "Harbourfront", "startDate": "2025-01-01",
+                                 "endDate": "2025-12-31", "status": "IN_PROGRESS"}
+                                """.formatted(System.nanoTime())))
+                .andExpect(status().isOk());
+
+        assertEquals(before.add(new BigDecimal("55.00")), materialCost(inProgressUrl));
+        mockMvc.perform(get("/api/v1/projects/cost-tree?status=PLANNED").with(user("admin").roles("ADMIN")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.materials[?(@.name == 'Tree steel')]", hasSize(0)));
+    }
+
+    private BigDecimal materialCost(String url) throws Exception {
+        var body = mockMvc.perform(get(url).with(user("admin").roles("ADMIN")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return new BigDecimal(JsonPath.read(body, "$.totalMaterialCost").toString()).setScale(2);
+    }
+}
@@ -0,0 +1,46 @@
+package io.fervo.takecost.projectestimation;
+
+import io.fervo.takecost.projectestimation.export.ExportFormat;
+import io.fervo.takecost.projectestimation.export.LineItemExportService;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LineItemExportTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private LineItemExportService exportService;
+
+    @Test
+    void materialsCsvHasHeaderAndOneRowPerLine() throws Exception {
+        var out = new ByteArrayOutputStream();
+        exportService.exportMaterials(1L, ExportFormat.CSV).writeTo(out);
+
+        var lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals("projectId,projectName,lineId,materialId,materialName,unitType,quantity,unitPrice,lineTotal,notes", lines.get(0));
+        assertEquals(2, lines.size());
+        assertTrue(lines.get(1).startsWith("1,"));
+    }
+
+    @Test
+    void laborNdjsonHasOneObjectPerLine() throws Exception {
+        var out = new ByteArrayOutputStream();
+        exportService.exportLabor(2L, ExportFormat.NDJSON).writeTo(out);
+
+        var lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(1, lines.size());
+        assertTrue(lines.get(0).startsWith("{\"projectId\":2,"));
+    }
+
+    @Test
+    void unknownProjectFailsBeforeStreaming() {
+        assertThrows(EntityNotFoundException.class, () -> exportService.exportMaterials(-1L, ExportFormat.CSV));
+    }
+}
@@ -0,0 +1,64 @@
+package io.fervo.takecost.projectestimation;
+
+import io.fervo.takecost.projectestimation.material.MaterialPriceListImporter;
+import io.fervo.takecost.projectestimation.material.PriceListFormat;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MaterialPriceListImportTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private MaterialPriceListImporter importer;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void csvImportUpsertsByVendorAndNameAndReportsRejectedRows() throws Exception {
+        var csv = """
+                name,category,unitType,unitPrice,inStock,extraColumn
+                Concrete,Construction,kg,36.50,,ignored
+                Rebar 10M,Construction,m,2.10,500,
+                Gravel,Construction,t,-1,,
+                """;
+
+        var report = importer.importPriceList(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), PriceListFormat.CSV, 1L);
+
+        assertTrue(report.complete());
+        assertEquals(3, report.rowsRead());
+        assertEquals(1, report.inserted());
+        assertEquals(1, report.updated());
+        assertEquals(1, report.rejected());
+        assertEquals(3, report.rejectedRows().get(0).row());
+        assertEquals(0, new BigDecimal("36.50").compareTo(jdbcTemplate.queryForObject(
+                "SELECT unit_price FROM material_catalogs WHERE vendor_id = 1 AND name = 'Concrete'", BigDecimal.class)));
+        // A blank cell keeps the stored value.
+        assertEquals(10, jdbcTemplate.queryForObject(
+                "SELECT in_stock FROM material_catalogs WHERE vendor_id = 1 AND name = 'Concrete'", Integer.class));
+    }
+
+    @Test
+    void ndjsonImportRejectsUnknownVendor() throws Exception {
+        var ndjson = """
+                {"vendorId": 2, "name": "Steel", "category": "Construction", "unitType": "kg", "unitPrice": 155}
+                {"vendorId": 999, "name": "Glass", "category": "Construction", "unitType": "m2", "unitPrice": 40}
+                """;
+
+        var report = importer.importPriceList(
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), PriceListFormat.NDJSON, null);
+
+        assertEquals(2, report.rowsRead());
+        assertEquals(1, report.updated());
+        assertEquals(1, report.rejected());
+        assertEquals("vendorId: Vendor not found with ID: 999", report.rejectedRows().get(0).error());
+    }
+}
@@ -0,0 +1,66 @@
+package io.fervo.takecost.projectestimation;
+
+import io.fervo.takecost.projectestimation.material.MaterialSearchDocument;
+import io.fervo.takecost.projectestimation.material.MaterialSearchHit;
+import io.fervo.takecost.projectestimation.material.MaterialSearchIndex;
+import io.fervo.takecost.projectestimation.vendor.VendorChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MaterialSearchIndexTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final MaterialSearchIndex index = new MaterialSearchIndex(null, null, null, meterRegistry);
+
+    @BeforeEach
+    public void setUp() {
+        index.indexAll(List.of(
+                document(1L, "Concrete", "Ready-mix for foundations", "Construction", "Cement", 1L, "Vendor A"),
+                document(2L, "Concrete Blocks", "Hollow blocks", "Masonry", "Blocks", 2L, "Vendor B"),
+                document(3L, "Steel Rebar", "Reinforcing bar", "Construction", "Steel", 2L, "Vendor B"),
+                document(4L, "Plywood Sheet", "Structural plywood", "Lumber", "Panels", 1L, "Vendor A")));
+    }
+
+    @Test
+    public void testSearchToleratesTyposAndRanksNameMatchesFirst() {
+        var hits = index.search("concreet", null, null, 10);
+
+        assertEquals(List.of(1L, 2L), ids(hits));
+        assertTrue(hits.get(0).score() > hits.get(1).score());
+        assertEquals(1, meterRegistry.get("material.search").timer().count());
+    }
+
+    @Test
+    public void testSearchAppliesCategoryAndVendorFilters() {
+        assertEquals(List.of(2L), ids(index.search("concrete", "masonry", null, 10)));
+        assertEquals(List.of(3L), ids(index.search("construction", null, 2L, 10)));
+    }
+
+    @Test
+    public void testIndexFollowsUpdatesDeletesAndVendorRenames() {
+        index.index(document(4L, "Oriented Strand Board", "Structural panel", "Lumber", "Panels", 1L, null));
+        index.remove(3L);
+        index.onVendorChanged(new VendorChangedEvent(1L, "Northwind Supply"));
+
+        assertEquals(List.of(), ids(index.search("plywood", null, null, 10)));
+        assertEquals(List.of(), ids(index.search("rebar", null, null, 10)));
+        assertEquals(List.of(1L, 4L), ids(index.search("northwind", null, null, 10)).stream().sorted().toList());
+        assertEquals("Northwind Supply", index.search("strand board", null, null, 1).get(0).vendorName());
+        assertEquals(3, index.size());
+    }
+
+    private static MaterialSearchDocument document(Long id, String name, String description, String category,
+                                                   String subCategory, Long vendorId, String vendorName) {
+        return new MaterialSearchDocument(id, name, description, category, subCategory, vendorId, vendorName, "unit", BigDecimal.TEN);
+    }
+
+    private static List<Long> ids(List<MaterialSearchHit> hits) {
+        return hits.stream().map(MaterialSearchHit::id).toList();
+    }
+}
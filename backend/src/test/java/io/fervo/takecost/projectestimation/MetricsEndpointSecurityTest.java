@@ -0,0 +1,53 @@
+package io.fervo.takecost.projectestimation;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {"METRICS_USERNAME=scraper", "METRICS_PASSWORD=scrape-secret"})
+class MetricsEndpointSecurityTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void healthStaysOpen() throws Exception {
+        mockMvc.perform(get("/actuator/health")).andExpect(status().isOk());
+    }
+
+    @Test
+    void scrapeNeedsTheScraperCredentials() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus")).andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/prometheus").with(httpBasic("scraper", "wrong"))).andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/prometheus").with(user("admin").roles("ADMIN"))).andExpect(status().isForbidden());
+    }
+
+    @Test
+    void scraperCannotCallTheApi() throws Exception {
+        mockMvc.perform(get("/api/v1/projects").with(httpBasic("scraper", "scrape-secret")))
+                .andExpect(status().is4xxClientError());
+    }
+
+    @Test
+    void scrapeExposesServiceTimersAndCacheCounters() throws Exception {
+        mockMvc.perform(get("/api/v1/projects/summary").with(user("admin").roles("ADMIN"))).andExpect(status().isOk());
+        mockMvc.perform(get("/api/v1/projects/summary").with(user("admin").roles("ADMIN"))).andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/prometheus").with(httpBasic("scraper", "scrape-secret")))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("service_invocations_seconds_bucket{")))
+                .andExpect(content().string(containsString("method=\"getProjectSummary\"")))
+                .andExpect(content().string(containsString("spring_data_repository_invocations_seconds_bucket{")))
+                .andExpect(content().string(containsString("cache=\"projects.summary\"")));
+    }
+}
@@ -0,0 +1,34 @@
+package io.fervo.takecost.projectestimation;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Base class for tests that need the full application against a real PostgreSQL. The datasource
+ * placeholders below only satisfy application.yaml; the container's service connection replaces them.
+ * Skipped when Docker is not available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(properties = {
+        "ACTIVE_PROFILES=test",
+        "SERVER_PORT=0",
+        "SPRING_DATASOURCE_URL=jdbc:postgresql://localhost:5432/unused",
+        "SPRING_DATASOURCE_USERNAME=unused",
+        "SPRING_DATASOURCE_PASSWORD=unused",
+        "SPRING_JPA_HIBERNATE_DDL_AUTO=create-drop",
+        "SPRING_JPA_FETCH_SIZE=10",
+        "SPRING_JPA_FORMAT_SQL=false",
+        "SPRING_JPA_SHOW_SQL=false",
+        "JWT_SECRET_KEY=" + TestSecrets.JWT_SECRET_KEY,
+        "JWT_TOKEN_EXPIRATION=3600000",
+        "spring.jpa.defer-datasource-initialization=true"
+})
+public abstract class PostgresIntegrationTest {
+
+    @Container
+    @ServiceConnection
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:15");
+}
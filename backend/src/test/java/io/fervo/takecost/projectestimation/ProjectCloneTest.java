@@ -0,0 +1,124 @@
+package io.fervo.takecost.projectestimation;
+
+import com.jayway.jsonpath.JsonPath;
+import io.fervo.takecost.projectestimation.project.ProjectCostRollupService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+class ProjectCloneTest extends PostgresIntegrationTest {
+    private static final long PROJECT_ID = 4_000_000L;
+    // More than one block of sequence ids, and not a multiple of the block size.
+    private static final int MATERIAL_LINES = 120;
+    private static final int LABOR_LINES = 3;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ProjectCostRollupService costRollupService;
+
+    @BeforeEach
+    void createProjectWithLines() {
+        jdbcTemplate.update("DELETE FROM project_materials WHERE project_id = ?", PROJECT_ID);
+        jdbcTemplate.update("DELETE FROM project_labor WHERE project_id = ?", PROJECT_ID);
+        jdbcTemplate.update("DELETE FROM project_cost_rollups WHERE project_id = ?", PROJECT_ID);
+        jdbcTemplate.update("DELETE FROM projects WHERE id = ?", PROJECT_ID);
+        jdbcTemplate.update("INSERT INTO projects (id, name, location, status) VALUES (?, 'Clone source', 'Harbourfront', 'IN_PROGRESS')", PROJECT_ID);
+        jdbcTemplate.update("""
+                INSERT INTO project_materials (id, project_id, material_catalog_id, quantity, unit_price, notes)
+                SELECT ? + n, ?, 1, 2.0, 10, 'Line ' || n FROM generate_series(1, ?) AS n
+                """, PROJECT_ID, PROJECT_ID, MATERIAL_LINES);
+        jdbcTemplate.update("""
+                INSERT INTO project_labor (id, project_id, labor_category_id, hourly_rate, estimated_hours)
+                SELECT ? + n, ?, 1, 50, 4 FROM generate_series(1, ?) AS n
+                """, PROJECT_ID, PROJECT_ID, LABOR_LINES);
+        costRollupService.refresh(PROJECT_ID);
+    }
+
+    @Test
+    void cloneCopiesEveryLineAndTheEstimate() throws Exception {
+        var created = mockMvc.perform(post("/api/v1/projects/{id}/clone", PROJECT_ID)
+                        .with(user("admin").roles("ADMIN"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"Clone target " + System.nanoTime() + "\"}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.location").value("Harbourfront"))
+                .andExpect(jsonPath("$.status").value("PLANNED"))
+                .andReturn();
+        long cloneId = JsonPath.<Number>read(created.getResponse().getContentAsString(), "$.id").longValue();
+
+        assertEquals(MATERIAL_LINES, lines("project_materials", cloneId));
+        assertEquals(LABOR_LINES, lines("project_labor", cloneId));
+        mockMvc.perform(get("/api/v1/projects/{id}/estimate", cloneId).with(user("admin").roles("ADMIN")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalMaterialCost").value(2400.0))
+                .andExpect(jsonPath("$.totalLaborCost").value(600.0));
+
+        // Lines added through Hibernate afterwards must not collide with the ids drawn by the copy.
+        for (int i = 0; i < 60; i++) {
+            mockMvc.perform(post("/api/v1/projects/{projectId}/materials", cloneId)
+                            .with(user("admin").roles("ADMIN"))
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"materialId\": 1, \"quantity\": 1.0, \"unitPrice\": 1}"))
+                    .andExpect(status().isCreated());
+        }
+        assertEquals(MATERIAL_LINES + 60, lines("project_materials", cloneId));
+    }
+
+    @Test
+    void expandedAssemblyScalesItsLines() throws Exception {
+        var created = mockMvc.perform(post("/api/v1/assemblies")
+                        .with(user("admin").roles("ADMIN"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"name": "Partition wall", "materials": [{"materialId": 1, "quantity": 1.5}],
+                                 "labor": [{"laborCategoryId": 1, "hourlyRate": 40, "estimatedHours": 2}]}
+                                """))
+                .andExpect(status().isCreated())
+                .andReturn();
+        long assemblyId = JsonPath.<Number>read(created.getResponse().getContentAsString(), "$.id").longValue();
+        var catalogPrice = jdbcTemplate.queryForObject("SELECT unit_price FROM material_catalogs WHERE id = 1", BigDecimal.class);
+
+        mockMvc.perform(post("/api/v1/assemblies/{id}/expand", assemblyId)
+                        .with(user("admin").roles("ADMIN"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"projectId\": " + PROJECT_ID + ", \"multiplier\": 2}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.materialLines").value(1))
+                .andExpect(jsonPath("$.laborLines").value(1));
+
+        var materialCost = new BigDecimal("2400").add(catalogPrice.multiply(new BigDecimal("3")));
+        mockMvc.perform(get("/api/v1/projects/{id}/estimate", PROJECT_ID).with(user("admin").roles("ADMIN")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalMaterialCost").value(materialCost.doubleValue()))
+                .andExpect(jsonPath("$.totalLaborCost").value(760.0));
+
+        mockMvc.perform(post("/api/v1/assemblies/{id}/expand", assemblyId)
+                        .with(user("admin").roles("ADMIN"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"projectId\": 999999999, \"multiplier\": 2}"))
+                .andExpect(status().isNotFound());
+    }
+
+    private int lines(String table, long projectId) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table + " WHERE project_id = ?", Integer.class, projectId);
+    }
+}
@@ -0,0 +1,132 @@
+package io.fervo.takecost.projectestimation;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.fervo.takecost.projectestimation.project.ProjectCostRollupService;
+import io.fervo.takecost.projectestimation.project.ProjectEstimatesRequest;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Compares one batch estimate call against one estimate call per project for a dashboard-sized
+ * page of projects. Run with {@code ./gradlew :backend:benchmarkTest}.
+ */
+@Tag("benchmark")
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ProjectEstimatesBenchmarkTest extends PostgresIntegrationTest {
+    private static final Logger log = LoggerFactory.getLogger(ProjectEstimatesBenchmarkTest.class);
+
+    private static final long FIRST_PROJECT_ID = 1_000_000L;
+    private static final int PROJECTS = 200;
+    private static final int MATERIAL_LINES_PER_PROJECT = 50;
+    private static final int LABOR_LINES_PER_PROJECT = 20;
+    private static final int ROUNDS = 5;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ProjectCostRollupService costRollupService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private List<Long> projectIds;
+
+    @BeforeAll
+    void seedPortfolio() {
+        projectIds = LongStream.range(FIRST_PROJECT_ID, FIRST_PROJECT_ID + PROJECTS).boxed().toList();
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO projects (id, name, location, start_date, end_date, status) " +
+                        "VALUES (?, ?, 'Benchmark', DATE '2025-01-01', DATE '2025-12-31', 'PLANNED')",
+                projectIds, 500, (ps, id) -> {
+                    ps.setLong(1, id);
+                    ps.setString(2, "Benchmark " + id);
+                });
+
+        var materialLines = new ArrayList<Object[]>();
+        var laborLines = new ArrayList<Object[]>();
+        long lineId = FIRST_PROJECT_ID;
+        for (var projectId : projectIds) {
+            for (int i = 0; i < MATERIAL_LINES_PER_PROJECT; i++) {
+                materialLines.add(new Object[]{lineId++, projectId, (long) (i % 2) + 1, (double) (i + 1), BigDecimal.valueOf(12.5)});
+            }
+            for (int i = 0; i < LABOR_LINES_PER_PROJECT; i++) {
+                laborLines.add(new Object[]{lineId++, projectId, (long) (i % 2) + 1, BigDecimal.valueOf(80), BigDecimal.valueOf(i + 1)});
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO project_materials (id, project_id, material_catalog_id, quantity, unit_price) " +
+                "VALUES (?, ?, ?, ?, ?)", materialLines);
+        jdbcTemplate.batchUpdate("INSERT INTO project_labor (id, project_id, labor_category_id, hourly_rate, estimated_hours) " +
+                "VALUES (?, ?, ?, ?, ?)", laborLines);
+        costRollupService.rebuildDrifted();
+    }
+
+    @Test
+    void batchEstimateIsFasterThanOneCallPerProject() throws Exception {
+        // Warm up both paths before measuring.
+        estimateOneByOne();
+        estimateInBatch();
+
+        long singleNanos = Long.MAX_VALUE;
+        long batchNanos = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            estimateOneByOne();
+            singleNanos = Math.min(singleNanos, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            estimateInBatch();
+            batchNanos = Math.min(batchNanos, System.nanoTime() - start);
+        }
+
+        var timings = String.format("Estimates for %d projects: %d single calls %.1f ms, one batch call %.1f ms (best of %d)",
+                PROJECTS, PROJECTS,
+                TimeUnit.NANOSECONDS.toMicros(singleNanos) / 1000.0,
+                TimeUnit.NANOSECONDS.toMicros(batchNanos) / 1000.0,
+                ROUNDS);
+        log.info(timings);
+        assertTrue(batchNanos < singleNanos, "Batch estimate should beat one call per project. " + timings);
+    }
+
+    private void estimateOneByOne() throws Exception {
+        for (var projectId : projectIds) {
+            mockMvc.perform(get("/api/v1/projects/{projectId}/estimate", projectId).with(user("admin").roles("ADMIN")))
+                    .andExpect(status().isOk());
+        }
+    }
+
+    private void estimateInBatch() throws Exception {
+        mockMvc.perform(post("/api/v1/projects/estimates")
+                        .with(user("admin").roles("ADMIN"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ProjectEstimatesRequest(projectIds))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(PROJECTS));
+    }
+}
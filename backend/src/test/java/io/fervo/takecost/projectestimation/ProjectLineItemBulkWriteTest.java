@@ -0,0 +1,164 @@
+package io.fervo.takecost.projectestimation;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.fervo.takecost.projectestimation.project.ProjectCostRollupService;
+import io.fervo.takecost.projectestimation.projectlabor.BulkUpdateProjectLaborDTO;
+import io.fervo.takecost.projectestimation.projectlabor.CreateProjectLaborDTO;
+import io.fervo.takecost.projectestimation.projectlabor.ProjectLaborBulkRequest;
+import io.fervo.takecost.projectestimation.projectmaterial.BulkUpdateProjectMaterialDTO;
+import io.fervo.takecost.projectestimation.projectmaterial.CreateProjectMaterialDTO;
+import io.fervo.takecost.projectestimation.projectmaterial.ProjectMaterialBulkRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+class ProjectLineItemBulkWriteTest extends PostgresIntegrationTest {
+    private static final long PROJECT_ID = 2_000_000L;
+    private static final int LINES = 10_000;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ProjectCostRollupService costRollupService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void createProject() {
+        jdbcTemplate.update("DELETE FROM project_materials WHERE project_id = ?", PROJECT_ID);
+        jdbcTemplate.update("DELETE FROM project_labor WHERE project_id = ?", PROJECT_ID);
+        jdbcTemplate.update("DELETE FROM project_cost_rollups WHERE project_id = ?", PROJECT_ID);
+        jdbcTemplate.update("DELETE FROM projects WHERE id = ?", PROJECT_ID);
+        jdbcTemplate.update("INSERT INTO projects (id, name, status) VALUES (?, 'Bulk write', 'PLANNED')", PROJECT_ID);
+        costRollupService.initialize(PROJECT_ID);
+    }
+
+    @Test
+    void bulkCreateWritesAllLinesAndRollup() throws Exception {
+        var lines = IntStream.range(0, LINES)
+                .mapToObj(i -> new CreateProjectMaterialDTO((long) (i % 2) + 1, 2.0, BigDecimal.valueOf(5), null))
+                .toList();
+
+        mockMvc.perform(post("/api/v1/projects/{projectId}/materials/bulk", PROJECT_ID)
+                        .with(user("admin").roles("ADMIN"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ProjectMaterialBulkRequest(lines, null, null))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.applied").value(true))
+                .andExpect(jsonPath("$.created").value(LINES))
+                .andExpect(jsonPath("$.lines[9999].id").isNumber());
+
+        var rollup = costRollupService.getRollup(PROJECT_ID);
+        assertEquals(LINES, rollup.getMaterialLineCount());
+        assertEquals(0, BigDecimal.valueOf(LINES * 10L).compareTo(rollup.getMaterialTotal()));
+    }
+
+    @Test
+    void rejectedLineWritesNothing() throws Exception {
+        var lines = List.of(
+                new CreateProjectMaterialDTO(1L, 1.0, BigDecimal.ONE, null),
+                new CreateProjectMaterialDTO(-1L, 1.0, BigDecimal.ONE, null));
+
+        mockMvc.perform(post("/api/v1/projects/{projectId}/materials/bulk", PROJECT_ID)
+                        .with(user("admin").roles("ADMIN"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ProjectMaterialBulkRequest(lines, null, List.of(42L)))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.applied").value(false))
+                .andExpect(jsonPath("$.lines[0].error").doesNotExist())
+                .andExpect(jsonPath("$.lines[1].error").value("MaterialCatalog not found with ID: -1"))
+                .andExpect(jsonPath("$.lines[2].error").value("Project Material not found with ID: 42"));
+
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM project_materials WHERE project_id = ?", Long.class, PROJECT_ID));
+    }
+
+    @Test
+    void updateWithoutQuantityOrPriceIsRejected() throws Exception {
+        var lineId = createMaterialLine();
+        var update = List.of(new BulkUpdateProjectMaterialDTO(lineId, null, BigDecimal.ONE, null));
+
+        mockMvc.perform(post("/api/v1/projects/{projectId}/materials/bulk", PROJECT_ID)
+                        .with(user("admin").roles("ADMIN"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ProjectMaterialBulkRequest(null, update, null))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.applied").value(false))
+                .andExpect(jsonPath("$.lines[0].error").value("Quantity and unit price are required"));
+
+        assertEquals(1.0, jdbcTemplate.queryForObject("SELECT quantity FROM project_materials WHERE id = ?", Double.class, lineId));
+    }
+
+    @Test
+    void bulkLaborWritesLinesAndRollup() throws Exception {
+        var creates = List.of(
+                new CreateProjectLaborDTO(1L, 50.0, 10.0),
+                new CreateProjectLaborDTO(2L, 80.0, 5.0));
+
+        var body = mockMvc.perform(post("/api/v1/projects/{projectId}/labor/bulk", PROJECT_ID)
+                        .with(user("admin").roles("ADMIN"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ProjectLaborBulkRequest(creates, null, null))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.applied").value(true))
+                .andExpect(jsonPath("$.created").value(2))
+                .andReturn().getResponse().getContentAsString();
+        var ids = objectMapper.readTree(body).get("lines");
+        long first = ids.get(0).get("id").asLong();
+        long second = ids.get(1).get("id").asLong();
+
+        var updates = List.of(new BulkUpdateProjectLaborDTO(first, 2L, 60.0, 10.0));
+        mockMvc.perform(post("/api/v1/projects/{projectId}/labor/bulk", PROJECT_ID)
+                        .with(user("admin").roles("ADMIN"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ProjectLaborBulkRequest(null, updates, List.of(second)))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.applied").value(true));
+
+        var rollup = costRollupService.getRollup(PROJECT_ID);
+        assertEquals(1, rollup.getLaborLineCount());
+        assertEquals(0, BigDecimal.valueOf(600).compareTo(rollup.getLaborTotal()));
+
+        mockMvc.perform(post("/api/v1/projects/{projectId}/labor/bulk", PROJECT_ID)
+                        .with(user("admin").roles("ADMIN"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ProjectLaborBulkRequest(
+                                List.of(new CreateProjectLaborDTO(-1L, 1.0, 1.0)), null, List.of(second)))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.applied").value(false))
+                .andExpect(jsonPath("$.lines[0].error").value("Labor category not found with ID: -1"))
+                .andExpect(jsonPath("$.lines[1].error").value("Project Labor not found with ID: " + second));
+
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM project_labor WHERE project_id = ?", Long.class, PROJECT_ID));
+    }
+
+    private long createMaterialLine() throws Exception {
+        var create = List.of(new CreateProjectMaterialDTO(1L, 1.0, BigDecimal.ONE, null));
+        var body = mockMvc.perform(post("/api/v1/projects/{projectId}/materials/bulk", PROJECT_ID)
+                        .with(user("admin").roles("ADMIN"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ProjectMaterialBulkRequest(create, null, null))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("lines").get(0).get("id").asLong();
+    }
+}
@@ -0,0 +1,117 @@
+package io.fervo.takecost.projectestimation;
+
+import io.fervo.takecost.projectestimation.projectmaterial.ProjectMaterial;
+import io.fervo.takecost.projectestimation.projectmaterial.ProjectMaterialDTO;
+import io.fervo.takecost.projectestimation.projectmaterial.ProjectMaterialMapper;
+import io.fervo.takecost.projectestimation.projectmaterial.ProjectMaterialService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares the old entity + MapStruct read path of project materials with the projection query:
+ * statements sent for one page of lines that each reference a different catalog entry and
+ * vendor.
+ */
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class ProjectionReadPathTest extends PostgresIntegrationTest {
+    private static final long PROJECT_ID = 3_000_000L;
+    private static final int LINES = 20;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ProjectMaterialMapper projectMaterialMapper;
+
+    @Autowired
+    private ProjectMaterialService projectMaterialService;
+
+    @BeforeEach
+    void createProject() {
+        jdbcTemplate.update("DELETE FROM project_materials WHERE project_id = ?", PROJECT_ID);
+        jdbcTemplate.update("DELETE FROM material_catalogs WHERE id >= ?", PROJECT_ID);
+        jdbcTemplate.update("DELETE FROM vendors WHERE id >= ?", PROJECT_ID);
+        jdbcTemplate.update("DELETE FROM projects WHERE id = ?", PROJECT_ID);
+        jdbcTemplate.update("INSERT INTO projects (id, name, status) VALUES (?, 'Projection reads', 'PLANNED')", PROJECT_ID);
+        for (long i = 0; i < LINES; i++) {
+            var id = PROJECT_ID + i;
+            jdbcTemplate.update("INSERT INTO vendors (id, name) VALUES (?, ?)", id, "Vendor " + i);
+            jdbcTemplate.update("""
+                    INSERT INTO material_catalogs (id, name, category, unit_type, unit_price, in_stock, lead_time_days, vendor_id)
+                    VALUES (?, ?, 'Construction', 'kg', 10, 0, 0, ?)
+                    """, id, "Material " + i, id);
+            jdbcTemplate.update("""
+                    INSERT INTO project_materials (id, project_id, material_catalog_id, quantity, unit_price)
+                    VALUES (?, ?, ?, 2, 5)
+                    """, id, PROJECT_ID, id);
+        }
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+    }
+
+    @Test
+    void projectionReadsOnePageInOneStatement() {
+        var readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        var entityPath = measure(() -> readOnly.execute(status -> entityManager
+                .createQuery("SELECT pm FROM ProjectMaterial pm WHERE pm.project.id = :projectId ORDER BY pm.id", ProjectMaterial.class)
+                .setParameter("projectId", PROJECT_ID)
+                .getResultStream()
+                .map(projectMaterialMapper::toDTO)
+                .toList()));
+        var projectionPath = measure(() -> projectMaterialService
+                .getAllByProjectId(PROJECT_ID, PageRequest.of(0, 50, Sort.by("id")))
+                .getContent());
+
+        // The page is not full, so Spring Data skips the count query.
+        assertEquals(1, projectionPath.statements());
+        assertTrue(entityPath.statements() > LINES, "eager catalog loads expected on the entity path");
+        assertEquals(entityPath.rows().stream().map(ProjectMaterialDTO::id).toList(),
+                projectionPath.rows().stream().map(ProjectMaterialDTO::id).toList());
+
+        var line = projectionPath.rows().get(0);
+        assertEquals(PROJECT_ID, line.projectId());
+        assertEquals(PROJECT_ID, line.materialCatalog().vendorId());
+        assertEquals("Material 0", line.materialCatalog().name());
+    }
+
+    private Measurement measure(Supplier<List<ProjectMaterialDTO>> read) {
+        var statistics = statistics();
+        statistics.clear();
+        var rows = read.get();
+        return new Measurement(rows, statistics.getPrepareStatementCount());
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private record Measurement(List<ProjectMaterialDTO> rows, long statements) {
+    }
+}
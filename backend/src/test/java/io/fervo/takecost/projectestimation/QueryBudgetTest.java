@@ -0,0 +1,298 @@
+package io.fervo.takecost.projectestimation;
+
+import com.jayway.jsonpath.JsonPath;
+import io.fervo.takecost.projectestimation.project.ProjectCostRollupService;
+import io.fervo.takecost.projectestimation.responsecache.ReferenceListingCache;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Statement budgets for the REST endpoints, counted with {@link StatementCounter}. Every line item,
+ * catalog entry, vendor and labor category seeded here is distinct, so a lazy or eager association
+ * loaded per row shows up as extra statements. Listings are requested with a small and a large page
+ * and must cost the same either way.
+ */
+@AutoConfigureMockMvc
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=io.fervo.takecost.projectestimation.StatementCounter")
+class QueryBudgetTest extends PostgresIntegrationTest {
+    private static final long BASE_ID = 4_000_000L;
+    private static final long PROJECT_ID = BASE_ID;
+    private static final int ROWS = 30;
+    private static final int SMALL_PAGE = 5;
+    private static final int LARGE_PAGE = 25;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ProjectCostRollupService costRollupService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ReferenceListingCache listingCache;
+
+    @BeforeEach
+    void seed() {
+        var last = BASE_ID + ROWS;
+        jdbcTemplate.update("DELETE FROM project_materials WHERE project_id BETWEEN ? AND ?", BASE_ID, last);
+        jdbcTemplate.update("DELETE FROM project_labor WHERE project_id BETWEEN ? AND ?", BASE_ID, last);
+        jdbcTemplate.update("DELETE FROM project_cost_rollups WHERE project_id BETWEEN ? AND ?", BASE_ID, last);
+        jdbcTemplate.update("DELETE FROM projects WHERE id BETWEEN ? AND ?", BASE_ID, last);
+        jdbcTemplate.update("DELETE FROM material_catalogs WHERE id BETWEEN ? AND ? OR vendor_id BETWEEN ? AND ?",
+                BASE_ID, last, BASE_ID, last);
+        jdbcTemplate.update("DELETE FROM vendors WHERE id BETWEEN ? AND ?", BASE_ID, last);
+        jdbcTemplate.update("DELETE FROM labor_categories WHERE id BETWEEN ? AND ?", BASE_ID, last);
+        for (long i = 0; i < ROWS; i++) {
+            var id = BASE_ID + i;
+            jdbcTemplate.update("INSERT INTO projects (id, name, status, start_date) VALUES (?, ?, 'PLANNED', CURRENT_DATE + 30)",
+                    id, "Budget project " + i);
+            jdbcTemplate.update("INSERT INTO vendors (id, name) VALUES (?, ?)", id, "Budget vendor " + i);
+            jdbcTemplate.update("INSERT INTO labor_categories (id, name) VALUES (?, ?)", id, "Budget trade " + i);
+            jdbcTemplate.update("""
+                    INSERT INTO material_catalogs (id, name, category, unit_type, unit_price, in_stock, lead_time_days, vendor_id)
+                    VALUES (?, ?, 'Construction', 'kg', 10, 0, 0, ?)
+                    """, id, "Budget material " + i, id);
+        }
+        for (long i = 0; i < ROWS; i++) {
+            var id = BASE_ID + i;
+            jdbcTemplate.update("""
+                    INSERT INTO project_materials (id, project_id, material_catalog_id, quantity, unit_price)
+                    VALUES (?, ?, ?, 2, 5)
+                    """, id, PROJECT_ID, id);
+            jdbcTemplate.update("""
+                    INSERT INTO project_labor (id, project_id, labor_category_id, hourly_rate, estimated_hours)
+                    VALUES (?, ?, ?, 40, 8)
+                    """, id, PROJECT_ID, id);
+        }
+        costRollupService.rebuildDrifted();
+        // The rows were replaced behind Hibernate's back; budgets are for cold second-level and listing caches.
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+        listingCache.invalidateAll();
+    }
+
+    static Stream<Arguments> listings() {
+        return Stream.of(
+                listing("projects", size -> "/api/v1/projects?size=" + size, 2),
+                listing("projects scroll", size -> "/api/v1/projects/scroll?size=" + size, 1),
+                listing("project materials", size -> "/api/v1/projects/" + PROJECT_ID + "/materials?size=" + size, 2),
+                listing("project materials scroll", size -> "/api/v1/projects/" + PROJECT_ID + "/materials/scroll?size=" + size, 1),
+                listing("project labor", size -> "/api/v1/projects/" + PROJECT_ID + "/labor?size=" + size, 2),
+                listing("project labor scroll", size -> "/api/v1/projects/" + PROJECT_ID + "/labor/scroll?size=" + size, 1),
+                listing("materials", size -> "/api/v1/materials?size=" + size, 2),
+                listing("vendors", size -> "/api/v1/vendors?size=" + size, 2),
+                listing("labor categories", size -> "/api/v1/labor-categories?size=" + size, 2),
+                listing("estimates", size -> "/api/v1/projects/estimates?ids=" + projectIds(size), 1),
+                listing("material search", size -> "/api/v1/materials/search?q=budget+material&limit=" + size, 0),
+                listing("autocomplete", size -> "/api/v1/autocomplete?type=MATERIAL&prefix=budget&limit=" + size, 0));
+    }
+
+    static Stream<Arguments> singleReads() {
+        return Stream.of(
+                Arguments.of("project", "/api/v1/projects/" + PROJECT_ID, 1),
+                Arguments.of("project material", "/api/v1/projects/" + PROJECT_ID + "/materials/" + PROJECT_ID, 1),
+                Arguments.of("project labor", "/api/v1/projects/" + PROJECT_ID + "/labor/" + PROJECT_ID, 1),
+                Arguments.of("material", "/api/v1/materials/" + BASE_ID, 1),
+                Arguments.of("vendor", "/api/v1/vendors/" + BASE_ID, 1),
+                Arguments.of("labor category", "/api/v1/labor-categories/" + BASE_ID, 1),
+                Arguments.of("estimate", "/api/v1/projects/" + PROJECT_ID + "/estimate", 1),
+                Arguments.of("cost breakdown", "/api/v1/projects/" + PROJECT_ID + "/cost-breakdown", 1),
+                Arguments.of("summary", "/api/v1/projects/summary", 1),
+                Arguments.of("upcoming projects", "/api/v1/projects/upcoming", 1));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("listings")
+    void listingCostDoesNotGrowWithPageSize(String name, IntFunction<String> url, int budget) throws Exception {
+        var small = statements(get(url.apply(SMALL_PAGE)));
+        var large = statements(get(url.apply(LARGE_PAGE)));
+
+        assertEquals(small, large, name + ": statements grow with the page size");
+        assertTrue(large <= budget, name + ": " + large + " statements, budget " + budget);
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("singleReads")
+    void singleReadStaysWithinBudget(String name, String url, int budget) throws Exception {
+        var count = statements(get(url));
+
+        assertTrue(count <= budget, name + ": " + count + " statements, budget " + budget);
+    }
+
+    @Test
+    void exportCostDoesNotGrowWithLines() throws Exception {
+        for (var path : new String[]{"/api/v1/exports/materials", "/api/v1/exports/labor"}) {
+            StatementCounter.reset();
+            var started = mockMvc.perform(get(path).param("projectId", String.valueOf(PROJECT_ID))
+                            .with(user("admin").roles("ADMIN")))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            mockMvc.perform(asyncDispatch(started)).andExpect(status().isOk());
+
+            // One existence check and one streaming query, whatever the number of lines.
+            assertTrue(StatementCounter.count() <= 2, path + ": " + StatementCounter.count() + " statements");
+        }
+    }
+
+    @Test
+    void lineItemWritesStayWithinBudget() throws Exception {
+        var materials = "/api/v1/projects/" + PROJECT_ID + "/materials";
+        assertWithinBudget("create material line", 6, post(materials)
+                .content("{\"materialId\": " + BASE_ID + ", \"quantity\": 3, \"unitPrice\": 7}"));
+        assertWithinBudget("update material line", 6, put(materials + "/" + PROJECT_ID)
+                .content("{\"quantity\": 4, \"unitPrice\": 7}"));
+        assertWithinBudget("delete material line", 6, delete(materials + "/" + (PROJECT_ID + 1)));
+
+        var labor = "/api/v1/projects/" + PROJECT_ID + "/labor";
+        var laborLine = "{\"projectId\": " + PROJECT_ID + ", \"laborCategoryId\": " + BASE_ID
+                + ", \"hourlyRate\": 50, \"estimatedHours\": 10}";
+        assertWithinBudget("create labor line", 6, post(labor).content(laborLine));
+        assertWithinBudget("update labor line", 8, put(labor + "/" + PROJECT_ID).content(laborLine));
+        assertWithinBudget("delete labor line", 6, delete(labor + "/" + (PROJECT_ID + 1)));
+    }
+
+    @Test
+    void bulkWriteCostGrowsWithBatchesNotLines() throws Exception {
+        var few = statements(post("/api/v1/projects/" + PROJECT_ID + "/materials/bulk").content(bulkCreate(10)));
+        var many = statements(post("/api/v1/projects/" + PROJECT_ID + "/materials/bulk").content(bulkCreate(500)));
+
+        // 490 more lines may cost a few more insert batches and sequence calls, never one statement each.
+        assertTrue(many - few <= 30, "bulk create: " + few + " statements for 10 lines, " + many + " for 500");
+
+        var fewLabor = statements(post("/api/v1/projects/" + PROJECT_ID + "/labor/bulk").content(bulkLaborCreate(10)));
+        var manyLabor = statements(post("/api/v1/projects/" + PROJECT_ID + "/labor/bulk").content(bulkLaborCreate(500)));
+
+        assertTrue(manyLabor - fewLabor <= 30, "bulk labor create: " + fewLabor + " statements for 10 lines, " + manyLabor + " for 500");
+    }
+
+    @Test
+    void priceListImportCostGrowsWithBatchesNotRows() throws Exception {
+        var few = statements(post("/api/v1/materials/import").param("vendorId", String.valueOf(BASE_ID))
+                .contentType("text/csv").content(priceList(10)));
+        var many = statements(post("/api/v1/materials/import").param("vendorId", String.valueOf(BASE_ID))
+                .contentType("text/csv").content(priceList(500)));
+
+        // One vendor and one catalog lookup per chunk, then batched inserts and updates.
+        assertTrue(many - few <= 30, "price list import: " + few + " statements for 10 rows, " + many + " for 500");
+    }
+
+    @Test
+    void referenceDataWritesStayWithinBudget() throws Exception {
+        assertCrudWithinBudget("vendor", "/api/v1/vendors", "{\"name\": \"Budget vendor new\"}");
+        assertCrudWithinBudget("labor category", "/api/v1/labor-categories", "{\"name\": \"Budget trade new\"}");
+        assertCrudWithinBudget("material", "/api/v1/materials", "{\"name\": \"Budget material new\", \"category\": \"Construction\", "
+                + "\"unitType\": \"kg\", \"unitPrice\": 10, \"inStock\": 0, \"leadTimeDays\": 0, \"vendorId\": " + BASE_ID + "}");
+    }
+
+    @Test
+    void rollupRebuildsStayWithinBudget() throws Exception {
+        assertWithinBudget("rebuild project rollup", 4, post("/api/v1/projects/" + PROJECT_ID + "/estimate/rebuild"));
+
+        jdbcTemplate.update("UPDATE project_cost_rollups SET material_total = material_total + 1 WHERE project_id BETWEEN ? AND ?", BASE_ID, BASE_ID + ROWS);
+        // One drift query and one rebuild per batch of drifted projects.
+        assertWithinBudget("rebuild drifted rollups", 2, post("/api/v1/projects/estimate/rebuild"));
+    }
+
+    @Test
+    void authStaysOffTheDatabase() throws Exception {
+        StatementCounter.reset();
+        var login = mockMvc.perform(post("/api/v1/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\": \"admin\", \"password\": \"password\"}"))
+                .andExpect(status().isOk())
+                .andReturn();
+        String token = JsonPath.read(login.getResponse().getContentAsString(), "$.token");
+        mockMvc.perform(post("/api/v1/auth/logout").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(post("/api/v1/auth/users/{username}/revoke-tokens", "budget-user").with(user("admin").roles("ADMIN")))
+                .andExpect(status().isNoContent());
+
+        // Users are held in memory and revocations in local caches.
+        assertEquals(0, StatementCounter.count(), "auth: " + StatementCounter.count() + " statements");
+    }
+
+    private void assertCrudWithinBudget(String name, String path, String body) throws Exception {
+        StatementCounter.reset();
+        var created = mockMvc.perform(post(path).content(body).contentType(MediaType.APPLICATION_JSON)
+                        .with(user("admin").roles("ADMIN")))
+                .andExpect(status().isCreated())
+                .andReturn();
+        assertTrue(StatementCounter.count() <= 4, "create " + name + ": " + StatementCounter.count() + " statements, budget 4");
+
+        long id = ((Number) JsonPath.read(created.getResponse().getContentAsString(), "$.id")).longValue();
+        assertWithinBudget("update " + name, 6, put(path + "/" + id).content(body));
+        assertWithinBudget("delete " + name, 4, delete(path + "/" + id));
+    }
+
+    private void assertWithinBudget(String name, int budget, MockHttpServletRequestBuilder request) throws Exception {
+        var count = statements(request.contentType(MediaType.APPLICATION_JSON));
+        assertTrue(count <= budget, name + ": " + count + " statements, budget " + budget);
+    }
+
+    private long statements(MockHttpServletRequestBuilder request) throws Exception {
+        StatementCounter.reset();
+        mockMvc.perform(request.with(user("admin").roles("ADMIN"))).andExpect(status().is2xxSuccessful());
+        return StatementCounter.count();
+    }
+
+    private static String bulkCreate(int lines) {
+        var creates = LongStream.range(0, lines)
+                .mapToObj(i -> "{\"materialId\": " + (BASE_ID + i % ROWS) + ", \"quantity\": 1, \"unitPrice\": 1}")
+                .collect(Collectors.joining(","));
+        return "{\"create\": [" + creates + "]}";
+    }
+
+    private static String bulkLaborCreate(int lines) {
+        var creates = LongStream.range(0, lines)
+                .mapToObj(i -> "{\"laborCategoryId\": " + (BASE_ID + i % ROWS) + ", \"hourlyRate\": 1, \"estimatedHours\": 1}")
+                .collect(Collectors.joining(","));
+        return "{\"create\": [" + creates + "]}";
+    }
+
+    private static String priceList(int rows) {
+        return LongStream.range(0, rows)
+                .mapToObj(i -> "Budget import " + i + ",Construction,kg,1")
+                .collect(Collectors.joining("\n", "name,category,unitType,unitPrice\n", "\n"));
+    }
+
+    private static String projectIds(int count) {
+        return LongStream.range(0, count).mapToObj(i -> String.valueOf(BASE_ID + i)).collect(Collectors.joining(","));
+    }
+
+    private static Arguments listing(String name, IntFunction<String> url, int budget) {
+        return Arguments.of(name, url, budget);
+    }
+}
@@ -0,0 +1,99 @@
+package io.fervo.takecost.projectestimation;
+
+import io.fervo.takecost.projectestimation.laborcategory.LaborCategory;
+import io.fervo.takecost.projectestimation.laborcategory.LaborCategoryService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayInputStream;
+import java.util.zip.GZIPInputStream;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=io.fervo.takecost.projectestimation.StatementCounter")
+class ReferenceListingCacheTest extends PostgresIntegrationTest {
+    private static final String LISTING = "/api/v1/labor-categories?size=100&order=desc";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private LaborCategoryService laborCategoryService;
+
+    @Test
+    void repeatReadsAreServedFromMemoryAndRevalidated() throws Exception {
+        var first = mockMvc.perform(get(LISTING).with(user("admin").roles("ADMIN")))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("private")))
+                .andExpect(header().string(HttpHeaders.VARY, containsString(HttpHeaders.ACCEPT_ENCODING)))
+                .andReturn().getResponse();
+
+        StatementCounter.reset();
+        mockMvc.perform(get(LISTING).with(user("admin").roles("ADMIN")))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(first.getContentAsByteArray()));
+        mockMvc.perform(get(LISTING).with(user("admin").roles("ADMIN"))
+                        .header(HttpHeaders.IF_NONE_MATCH, first.getHeader(HttpHeaders.ETAG)))
+                .andExpect(status().isNotModified());
+        assertEquals(0, StatementCounter.count());
+    }
+
+    @Test
+    void gzipClientsGetTheSameListingCompressed() throws Exception {
+        var plain = mockMvc.perform(get(LISTING).with(user("admin").roles("ADMIN")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+        var compressed = mockMvc.perform(get(LISTING).with(user("admin").roles("ADMIN"))
+                        .header(HttpHeaders.ACCEPT_ENCODING, "br, gzip;q=0.8"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn().getResponse();
+
+        try (var in = new GZIPInputStream(new ByteArrayInputStream(compressed.getContentAsByteArray()))) {
+            assertArrayEquals(plain.getContentAsByteArray(), in.readAllBytes());
+        }
+        assertNotEquals(plain.getHeader(HttpHeaders.ETAG), compressed.getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void writesReplaceCachedListings() throws Exception {
+        var before = mockMvc.perform(get(LISTING).with(user("admin").roles("ADMIN")))
+                .andExpect(content().string(not(containsString("Zz listing cache trade"))))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        laborCategoryService.save(LaborCategory.builder().name("Zz listing cache trade").build());
+
+        mockMvc.perform(get(LISTING).with(user("admin").roles("ADMIN")).header(HttpHeaders.IF_NONE_MATCH, before))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("Zz listing cache trade")));
+    }
+
+    @Test
+    void apiDocsDescribeTheCachedPagePayload() throws Exception {
+        mockMvc.perform(get("/api-docs"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.paths['/api/v1/labor-categories'].get.responses['200'].content['application/json'].schema['$ref']")
+                        .value("#/components/schemas/LaborCategoryPage"))
+                .andExpect(jsonPath("$.components.schemas.LaborCategoryPage.properties.content.items['$ref']")
+                        .value("#/components/schemas/LaborCategoryDTO"))
+                .andExpect(jsonPath("$.components.schemas.VendorPage.properties.content.items['$ref']")
+                        .value("#/components/schemas/VendorDTO"))
+                .andExpect(jsonPath("$.components.schemas.MaterialCatalogPage.properties.content.items['$ref']")
+                        .value("#/components/schemas/MaterialCatalogDTO"));
+    }
+}
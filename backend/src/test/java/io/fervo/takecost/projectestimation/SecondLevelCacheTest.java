@@ -0,0 +1,113 @@
+package io.fervo.takecost.projectestimation;
+
+import io.fervo.takecost.projectestimation.config.SecondLevelCacheConfig;
+import io.fervo.takecost.projectestimation.laborcategory.LaborCategory;
+import io.fervo.takecost.projectestimation.laborcategory.LaborCategoryService;
+import io.fervo.takecost.projectestimation.material.MaterialCatalog;
+import io.fervo.takecost.projectestimation.material.MaterialCatalogService;
+import io.fervo.takecost.projectestimation.vendor.Vendor;
+import io.fervo.takecost.projectestimation.vendor.VendorService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.math.BigDecimal;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=io.fervo.takecost.projectestimation.StatementCounter",
+        "METRICS_USERNAME=scraper",
+        "METRICS_PASSWORD=scrape-secret"
+})
+class SecondLevelCacheTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private VendorService vendorService;
+
+    @Autowired
+    private MaterialCatalogService materialCatalogService;
+
+    @Autowired
+    private LaborCategoryService laborCategoryService;
+
+    @Test
+    void repeatReadsDoNotReachPostgres() throws Exception {
+        var vendor = vendorService.saveVendor(Vendor.builder().name("Cached vendor").build());
+        var material = materialCatalogService.save(MaterialCatalog.builder()
+                .name("Cached material")
+                .category("Construction")
+                .unitType("kg")
+                .unitPrice(BigDecimal.TEN)
+                .inStock(0)
+                .leadTimeDays(0)
+                .vendor(vendor)
+                .build());
+        var category = laborCategoryService.save(LaborCategory.builder().name("Cached trade").build());
+
+        for (var url : new String[]{
+                "/api/v1/vendors/" + vendor.getId(),
+                "/api/v1/materials/" + material.getId(),
+                "/api/v1/labor-categories/" + category.getId(),
+                "/api/v1/vendors?size=5",
+                "/api/v1/materials?size=5",
+                "/api/v1/labor-categories?size=5"}) {
+            statements(get(url));
+            assertEquals(0, statements(get(url)), url + ": repeat read reached the database");
+        }
+    }
+
+    @Test
+    void serviceWritesReplaceCachedEntries() throws Exception {
+        var vendor = vendorService.saveVendor(Vendor.builder().name("Before rename").build());
+        var url = "/api/v1/vendors/" + vendor.getId();
+        mockMvc.perform(get(url).with(user("admin").roles("ADMIN")))
+                .andExpect(jsonPath("$.name").value("Before rename"));
+
+        mockMvc.perform(put(url).with(user("admin").roles("ADMIN"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"After rename\"}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get(url).with(user("admin").roles("ADMIN")))
+                .andExpect(jsonPath("$.name").value("After rename"));
+
+        mockMvc.perform(delete(url).with(user("admin").roles("ADMIN"))).andExpect(status().isNoContent());
+        mockMvc.perform(get(url).with(user("admin").roles("ADMIN"))).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void actuatorReportsHitsAndMissesPerRegion() throws Exception {
+        var vendor = vendorService.saveVendor(Vendor.builder().name("Counted vendor").build());
+        vendorService.getVendorById(vendor.getId());
+
+        mockMvc.perform(get("/actuator/metrics/hibernate.second.level.cache.requests")
+                        .param("tag", "region:" + SecondLevelCacheConfig.VENDORS)
+                        .with(httpBasic("scraper", "scrape-secret")))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("\"hit\"")))
+                .andExpect(content().string(containsString("\"miss\"")));
+    }
+
+    private long statements(MockHttpServletRequestBuilder request) throws Exception {
+        StatementCounter.reset();
+        mockMvc.perform(request.with(user("admin").roles("ADMIN"))).andExpect(status().isOk());
+        return StatementCounter.count();
+    }
+}
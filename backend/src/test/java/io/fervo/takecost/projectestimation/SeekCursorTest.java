@@ -0,0 +1,45 @@
+package io.fervo.takecost.projectestimation;
+
+import io.fervo.takecost.projectestimation.pagination.CursorPage;
+import io.fervo.takecost.projectestimation.pagination.SeekCursor;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SeekCursorTest {
+
+    @Test
+    public void testCursorRoundTrip() {
+        var cursor = new SeekCursor(Sort.Direction.DESC, 42L, "Office: Phase 2");
+
+        var decoded = SeekCursor.decode(cursor.encode());
+
+        assertEquals(cursor, decoded);
+        assertEquals(SeekCursor.afterId(Sort.Direction.ASC, 7L), SeekCursor.decode(SeekCursor.afterId(Sort.Direction.ASC, 7L).encode()));
+    }
+
+    @Test
+    public void testDecodeRejectsForeignTokens() {
+        assertThrows(IllegalArgumentException.class, () -> SeekCursor.decode("not a cursor"));
+        assertThrows(IllegalArgumentException.class, () -> SeekCursor.decode("WDoxOmFiYw"));
+    }
+
+    @Test
+    public void testPageUsesExtraRowOnlyAsLookahead() {
+        var page = CursorPage.of(List.of(1L, 2L, 3L), 2, id -> SeekCursor.afterId(Sort.Direction.ASC, id));
+        var last = CursorPage.of(List.of(3L), 2, id -> SeekCursor.afterId(Sort.Direction.ASC, id));
+
+        assertEquals(List.of(1L, 2L), page.content());
+        assertTrue(page.hasNext());
+        assertEquals(2L, SeekCursor.decode(page.nextCursor()).id());
+        assertFalse(last.hasNext());
+        assertNull(last.nextCursor());
+    }
+}
@@ -0,0 +1,48 @@
+package io.fervo.takecost.projectestimation;
+
+import io.fervo.takecost.projectestimation.config.JwtUtils;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+class ServerTimingTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Test
+    void reportsEachPhaseOfAnAuthenticatedRead() throws Exception {
+        var token = jwtUtils.generateToken(User.withUsername("admin").password("unused").roles("ADMIN").build());
+
+        mockMvc.perform(get("/api/v1/projects/1").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Server-Timing", allOf(
+                        matchesPattern("^auth;dur=\\d+\\.\\d{2}, db;dur=\\d+\\.\\d{2}, json;dur=\\d+\\.\\d{2}, total;dur=\\d+\\.\\d{2}$"),
+                        not(containsString("map;")))))
+                .andExpect(header().string("Timing-Allow-Origin", "http://localhost:3000"));
+    }
+
+    @Test
+    void reportsErrorsToo() throws Exception {
+        var token = jwtUtils.generateToken(User.withUsername("admin").password("unused").roles("ADMIN").build());
+
+        mockMvc.perform(get("/api/v1/projects/999999999").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().is4xxClientError())
+                .andExpect(header().string("Server-Timing", containsString("total;dur=")));
+    }
+}
@@ -0,0 +1,47 @@
+package io.fervo.takecost.projectestimation;
+
+import io.fervo.takecost.projectestimation.config.JwtUtils;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * In stateless mode the principal comes from the token alone. The users here do not exist in the
+ * user store, so every accepted request proves the authorities were built from the roles claim.
+ */
+@AutoConfigureMockMvc
+@TestPropertySource(properties = "security.jwt.stateless=true")
+class StatelessJwtTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Test
+    void rolesClaimDrivesPreAuthorize() throws Exception {
+        var admin = token("stateless-admin", "ADMIN");
+        var member = token("stateless-member", "TEAM_MEMBER");
+
+        mockMvc.perform(post("/api/v1/projects/1/estimate/rebuild").header(HttpHeaders.AUTHORIZATION, "Bearer " + admin))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/v1/projects/1").header(HttpHeaders.AUTHORIZATION, "Bearer " + member))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/v1/projects/1/estimate/rebuild").header(HttpHeaders.AUTHORIZATION, "Bearer " + member))
+                .andExpect(status().isForbidden());
+    }
+
+    private String token(String username, String role) {
+        return jwtUtils.generateToken(User.withUsername(username).password("unused").roles(role).build());
+    }
+}
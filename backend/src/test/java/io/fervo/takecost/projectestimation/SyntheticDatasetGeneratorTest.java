@@ -0,0 +1,84 @@
+package io.fervo.takecost.projectestimation;
+
+import io.fervo.takecost.projectestimation.dataset.DatasetSpec;
+import io.fervo.takecost.projectestimation.dataset.GeneratedDataset;
+import io.fervo.takecost.projectestimation.dataset.SyntheticDatasetGenerator;
+import io.fervo.takecost.projectestimation.project.ProjectCostRollupRepository;
+import io.fervo.takecost.projectestimation.project.ProjectRepository;
+import io.fervo.takecost.projectestimation.project.ProjectStatus;
+import io.fervo.takecost.projectestimation.project.model.Project;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SyntheticDatasetGeneratorTest extends PostgresIntegrationTest {
+    private static final DatasetSpec SPEC = new DatasetSpec(7, 5, 200, 10, 50, 20, 8);
+
+    @Autowired
+    private SyntheticDatasetGenerator generator;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private ProjectCostRollupRepository rollupRepository;
+
+    @Test
+    void sameSeedGeneratesSameRowsAtNewIds() {
+        var first = generator.generate(SPEC);
+        var second = generator.generate(SPEC);
+
+        assertEquals(SPEC.projects(), first.projects().count());
+        assertEquals(SPEC.materials(), countRows("material_catalogs", first.materials()));
+        assertEquals(first.materialLines().count(), countRows("project_materials", first.materialLines()));
+        assertEquals(first.laborLines().count(), countRows("project_labor", first.laborLines()));
+        assertTrue(second.projects().first() > first.projects().last());
+
+        assertEquals(fingerprint(first), fingerprint(second));
+    }
+
+    @Test
+    void generatedProjectsHaveRollupsAndLeaveRoomForNewRows() {
+        var dataset = generator.generate(SPEC);
+
+        assertEquals(SPEC.projects(), countRows("project_cost_rollups", "project_id", dataset.projects()));
+        var lines = rollupRepository.findAllById(List.of(dataset.projects().first())).get(0).getMaterialLineCount();
+        assertEquals(lines, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM project_materials WHERE project_id = ?",
+                Long.class, dataset.projects().first()));
+
+        var created = projectRepository.save(Project.builder().name("After generation").status(ProjectStatus.PLANNED).build());
+        assertTrue(created.getId() > dataset.projects().last());
+    }
+
+    private long countRows(String table, GeneratedDataset.IdRange range) {
+        return countRows(table, "id", range);
+    }
+
+    private long countRows(String table, String column, GeneratedDataset.IdRange range) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table + " WHERE " + column + " BETWEEN ? AND ?",
+                Long.class, range.first(), range.last());
+    }
+
+    /**
+     * Line totals per project, in generation order, with ids made relative to each run.
+     */
+    private List<String> fingerprint(GeneratedDataset dataset) {
+        return jdbcTemplate.queryForList("""
+                        SELECT (p.id - ?) || ':' || p.status || ':' || COALESCE(r.material_line_count, 0) || ':'
+                               || ROUND(COALESCE(r.material_total, 0), 2) || ':' || ROUND(COALESCE(r.labor_total, 0), 2)
+                        FROM projects p
+                        JOIN project_cost_rollups r ON r.project_id = p.id
+                        WHERE p.id BETWEEN ? AND ?
+                        ORDER BY p.id
+                        """, String.class,
+                dataset.projects().first(), dataset.projects().first(), dataset.projects().last());
+    }
+}
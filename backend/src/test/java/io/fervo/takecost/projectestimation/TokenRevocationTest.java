@@ -0,0 +1,67 @@
+package io.fervo.takecost.projectestimation;
+
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.time.Instant;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+class TokenRevocationTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void logoutRejectsThatTokenOnly() throws Exception {
+        var token = login("manager");
+        var other = login("manager");
+        readProject(token).andExpect(status().isOk());
+
+        mockMvc.perform(post("/api/v1/auth/logout").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isNoContent());
+
+        readProject(token).andExpect(status().isForbidden());
+        readProject(other).andExpect(status().isOk());
+    }
+
+    @Test
+    void revokingAUserRejectsEarlierTokensButNotLaterOnes() throws Exception {
+        var earlier = login("member");
+        readProject(earlier).andExpect(status().isOk());
+
+        mockMvc.perform(post("/api/v1/auth/users/{username}/revoke-tokens", "member").with(user("admin").roles("ADMIN")))
+                .andExpect(status().isNoContent());
+        readProject(earlier).andExpect(status().isForbidden());
+
+        // iat has second precision; tokens issued in the revocation's second count as revoked.
+        var nextSecond = Instant.now().plusSeconds(1).getEpochSecond() * 1000;
+        Thread.sleep(Math.max(0, nextSecond - System.currentTimeMillis()) + 10);
+        var later = login("member");
+        readProject(later).andExpect(status().isOk());
+        readProject(earlier).andExpect(status().isForbidden());
+    }
+
+    private String login(String username) throws Exception {
+        var response = mockMvc.perform(post("/api/v1/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\": \"" + username + "\", \"password\": \"password\"}"))
+                .andExpect(status().isOk())
+                .andReturn();
+        return JsonPath.read(response.getResponse().getContentAsString(), "$.token");
+    }
+
+    private ResultActions readProject(String token) throws Exception {
+        return mockMvc.perform(get("/api/v1/projects/1").header(HttpHeaders.AUTHORIZATION, "Bearer " + token));
+    }
+}
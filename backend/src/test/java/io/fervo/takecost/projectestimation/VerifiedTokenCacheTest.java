@@ -0,0 +1,40 @@
+package io.fervo.takecost.projectestimation;
+
+import io.fervo.takecost.projectestimation.config.JwtUtils;
+import io.fervo.takecost.projectestimation.config.VerifiedTokenCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class VerifiedTokenCacheTest {
+    private final JwtUtils jwtUtils = new JwtUtils(TestSecrets.JWT_SECRET_KEY, 60_000);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final VerifiedTokenCache cache = new VerifiedTokenCache(jwtUtils, meterRegistry, 100);
+
+    @Test
+    public void testVerifyParsesOnceAndThenHitsCache() {
+        var token = jwtUtils.generateToken(User.withUsername("manager").password("n/a").roles("PROJECT_MANAGER").build());
+
+        var first = cache.verify(token);
+        var second = cache.verify(token);
+
+        assertEquals("manager", first.subject());
+        assertEquals(List.of("PROJECT_MANAGER"), first.roles());
+        assertEquals(first, second);
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "miss").functionCounter().count());
+    }
+
+    @Test
+    public void testVerifyRejectsTamperedToken() {
+        var token = jwtUtils.generateToken(User.withUsername("admin").password("n/a").roles("ADMIN").build());
+        var tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        assertThrows(IllegalArgumentException.class, () -> cache.verify(tampered));
+    }
+}
@@ -0,0 +1,15 @@
+package io.fervo.takecost.projectestimation;
+
+/**
+ * Secrets shared by the backend tests, the benchmarks and the load test. Never used by a deployed
+ * server, which reads its own from the environment.
+ */
+public final class TestSecrets {
+    /**
+     * HMAC key for signing and verifying JWTs, in the Base64 form {@code JWT_SECRET_KEY} expects.
+     */
+    public static final String JWT_SECRET_KEY = "wC8QWDk8v6vS2SZFlWBl06OjkFydK7waVbA/qZH6pHZiP6Q6WhtZXRo/gjdpNbHdd12qc861e5c07tcDTUQEeg==";
+
+    private TestSecrets() {
+    }
+}
@@ -0,0 +1,70 @@
+package io.fervo.takecost.projectestimation.benchmarks;
+
+import io.fervo.takecost.projectestimation.projectlabor.ProjectLabor;
+import io.fervo.takecost.projectestimation.projectmaterial.ProjectMaterial;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Project cost totals computed in Java over in-memory line items, the way the services price a
+ * line ({@code quantity * unitPrice}, {@code hourlyRate * estimatedHours}) and round the result.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CostAggregationBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int lines;
+
+    private List<ProjectMaterial> materials;
+    private List<ProjectLabor> labor;
+
+    @Setup
+    public void setUp() {
+        materials = LineItemFixtures.materials(lines, 7);
+        labor = LineItemFixtures.labor(lines, 7);
+    }
+
+    @Benchmark
+    public BigDecimal materialTotalLoop() {
+        var total = BigDecimal.ZERO;
+        for (var line : materials) {
+            total = total.add(BigDecimal.valueOf(line.getQuantity()).multiply(line.getUnitPrice()));
+        }
+        return total.setScale(2, RoundingMode.HALF_UP);
+    }
+
+    @Benchmark
+    public BigDecimal materialTotalStream() {
+        return materials.stream()
+                .map(line -> BigDecimal.valueOf(line.getQuantity()).multiply(line.getUnitPrice()))
+                .reduce(BigDecimal.ZERO, BigDecimal::add)
+                .setScale(2, RoundingMode.HALF_UP);
+    }
+
+    @Benchmark
+    public BigDecimal laborTotalLoop() {
+        var total = BigDecimal.ZERO;
+        for (var line : labor) {
+            total = total.add(line.getHourlyRate().multiply(line.getEstimatedHours()));
+        }
+        return total.setScale(2, RoundingMode.HALF_UP);
+    }
+
+    @Benchmark
+    public BigDecimal projectTotal() {
+        return materialTotalLoop().add(laborTotalLoop());
+    }
+}
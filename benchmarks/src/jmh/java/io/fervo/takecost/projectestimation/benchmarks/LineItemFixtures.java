@@ -0,0 +1,86 @@
+package io.fervo.takecost.projectestimation.benchmarks;
+
+import io.fervo.takecost.projectestimation.laborcategory.LaborCategory;
+import io.fervo.takecost.projectestimation.material.MaterialCatalog;
+import io.fervo.takecost.projectestimation.project.model.Project;
+import io.fervo.takecost.projectestimation.projectlabor.ProjectLabor;
+import io.fervo.takecost.projectestimation.projectmaterial.ProjectMaterial;
+import io.fervo.takecost.projectestimation.vendor.Vendor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Line items shaped like the seed data: a handful of catalog entries and trades shared by many
+ * lines, with prices in cents and quantities with one decimal.
+ */
+final class LineItemFixtures {
+    private static final int CATALOG_SIZE = 200;
+    private static final int TRADES = 20;
+
+    private LineItemFixtures() {
+    }
+
+    static List<ProjectMaterial> materials(int count, long seed) {
+        var random = new SplittableRandom(seed);
+        var project = Project.builder().id(1L).name("Benchmark").build();
+        var vendor = Vendor.builder().id(1L).name("Vendor A").build();
+        var catalog = new ArrayList<MaterialCatalog>(CATALOG_SIZE);
+        for (long i = 0; i < CATALOG_SIZE; i++) {
+            catalog.add(MaterialCatalog.builder()
+                    .id(i + 1)
+                    .name("Material " + i)
+                    .description("Construction material " + i)
+                    .category("Construction")
+                    .subCategory("Cement")
+                    .unitType("kg")
+                    .unitPrice(price(random, 100_000))
+                    .inStock(random.nextInt(1000))
+                    .leadTimeDays(random.nextInt(30))
+                    .vendor(vendor)
+                    .createdAt(LocalDateTime.now())
+                    .updatedAt(LocalDateTime.now())
+                    .build());
+        }
+        var lines = new ArrayList<ProjectMaterial>(count);
+        for (long i = 0; i < count; i++) {
+            var material = catalog.get(random.nextInt(CATALOG_SIZE));
+            lines.add(ProjectMaterial.builder()
+                    .id(i + 1)
+                    .project(project)
+                    .materialCatalog(material)
+                    .quantity(random.nextInt(1, 10_000) / 10.0)
+                    .unitPrice(material.getUnitPrice())
+                    .notes(i % 4 == 0 ? "Deliver to site " + i : null)
+                    .build());
+        }
+        return lines;
+    }
+
+    static List<ProjectLabor> labor(int count, long seed) {
+        var random = new SplittableRandom(seed);
+        var project = Project.builder().id(1L).name("Benchmark").build();
+        var trades = new ArrayList<LaborCategory>(TRADES);
+        for (long i = 0; i < TRADES; i++) {
+            trades.add(LaborCategory.builder().id(i + 1).name("Trade " + i).description("Skilled trade " + i).build());
+        }
+        var lines = new ArrayList<ProjectLabor>(count);
+        for (long i = 0; i < count; i++) {
+            var line = new ProjectLabor();
+            line.setId(i + 1);
+            line.setProject(project);
+            line.setLaborCategory(trades.get(random.nextInt(TRADES)));
+            line.setHourlyRate(price(random, 15_000));
+            line.setEstimatedHours(BigDecimal.valueOf(random.nextInt(1, 4_000), 1));
+            lines.add(line);
+        }
+        return lines;
+    }
+
+    private static BigDecimal price(SplittableRandom random, int maxCents) {
+        return BigDecimal.valueOf(random.nextInt(1, maxCents), 2);
+    }
+}
@@ -0,0 +1,61 @@
+package io.fervo.takecost.projectestimation.benchmarks;
+
+import io.fervo.takecost.projectestimation.projectlabor.ProjectLabor;
+import io.fervo.takecost.projectestimation.projectlabor.ProjectLaborDTO;
+import io.fervo.takecost.projectestimation.projectlabor.ProjectLaborMapper;
+import io.fervo.takecost.projectestimation.projectmaterial.ProjectMaterial;
+import io.fervo.takecost.projectestimation.projectmaterial.ProjectMaterialDTO;
+import io.fervo.takecost.projectestimation.projectmaterial.ProjectMaterialMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MapStruct conversions of single line items, in both directions, as done on every write.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MapperBenchmark {
+    private final ProjectMaterialMapper materialMapper = ProjectMaterialMapper.INSTANCE;
+    private final ProjectLaborMapper laborMapper = ProjectLaborMapper.INSTANCE;
+
+    private ProjectMaterial material;
+    private ProjectMaterialDTO materialDTO;
+    private ProjectLabor labor;
+    private ProjectLaborDTO laborDTO;
+
+    @Setup
+    public void setUp() {
+        material = LineItemFixtures.materials(1, 42).get(0);
+        materialDTO = materialMapper.toDTO(material);
+        labor = LineItemFixtures.labor(1, 42).get(0);
+        laborDTO = laborMapper.toDTO(labor);
+    }
+
+    @Benchmark
+    public ProjectMaterialDTO materialToDTO() {
+        return materialMapper.toDTO(material);
+    }
+
+    @Benchmark
+    public ProjectMaterial materialToEntity() {
+        return materialMapper.toEntity(materialDTO);
+    }
+
+    @Benchmark
+    public ProjectLaborDTO laborToDTO() {
+        return laborMapper.toDTO(labor);
+    }
+
+    @Benchmark
+    public ProjectLabor laborToEntity() {
+        return laborMapper.toEntity(laborDTO);
+    }
+}
@@ -0,0 +1,55 @@
+package io.fervo.takecost.projectestimation.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.fervo.takecost.projectestimation.projectmaterial.ProjectMaterialDTO;
+import io.fervo.takecost.projectestimation.projectmaterial.ProjectMaterialMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of a page of project materials, configured like the application's
+ * ObjectMapper (Spring Boot defaults).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PageSerializationBenchmark {
+
+    @Param({"10", "100", "500"})
+    public int pageSize;
+
+    private ObjectWriter writer;
+    private Page<ProjectMaterialDTO> page;
+
+    @Setup
+    public void setUp() {
+        writer = Jackson2ObjectMapperBuilder.json().build().writer();
+        var content = LineItemFixtures.materials(pageSize, 42).stream()
+                .map(ProjectMaterialMapper.INSTANCE::toDTO)
+                .toList();
+        page = new PageImpl<>(content, PageRequest.of(0, pageSize), 10_000);
+    }
+
+    @Benchmark
+    public byte[] toBytes() throws Exception {
+        return writer.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public void toStream() throws Exception {
+        writer.writeValue(OutputStream.nullOutputStream(), page);
+    }
+}
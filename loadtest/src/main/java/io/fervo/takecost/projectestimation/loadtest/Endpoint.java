@@ -0,0 +1,60 @@
+package io.fervo.takecost.projectestimation.loadtest;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * The API calls a load-test run can replay. Each one builds its request path from the seeded
+ * portfolio, picking projects and pages at random.
+ */
+public enum Endpoint {
+    PROJECTS("projects") {
+        @Override
+        String path(Portfolio portfolio, SplittableRandom random, int pageSize) {
+            return "/api/v1/projects?page=" + portfolio.randomPage(portfolio.projectCount(), pageSize, random) + "&size=" + pageSize;
+        }
+    },
+    ESTIMATE("estimate") {
+        @Override
+        String path(Portfolio portfolio, SplittableRandom random, int pageSize) {
+            return "/api/v1/projects/" + portfolio.randomProjectId(random) + "/estimate";
+        }
+    },
+    COST_BREAKDOWN("cost-breakdown") {
+        @Override
+        String path(Portfolio portfolio, SplittableRandom random, int pageSize) {
+            return "/api/v1/projects/" + portfolio.randomProjectId(random) + "/cost-breakdown";
+        }
+    },
+    SUMMARY("summary") {
+        @Override
+        String path(Portfolio portfolio, SplittableRandom random, int pageSize) {
+            return "/api/v1/projects/summary";
+        }
+    },
+    MATERIALS("materials") {
+        @Override
+        String path(Portfolio portfolio, SplittableRandom random, int pageSize) {
+            return "/api/v1/materials?page=" + portfolio.randomPage(portfolio.materialCount(), pageSize, random) + "&size=" + pageSize;
+        }
+    };
+
+    private final String name;
+
+    Endpoint(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    abstract String path(Portfolio portfolio, SplittableRandom random, int pageSize);
+
+    static Endpoint fromName(String name) {
+        return Arrays.stream(values())
+                .filter(endpoint -> endpoint.name.equals(name))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown endpoint: " + name));
+    }
+}
@@ -0,0 +1,35 @@
+package io.fervo.takecost.projectestimation.loadtest;
+
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Weighted random choice of the next endpoint, with cumulative weights so a pick is one random
+ * draw and a short scan.
+ */
+final class EndpointPicker {
+    private final Endpoint[] endpoints;
+    private final int[] cumulativeWeights;
+
+    EndpointPicker(Map<Endpoint, Integer> mix) {
+        var weighted = mix.entrySet().stream().filter(entry -> entry.getValue() > 0).toList();
+        endpoints = new Endpoint[weighted.size()];
+        cumulativeWeights = new int[weighted.size()];
+        int total = 0;
+        for (int i = 0; i < weighted.size(); i++) {
+            total += weighted.get(i).getValue();
+            endpoints[i] = weighted.get(i).getKey();
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    Endpoint pick(SplittableRandom random) {
+        var draw = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (draw < cumulativeWeights[i]) {
+                return endpoints[i];
+            }
+        }
+        throw new IllegalStateException("Unreachable");
+    }
+}
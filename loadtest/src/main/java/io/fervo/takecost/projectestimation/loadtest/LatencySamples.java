@@ -0,0 +1,75 @@
+package io.fervo.takecost.projectestimation.loadtest;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Response times of one endpoint, in nanoseconds. Each worker thread fills its own instance; they
+ * are merged once the run is over, so recording never contends.
+ */
+final class LatencySamples {
+    private long[] nanos = new long[1024];
+    private int size;
+    private long errors;
+
+    void record(long elapsedNanos) {
+        if (size == nanos.length) {
+            nanos = Arrays.copyOf(nanos, size * 2);
+        }
+        nanos[size++] = elapsedNanos;
+    }
+
+    void recordError() {
+        errors++;
+    }
+
+    long errors() {
+        return errors;
+    }
+
+    int size() {
+        return size;
+    }
+
+    static LatencySamples merge(Collection<LatencySamples> parts) {
+        var merged = new LatencySamples();
+        merged.nanos = new long[Math.max(1, parts.stream().mapToInt(LatencySamples::size).sum())];
+        for (var part : parts) {
+            System.arraycopy(part.nanos, 0, merged.nanos, merged.size, part.size);
+            merged.size += part.size;
+            merged.errors += part.errors;
+        }
+        Arrays.sort(merged.nanos, 0, merged.size);
+        return merged;
+    }
+
+    /**
+     * Nearest-rank percentile in milliseconds; only valid on a {@link #merge merged} (sorted) instance.
+     */
+    double percentileMillis(double percentile) {
+        if (size == 0) {
+            return 0;
+        }
+        var rank = (int) Math.ceil(percentile / 100.0 * size);
+        return toMillis(nanos[Math.max(0, rank - 1)]);
+    }
+
+    double meanMillis() {
+        if (size == 0) {
+            return 0;
+        }
+        long total = 0;
+        for (int i = 0; i < size; i++) {
+            total += nanos[i];
+        }
+        return toMillis(total / size);
+    }
+
+    double maxMillis() {
+        return size == 0 ? 0 : toMillis(nanos[size - 1]);
+    }
+
+    private static double toMillis(long nanos) {
+        return Math.round(nanos / 1_000.0) / 1_000.0;
+    }
+}
@@ -0,0 +1,250 @@
+package io.fervo.takecost.projectestimation.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.fervo.takecost.projectestimation.ProjectEstimationApplication;
+import io.fervo.takecost.projectestimation.TestSecrets;
+import io.fervo.takecost.projectestimation.dataset.DatasetSpec;
+import io.fervo.takecost.projectestimation.dataset.SyntheticDatasetGenerator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Closed-loop HTTP load test: {@code concurrency} workers each send one authenticated request at a
+ * time, picking the endpoint by the weights of the mix, first for the warm-up period (discarded)
+ * and then for the measured duration. By default the backend is booted in-process against a
+ * PostgreSQL container and a synthetic portfolio is seeded; {@code --base-url} targets a running
+ * node and its existing data instead.
+ */
+@Slf4j
+public class LoadTest {
+    private final LoadTestSettings settings;
+    private final HttpClient client;
+    private final ObjectMapper objectMapper;
+
+    LoadTest(LoadTestSettings settings) {
+        this.settings = settings;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        this.objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .enable(SerializationFeature.INDENT_OUTPUT);
+    }
+
+    public static void main(String[] args) throws Exception {
+        var settings = LoadTestSettings.parse(args);
+        var loadTest = new LoadTest(settings);
+        if (!settings.embedded()) {
+            loadTest.run(settings.baseUrl(), null);
+            return;
+        }
+
+        try (var postgres = new PostgreSQLContainer<>("postgres:15")) {
+            postgres.start();
+            try (var context = boot(postgres, settings)) {
+                var portfolio = seed(context, settings);
+                var port = context.getEnvironment().getRequiredProperty("local.server.port");
+                loadTest.run("http://localhost:" + port, portfolio);
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext boot(PostgreSQLContainer<?> postgres, LoadTestSettings settings) {
+        var properties = new LinkedHashMap<String, Object>();
+        properties.put("ACTIVE_PROFILES", "loadtest");
+        properties.put("SERVER_PORT", 0);
+        properties.put("SPRING_DATASOURCE_URL", postgres.getJdbcUrl() + "&reWriteBatchedInserts=true");
+        properties.put("SPRING_DATASOURCE_USERNAME", postgres.getUsername());
+        properties.put("SPRING_DATASOURCE_PASSWORD", postgres.getPassword());
+        properties.put("SPRING_JPA_HIBERNATE_DDL_AUTO", "create");
+        properties.put("SPRING_JPA_FETCH_SIZE", 10);
+        properties.put("SPRING_JPA_FORMAT_SQL", false);
+        properties.put("SPRING_JPA_SHOW_SQL", false);
+        properties.put("JWT_SECRET_KEY", TestSecrets.JWT_SECRET_KEY);
+        properties.put("JWT_TOKEN_EXPIRATION", Duration.ofHours(2).toMillis());
+        properties.put("spring.jpa.defer-datasource-initialization", true);
+        properties.put("spring.threads.virtual.enabled", settings.virtualThreads());
+        properties.put("logging.level.io.fervo.takecost.projectestimation", "INFO");
+        return new SpringApplicationBuilder(ProjectEstimationApplication.class)
+                .properties(properties)
+                .run();
+    }
+
+    private static Portfolio seed(ConfigurableApplicationContext context, LoadTestSettings settings) {
+        var scaled = DatasetSpec.ofProjects(settings.projects(), settings.seed());
+        var dataset = context.getBean(SyntheticDatasetGenerator.class).generate(new DatasetSpec(settings.seed(),
+                scaled.vendors(), scaled.materials(), scaled.laborCategories(), settings.projects(),
+                settings.materialLinesPerProject(), settings.laborLinesPerProject()));
+        var jdbcTemplate = context.getBean(JdbcTemplate.class);
+        return new Portfolio(LongStream.rangeClosed(dataset.projects().first(), dataset.projects().last()).toArray(),
+                jdbcTemplate.queryForObject("SELECT COUNT(*) FROM projects", Long.class),
+                jdbcTemplate.queryForObject("SELECT COUNT(*) FROM material_catalogs", Long.class));
+    }
+
+    void run(String baseUrl, Portfolio seeded) throws Exception {
+        var token = login(baseUrl);
+        var portfolio = seeded != null ? seeded : discover(baseUrl, token);
+        log.info("Load test against {}: {} workers, {} warm-up, {} measured, mix {}",
+                baseUrl, settings.concurrency(), settings.warmup(), settings.duration(), settings.mix());
+
+        runPhase(baseUrl, token, portfolio, settings.warmup());
+        var startedAt = Instant.now();
+        var start = System.nanoTime();
+        var samples = runPhase(baseUrl, token, portfolio, settings.duration());
+        var seconds = (System.nanoTime() - start) / 1e9;
+
+        var report = report(baseUrl, portfolio, startedAt, seconds, samples);
+        Files.createDirectories(settings.report().toAbsolutePath().getParent());
+        objectMapper.writeValue(settings.report().toFile(), report);
+        print(report);
+        log.info("Report written to {}", settings.report().toAbsolutePath());
+    }
+
+    private Map<Endpoint, LatencySamples> runPhase(String baseUrl, String token, Portfolio portfolio, Duration duration)
+            throws Exception {
+        var deadline = System.nanoTime() + duration.toNanos();
+        var picker = new EndpointPicker(settings.mix());
+        ExecutorService workers = Executors.newFixedThreadPool(settings.concurrency());
+        try {
+            var futures = new ArrayList<Future<Map<Endpoint, LatencySamples>>>();
+            for (int i = 0; i < settings.concurrency(); i++) {
+                var random = new SplittableRandom(settings.seed() + i);
+                futures.add(workers.submit(() -> work(baseUrl, token, portfolio, picker, random, deadline)));
+            }
+
+            var perWorker = new EnumMap<Endpoint, List<LatencySamples>>(Endpoint.class);
+            for (var future : futures) {
+                future.get().forEach((endpoint, samples) ->
+                        perWorker.computeIfAbsent(endpoint, key -> new ArrayList<>()).add(samples));
+            }
+            var merged = new EnumMap<Endpoint, LatencySamples>(Endpoint.class);
+            perWorker.forEach((endpoint, parts) -> merged.put(endpoint, LatencySamples.merge(parts)));
+            return merged;
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    private Map<Endpoint, LatencySamples> work(String baseUrl, String token, Portfolio portfolio, EndpointPicker picker,
+                                               SplittableRandom random, long deadline) throws InterruptedException {
+        var samples = new EnumMap<Endpoint, LatencySamples>(Endpoint.class);
+        while (System.nanoTime() < deadline) {
+            var endpoint = picker.pick(random);
+            var request = HttpRequest.newBuilder(URI.create(baseUrl + endpoint.path(portfolio, random, settings.pageSize())))
+                    .header("Authorization", "Bearer " + token)
+                    .header("Accept", "application/json")
+                    .timeout(Duration.ofSeconds(30))
+                    .GET()
+                    .build();
+            var endpointSamples = samples.computeIfAbsent(endpoint, key -> new LatencySamples());
+            var start = System.nanoTime();
+            try {
+                var response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                var elapsed = System.nanoTime() - start;
+                if (response.statusCode() / 100 == 2) {
+                    endpointSamples.record(elapsed);
+                } else {
+                    endpointSamples.recordError();
+                }
+            } catch (IOException e) {
+                endpointSamples.recordError();
+            }
+        }
+        return samples;
+    }
+
+    private LoadTestReport report(String baseUrl, Portfolio portfolio, Instant startedAt, double seconds,
+                                  Map<Endpoint, LatencySamples> samples) {
+        var endpoints = new ArrayList<LoadTestReport.EndpointReport>();
+        long requests = 0;
+        long errors = 0;
+        for (var entry : samples.entrySet()) {
+            endpoints.add(LoadTestReport.EndpointReport.of(entry.getKey(), entry.getValue(), seconds));
+            requests += entry.getValue().size();
+            errors += entry.getValue().errors();
+        }
+        var mix = new LinkedHashMap<String, Integer>();
+        settings.mix().forEach((endpoint, weight) -> mix.put(endpoint.getName(), weight));
+        return new LoadTestReport(startedAt, baseUrl, settings.concurrency(), settings.virtualThreads(),
+                Math.round(seconds * 10) / 10.0, mix,
+                new LoadTestReport.Dataset(portfolio.projectCount(), portfolio.materialCount(),
+                        settings.materialLinesPerProject(), settings.laborLinesPerProject()),
+                requests, errors, Math.round(requests / seconds * 10) / 10.0, endpoints);
+    }
+
+    private static void print(LoadTestReport report) {
+        System.out.printf("%n%-16s %10s %8s %10s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        for (var endpoint : report.endpoints()) {
+            System.out.printf("%-16s %10d %8d %10.1f %9.2f %9.2f %9.2f %9.2f%n", endpoint.endpoint(), endpoint.requests(),
+                    endpoint.errors(), endpoint.throughput(), endpoint.p50Ms(), endpoint.p95Ms(), endpoint.p99Ms(), endpoint.maxMs());
+        }
+        System.out.printf("%-16s %10d %8d %10.1f%n%n", "total", report.requests(), report.errors(), report.throughput());
+    }
+
+    private String login(String baseUrl) throws IOException, InterruptedException {
+        var body = objectMapper.writeValueAsString(Map.of("username", settings.username(), "password", settings.password()));
+        var request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        var response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login as " + settings.username() + " failed with HTTP " + response.statusCode());
+        }
+        return objectMapper.readTree(response.body()).get("token").asText();
+    }
+
+    /**
+     * Picks the project ids of the first (up to) 1000 projects of a running node, and the row counts
+     * used to keep random pages in range.
+     */
+    private Portfolio discover(String baseUrl, String token) throws IOException, InterruptedException {
+        var projects = get(baseUrl + "/api/v1/projects?size=1000", token);
+        var materials = get(baseUrl + "/api/v1/materials?size=1", token);
+        var ids = StreamSupport.stream(projects.get("content").spliterator(), false)
+                .mapToLong(project -> project.get("id").asLong())
+                .toArray();
+        if (ids.length == 0) {
+            throw new IllegalStateException("No projects found at " + baseUrl);
+        }
+        return new Portfolio(ids, projects.get("totalElements").asLong(), materials.get("totalElements").asLong());
+    }
+
+    private JsonNode get(String url, String token) throws IOException, InterruptedException {
+        var request = HttpRequest.newBuilder(URI.create(url)).header("Authorization", "Bearer " + token).GET().build();
+        var response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("GET " + url + " failed with HTTP " + response.statusCode());
+        }
+        return objectMapper.readTree(response.body());
+    }
+}
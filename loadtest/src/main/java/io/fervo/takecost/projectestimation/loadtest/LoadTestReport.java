@@ -0,0 +1,50 @@
+package io.fervo.takecost.projectestimation.loadtest;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Result of a load-test run, written as JSON. Throughput is in requests per second and latencies in
+ * milliseconds; failed requests (transport errors and non-2xx responses) count towards
+ * {@code errors} only.
+ */
+public record LoadTestReport(
+        Instant startedAt,
+        String target,
+        int concurrency,
+        boolean virtualThreads,
+        double durationSeconds,
+        Map<String, Integer> mix,
+        Dataset dataset,
+        long requests,
+        long errors,
+        double throughput,
+        List<EndpointReport> endpoints
+) {
+
+    public record Dataset(long projects, long materials, int materialLinesPerProject, int laborLinesPerProject) {
+    }
+
+    public record EndpointReport(
+            String endpoint,
+            long requests,
+            long errors,
+            double throughput,
+            double meanMs,
+            double p50Ms,
+            double p95Ms,
+            double p99Ms,
+            double maxMs
+    ) {
+        static EndpointReport of(Endpoint endpoint, LatencySamples samples, double seconds) {
+            return new EndpointReport(endpoint.getName(), samples.size(), samples.errors(),
+                    Math.round(samples.size() / seconds * 10) / 10.0,
+                    samples.meanMillis(),
+                    samples.percentileMillis(50),
+                    samples.percentileMillis(95),
+                    samples.percentileMillis(99),
+                    samples.maxMillis());
+        }
+    }
+}
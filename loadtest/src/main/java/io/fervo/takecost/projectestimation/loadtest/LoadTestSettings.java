@@ -0,0 +1,85 @@
+package io.fervo.takecost.projectestimation.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Options of a load-test run, given as {@code --name=value} arguments. The endpoint mix is a list of
+ * weights, e.g. {@code --mix=projects:2,estimate:4,cost-breakdown:2,summary:1,materials:1}.
+ */
+public record LoadTestSettings(
+        String baseUrl,
+        String username,
+        String password,
+        int concurrency,
+        Duration warmup,
+        Duration duration,
+        int projects,
+        int materialLinesPerProject,
+        int laborLinesPerProject,
+        int pageSize,
+        long seed,
+        boolean virtualThreads,
+        Map<Endpoint, Integer> mix,
+        Path report
+) {
+    private static final String DEFAULT_MIX = "projects:2,estimate:4,cost-breakdown:2,summary:1,materials:1";
+
+    public static LoadTestSettings parse(String[] args) {
+        var options = new HashMap<String, String>();
+        for (var arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got: " + arg);
+            }
+            var separator = arg.indexOf('=');
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+
+        var run = options.getOrDefault("run", "latest");
+        return new LoadTestSettings(
+                options.get("base-url"),
+                options.getOrDefault("username", "admin"),
+                options.getOrDefault("password", "password"),
+                Integer.parseInt(options.getOrDefault("concurrency", "16")),
+                duration(options.getOrDefault("warmup", "15s")),
+                duration(options.getOrDefault("duration", "60s")),
+                Integer.parseInt(options.getOrDefault("projects", "2000")),
+                Integer.parseInt(options.getOrDefault("material-lines", "40")),
+                Integer.parseInt(options.getOrDefault("labor-lines", "15")),
+                Integer.parseInt(options.getOrDefault("page-size", "20")),
+                Long.parseLong(options.getOrDefault("seed", "42")),
+                Boolean.parseBoolean(options.getOrDefault("virtual-threads", "false")),
+                mix(options.getOrDefault("mix", DEFAULT_MIX)),
+                Path.of(options.getOrDefault("report", "results/" + run + ".json")));
+    }
+
+    /**
+     * Whether the harness starts its own backend and database instead of targeting {@link #baseUrl()}.
+     */
+    public boolean embedded() {
+        return baseUrl == null;
+    }
+
+    private static Duration duration(String value) {
+        return Duration.parse("PT" + value.toUpperCase());
+    }
+
+    private static Map<Endpoint, Integer> mix(String value) {
+        var mix = new EnumMap<Endpoint, Integer>(Endpoint.class);
+        for (var entry : value.split(",")) {
+            var parts = entry.trim().split(":");
+            var weight = parts.length > 1 ? Integer.parseInt(parts[1]) : 1;
+            if (weight < 0) {
+                throw new IllegalArgumentException("Negative weight for " + parts[0]);
+            }
+            mix.put(Endpoint.fromName(parts[0]), weight);
+        }
+        if (mix.values().stream().mapToInt(Integer::intValue).sum() == 0) {
+            throw new IllegalArgumentException("The endpoint mix is empty");
+        }
+        return mix;
+    }
+}
@@ -0,0 +1,18 @@
+package io.fervo.takecost.projectestimation.loadtest;
+
+import java.util.SplittableRandom;
+
+/**
+ * What a load test runs against: the project ids to pick from and the row counts used to pick
+ * pages within range.
+ */
+record Portfolio(long[] projectIds, long projectCount, long materialCount) {
+
+    long randomProjectId(SplittableRandom random) {
+        return projectIds[random.nextInt(projectIds.length)];
+    }
+
+    int randomPage(long rows, int pageSize, SplittableRandom random) {
+        return random.nextInt((int) Math.max(1, (rows + pageSize - 1) / pageSize));
+    }
+}